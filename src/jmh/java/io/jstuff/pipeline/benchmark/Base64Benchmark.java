@@ -0,0 +1,114 @@
+/*
+ * @(#) Base64Benchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.base64.Base64Decoder;
+import io.jstuff.pipeline.base64.Base64Encoder;
+
+/**
+ * Benchmarks for Base 64 encoding and decoding, comparing the pipeline codecs with {@link Base64}.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Base64Benchmark {
+
+    @Param({ "48", "3072", "196608" })
+    public int size;
+
+    private byte[] data;
+    private byte[] encoded;
+    private IntPipeline<byte[]> encoder;
+    private IntPipeline<byte[]> decoder;
+
+    @Setup
+    public void setup() {
+        data = TestData.bytes(size);
+        encoded = Base64.getEncoder().encode(data);
+        encoder = new Base64Encoder<>(new ByteArrayAcceptor());
+        decoder = new Base64Decoder<>(new ByteArrayAcceptor());
+    }
+
+    @Benchmark
+    public byte[] encodeConvert() {
+        return Base64Encoder.convert(data);
+    }
+
+    @Benchmark
+    public byte[] encodeReusedPipeline() {
+        encoder.reset();
+        encoder.accept(data);
+        encoder.safeClose();
+        return encoder.getResult();
+    }
+
+    @Benchmark
+    public byte[] encodeJDK() {
+        return Base64.getEncoder().encode(data);
+    }
+
+    @Benchmark
+    public byte[] decodeConvert() {
+        return Base64Decoder.convert(encoded);
+    }
+
+    @Benchmark
+    public byte[] decodeReusedPipeline() {
+        decoder.reset();
+        decoder.accept(encoded);
+        decoder.safeClose();
+        return decoder.getResult();
+    }
+
+    @Benchmark
+    public byte[] decodeJDK() {
+        return Base64.getDecoder().decode(encoded);
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * @(#) DispatchBenchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.Acceptor;
+import io.jstuff.pipeline.BasePipeline;
+import io.jstuff.pipeline.Counter;
+import io.jstuff.pipeline.Filter;
+import io.jstuff.pipeline.ForkPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntCounter;
+import io.jstuff.pipeline.IntFilter;
+import io.jstuff.pipeline.Mapper;
+
+/**
+ * Benchmarks for the cost of the pipeline mechanism itself:  values are passed through chains of trivial stages of
+ * varying depth, and the results are reported as time per element.  The parameters select:
+ * <dl>
+ *   <dt>{@code depth}</dt><dd>the number of stages before the terminal acceptor</dd>
+ *   <dt>{@code shape}</dt><dd>{@code MONOMORPHIC} (all stages of the same class, so that each call site sees a single
+ *   receiver type) or {@code MEGAMORPHIC} (stages of several different classes, with the type profile of every call
+ *   site polluted in advance, so that even the shortest chains are dispatched through megamorphic call sites)</dd>
+ *   <dt>{@code trusted}</dt><dd>whether the chain is in "trusted chain" mode (per-value checks omitted)</dd>
+ * </dl>
+ * Each configuration runs in a separate JVM fork, so the type profiles of one do not affect another.  To report
+ * allocation rates (expected to be zero for the {@code int} chains), run with the GC profiler ({@code -prof gc}).
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DispatchBenchmark {
+
+    private static final int COUNT = 1024;
+    private static final int VARIANTS = 4;
+    private static final int POLLUTION_DEPTH = 4;
+    private static final int POLLUTION_ROUNDS = 200;
+
+    @Param({ "1", "2", "4", "8" })
+    public int depth;
+
+    @Param({ "MONOMORPHIC", "MEGAMORPHIC" })
+    public String shape;
+
+    @Param({ "false", "true" })
+    public boolean trusted;
+
+    private int[] values;
+    private Integer[] boxedValues;
+    private IntAcceptor<Integer> intChain;
+    private Acceptor<Integer, Integer> objectChain;
+    private Acceptor<Integer, Integer> forkChain;
+
+    @Setup
+    public void setup() {
+        values = new int[COUNT];
+        boxedValues = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = i;
+            boxedValues[i] = i;
+        }
+        boolean megamorphic = shape.equals("MEGAMORPHIC");
+        if (megamorphic)
+            polluteProfiles();
+        createChains(depth, megamorphic, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Integer intPipeline() {
+        IntAcceptor<Integer> chain = intChain;
+        for (int value : values)
+            chain.accept(value);
+        return chain.getResult();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Integer intPipelineBlock() {
+        intChain.acceptBlock(values, 0, COUNT);
+        return intChain.getResult();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Integer boxedPipeline() {
+        Acceptor<Integer, Integer> chain = objectChain;
+        for (Integer value : boxedValues)
+            chain.accept(value);
+        return chain.getResult();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Integer forkPipeline() {
+        Acceptor<Integer, Integer> chain = forkChain;
+        for (Integer value : boxedValues)
+            chain.accept(value);
+        return chain.getResult();
+    }
+
+    private void createChains(int chainDepth, boolean megamorphic, int rotation) {
+        intChain = createIntChain(new IntCounter(), chainDepth, megamorphic, rotation);
+        objectChain = createObjectChain(new Counter<>(), chainDepth, megamorphic, rotation);
+        forkChain = new ForkPipeline<>(createObjectChain(new Counter<>(), chainDepth - 1, megamorphic, rotation),
+                createObjectChain(new Counter<>(), chainDepth - 1, megamorphic, rotation + 1));
+        if (trusted) {
+            ((BasePipeline<?>)intChain).setTrustedChain(true);
+            ((BasePipeline<?>)objectChain).setTrustedChain(true);
+            ((BasePipeline<?>)forkChain).setTrustedChain(true);
+        }
+    }
+
+    /**
+     * Pollute the type profiles of the call sites used by the benchmarks.  The {@code emit()} call site of a stage
+     * class is shared by every instance of that class, so a short chain would otherwise present only one or two
+     * receiver types to each site (at a depth of 1, the {@code MEGAMORPHIC} chain would be identical to the
+     * {@code MONOMORPHIC} one).  Before the chains to be measured are created, the benchmark methods are run over
+     * chains of every rotation of the stage classes, at a depth that uses all of them, so that each call site
+     * (including the call to the head of the chain) has seen at least four receiver types.
+     */
+    private void polluteProfiles() {
+        for (int round = 0; round < POLLUTION_ROUNDS; round++) {
+            for (int rotation = 0; rotation < VARIANTS; rotation++) {
+                createChains(POLLUTION_DEPTH, true, rotation);
+                intPipeline();
+                intPipelineBlock();
+                boxedPipeline();
+                forkPipeline();
+            }
+        }
+    }
+
+    /**
+     * Create a chain of identity {@link IntFilter} stages.  In the megamorphic case, four different subclasses are used
+     * in rotation (each with its own predicate class), so that the {@code emit()} call sites see several receiver
+     * types.
+     *
+     * @param   terminal        the terminal acceptor
+     * @param   depth           the number of stages
+     * @param   megamorphic     {@code true} to use stages of different classes
+     * @param   rotation        the starting point in the rotation of classes
+     * @return                  the head of the chain
+     */
+    private static IntAcceptor<Integer> createIntChain(IntAcceptor<Integer> terminal, int depth, boolean megamorphic,
+            int rotation) {
+        IntAcceptor<Integer> chain = terminal;
+        for (int i = 0; i < depth; i++) {
+            switch (megamorphic ? (i + rotation) % VARIANTS : 0) {
+                case 0:
+                    chain = new IntFilter<Integer>(chain, v -> true) {};
+                    break;
+                case 1:
+                    chain = new IntFilter<Integer>(chain, v -> v >= 0 || v < 0) {};
+                    break;
+                case 2:
+                    chain = new IntFilter<Integer>(chain, v -> v != Integer.MIN_VALUE || v == Integer.MIN_VALUE) {};
+                    break;
+                default:
+                    chain = new IntFilter<Integer>(chain, v -> (v & 0) == 0) {};
+                    break;
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Create a chain of identity {@link Filter} and {@link Mapper} stages.  In the monomorphic case all stages are
+     * {@link Filter}s; in the megamorphic case {@link Filter}, {@link Mapper} and two anonymous subclasses of
+     * {@link Filter} are used in rotation.
+     *
+     * @param   terminal        the terminal acceptor
+     * @param   depth           the number of stages
+     * @param   megamorphic     {@code true} to use stages of different classes
+     * @param   rotation        the starting point in the rotation of classes
+     * @return                  the head of the chain
+     */
+    private static Acceptor<Integer, Integer> createObjectChain(Acceptor<Integer, Integer> terminal, int depth,
+            boolean megamorphic, int rotation) {
+        Acceptor<Integer, Integer> chain = terminal;
+        for (int i = 0; i < depth; i++) {
+            switch (megamorphic ? (i + rotation) % VARIANTS : 0) {
+                case 0:
+                    chain = new Filter<>(chain, v -> true);
+                    break;
+                case 1:
+                    chain = new Mapper<>(chain, Function.identity());
+                    break;
+                case 2:
+                    chain = new Filter<Integer, Integer>(chain, v -> v != null) {};
+                    break;
+                default:
+                    chain = new Filter<Integer, Integer>(chain, v -> v.hashCode() == v) {};
+                    break;
+            }
+        }
+        return chain;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * @(#) MarkupBenchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.html.HTMLDecoder;
+import io.jstuff.pipeline.html.HTMLEncoder;
+import io.jstuff.pipeline.xml.XMLEncoder;
+
+/**
+ * Benchmarks for HTML and XML escaping.  The JDK has no equivalent functions, so the benchmarks are compared with a
+ * minimal hand-coded escaping loop, which indicates the cost of the pipeline mechanism over the escaping itself.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MarkupBenchmark {
+
+    @Param({ "MARKUP", "MIXED" })
+    public String type;
+
+    @Param({ "64", "4096", "262144" })
+    public int size;
+
+    private String text;
+    private String html;
+
+    @Setup
+    public void setup() {
+        text = TestData.text(type, size);
+        html = HTMLEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String htmlEncode() {
+        return HTMLEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String htmlDecode() {
+        return HTMLDecoder.convert(html);
+    }
+
+    @Benchmark
+    public String xmlEncode() {
+        return XMLEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String baselineEscape() {
+        String s = text;
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+}
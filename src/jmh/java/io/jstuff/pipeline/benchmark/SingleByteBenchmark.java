@@ -0,0 +1,123 @@
+/*
+ * @(#) SingleByteBenchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.CompactStringAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.codec.DecodingPipeline;
+import io.jstuff.pipeline.codec.EncodingPipeline;
+import io.jstuff.pipeline.codec.SingleByteCharset;
+
+/**
+ * Benchmarks for the table-driven single-byte codecs, comparing them with the JDK equivalents.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SingleByteBenchmark {
+
+    @Param({ "ISO-8859-1", "windows-1252", "ISO-8859-15" })
+    public String charsetName;
+
+    @Param({ "ASCII", "LATIN" })
+    public String type;
+
+    @Param({ "64", "4096", "262144" })
+    public int size;
+
+    private String text;
+    private byte[] encoded;
+    private IntPipeline<String> decoder;
+    private IntPipeline<byte[]> encoder;
+    private CharsetDecoder charsetDecoder;
+    private CharsetEncoder charsetEncoder;
+
+    @Setup
+    public void setup() {
+        Charset charset = Charset.forName(charsetName);
+        text = TestData.text(type, size);
+        encoded = text.getBytes(charset);
+        SingleByteCharset singleByteCharset = SingleByteCharset.forName(charsetName);
+        decoder = new DecodingPipeline<>(new CompactStringAcceptor(), singleByteCharset);
+        encoder = new EncodingPipeline<>(new ByteArrayAcceptor(), singleByteCharset);
+        charsetDecoder = charset.newDecoder();
+        charsetEncoder = charset.newEncoder();
+    }
+
+    @Benchmark
+    public String decodePipeline() {
+        decoder.reset();
+        decoder.accept(encoded);
+        decoder.safeClose();
+        return decoder.getResult();
+    }
+
+    @Benchmark
+    public CharBuffer decodeJDKCharsetDecoder() throws CharacterCodingException {
+        return charsetDecoder.decode(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public byte[] encodePipeline() {
+        encoder.reset();
+        encoder.accept(text);
+        encoder.safeClose();
+        return encoder.getResult();
+    }
+
+    @Benchmark
+    public ByteBuffer encodeJDKCharsetEncoder() throws CharacterCodingException {
+        return charsetEncoder.encode(CharBuffer.wrap(text));
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * @(#) TestData.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generation of test data for benchmarks.  The data is pseudo-random but repeatable (a fixed seed is used), so that
+ * results from different runs may be compared.
+ *
+ * @author  Peter Wall
+ */
+public class TestData {
+
+    private static final String asciiWords = "the quick brown fox jumps over lazy dog id name value true false null " +
+            "0123456789 { } [ ] : , \" ";
+    private static final String latinCharacters = "\u00E0\u00E9\u00E8\u00EA\u00EF\u00F4\u00FC\u00E7\u00C9\u00D6" +
+            "\u00DF\u00F1\u00A9\u00B0\u00A3";
+    private static final String wideCharacters = "\u20AC\u2014\u201C\u201D\u03B1\u03B2\u0436\u0161";
+    private static final String markupCharacters = "<>&\"'";
+
+    /**
+     * Generate a string of the specified type and length.  The types are:
+     * <dl>
+     *   <dt>{@code ASCII}</dt><dd>ASCII characters only (typical of JSON or source text)</dd>
+     *   <dt>{@code LATIN}</dt><dd>mostly ASCII, with around 10% ISO-8859-1 characters</dd>
+     *   <dt>{@code MIXED}</dt><dd>mostly ASCII, with around 10% ISO-8859-1 and other BMP characters</dd>
+     *   <dt>{@code CJK}</dt><dd>mostly CJK ideographs, with around 10% ASCII</dd>
+     *   <dt>{@code MARKUP}</dt><dd>ASCII with around 5% characters requiring escaping in HTML or XML</dd>
+     * </dl>
+     *
+     * @param   type        the type of text
+     * @param   length      the length in characters
+     * @return              the text
+     */
+    public static String text(String type, int length) {
+        Random random = new Random(length * 31L + type.hashCode());
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            int r = random.nextInt(100);
+            switch (type) {
+                case "ASCII":
+                    sb.append(pick(asciiWords, random));
+                    break;
+                case "LATIN":
+                    sb.append(r < 10 ? pick(latinCharacters, random) : pick(asciiWords, random));
+                    break;
+                case "MIXED":
+                    sb.append(r < 5 ? pick(latinCharacters, random) : r < 10 ? pick(wideCharacters, random) :
+                            pick(asciiWords, random));
+                    break;
+                case "CJK":
+                    sb.append(r < 10 ? pick(asciiWords, random) : (char)(0x4E00 + random.nextInt(0x5000)));
+                    break;
+                case "MARKUP":
+                    sb.append(r < 5 ? pick(markupCharacters, random) : pick(asciiWords, random));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown text type: " + type);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate an array of pseudo-random bytes.
+     *
+     * @param   length      the length
+     * @return              the bytes
+     */
+    public static byte[] bytes(int length) {
+        byte[] result = new byte[length];
+        new Random(length).nextBytes(result);
+        return result;
+    }
+
+    private static char pick(String characters, Random random) {
+        return characters.charAt(random.nextInt(characters.length()));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * @(#) URIBenchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.uri.FullURIEncoder;
+import io.jstuff.pipeline.uri.SchemaURIEncoder;
+import io.jstuff.pipeline.uri.URIDecoder;
+import io.jstuff.pipeline.uri.URIEncoder;
+
+/**
+ * Benchmarks for URI percent-encoding and decoding, comparing the pipeline codecs with {@link URLEncoder} and
+ * {@link URLDecoder}.  The encoders differ in the set of characters they leave unencoded, so the outputs are not
+ * identical, but the amount of work is comparable.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class URIBenchmark {
+
+    @Param({ "ASCII", "MIXED" })
+    public String type;
+
+    @Param({ "64", "4096" })
+    public int size;
+
+    private String text;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        text = TestData.text(type, size);
+        encoded = URIEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String encode() {
+        return URIEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String encodeSchema() {
+        return SchemaURIEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String encodeFull() {
+        return FullURIEncoder.convert(text);
+    }
+
+    @Benchmark
+    public String encodeJDK() throws UnsupportedEncodingException {
+        return URLEncoder.encode(text, "UTF-8");
+    }
+
+    @Benchmark
+    public String decode() {
+        return URIDecoder.convert(encoded);
+    }
+
+    @Benchmark
+    public String decodeJDK() throws UnsupportedEncodingException {
+        return URLDecoder.decode(encoded, "UTF-8");
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * @(#) UTF8Benchmark.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.CompactStringAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.codec.CodePoint_UTF8;
+import io.jstuff.pipeline.codec.UTF16_CodePoint;
+import io.jstuff.pipeline.codec.UTF16_UTF8;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+/**
+ * Benchmarks for UTF-8 decoding and encoding, comparing the pipeline codecs with the JDK equivalents.
+ *
+ * @author  Peter Wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UTF8Benchmark {
+
+    @Param({ "ASCII", "MIXED", "CJK" })
+    public String type;
+
+    @Param({ "64", "4096", "262144" })
+    public int size;
+
+    private String text;
+    private byte[] utf8;
+    private IntPipeline<String> decoder;
+    private IntPipeline<byte[]> encoder;
+    private IntPipeline<byte[]> codePointEncoder;
+    private CharsetDecoder charsetDecoder;
+    private CharsetEncoder charsetEncoder;
+
+    @Setup
+    public void setup() {
+        text = TestData.text(type, size);
+        utf8 = text.getBytes(StandardCharsets.UTF_8);
+        decoder = new UTF8_UTF16<>(new CompactStringAcceptor());
+        encoder = new UTF16_UTF8<>(new ByteArrayAcceptor());
+        codePointEncoder = new UTF16_CodePoint<>(new CodePoint_UTF8<>(new ByteArrayAcceptor()));
+        charsetDecoder = StandardCharsets.UTF_8.newDecoder();
+        charsetEncoder = StandardCharsets.UTF_8.newEncoder();
+    }
+
+    @Benchmark
+    public String decodeConvert() {
+        return UTF8_UTF16.convert(utf8);
+    }
+
+    @Benchmark
+    public String decodeReusedPipeline() {
+        decoder.reset();
+        decoder.accept(utf8);
+        decoder.safeClose();
+        return decoder.getResult();
+    }
+
+    @Benchmark
+    public String decodeJDKString() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CharBuffer decodeJDKCharsetDecoder() throws CharacterCodingException {
+        return charsetDecoder.decode(ByteBuffer.wrap(utf8));
+    }
+
+    @Benchmark
+    public byte[] encodeConvert() {
+        return UTF16_UTF8.convert(text);
+    }
+
+    @Benchmark
+    public byte[] encodeReusedPipeline() {
+        encoder.reset();
+        encoder.accept(text);
+        encoder.safeClose();
+        return encoder.getResult();
+    }
+
+    @Benchmark
+    public byte[] encodeCodePointPipeline() {
+        codePointEncoder.reset();
+        codePointEncoder.accept(text);
+        codePointEncoder.safeClose();
+        return codePointEncoder.getResult();
+    }
+
+    @Benchmark
+    public byte[] encodeJDKString() {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeJDKCharsetEncoder() throws CharacterCodingException {
+        return charsetEncoder.encode(CharBuffer.wrap(text));
+    }
+
+}
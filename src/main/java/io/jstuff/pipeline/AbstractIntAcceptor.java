@@ -2,7 +2,7 @@
  * @(#) AbstractIntAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023 Peter Wall
+ * Copyright (c) 2020, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -56,6 +56,93 @@ abstract public class AbstractIntAcceptor<R> extends BaseAbstractAcceptor<R> imp
      */
     abstract public void acceptInt(int value);
 
+    /**
+     * Accept a block of {@code int} values.  Check for acceptor already closed (once for the entire block), and pass
+     * the block to {@link #acceptIntBlock(int[], int, int)}.  The block must not contain the end of data marker.
+     *
+     * @param   values      the {@code int} array
+     * @param   offset      the starting offset
+     * @param   length      the number of values to accept
+     */
+    @Override
+    public void acceptBlock(int[] values, int offset, int length) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        acceptIntBlock(values, offset, length);
+    }
+
+    /**
+     * Accept a block of {@code byte} values.  Check for acceptor already closed (once for the entire block), and pass
+     * the block to {@link #acceptIntBlock(byte[], int, int)}.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptBlock(byte[] bytes, int offset, int length) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        acceptIntBlock(bytes, offset, length);
+    }
+
+    /**
+     * Accept a block of {@code char} values.  Check for acceptor already closed (once for the entire block), and pass
+     * the block to {@link #acceptIntBlock(char[], int, int)}.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    @Override
+    public void acceptBlock(char[] chars, int offset, int length) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        acceptIntBlock(chars, offset, length);
+    }
+
+    /**
+     * Accept a block of {@code int} values, after {@code closed} check.  The default implementation passes each value
+     * to {@link #acceptInt(int)}; implementing classes that can process a run of values more efficiently may override
+     * this method.
+     *
+     * @param   values      the {@code int} array
+     * @param   offset      the starting offset
+     * @param   length      the number of values to accept
+     */
+    public void acceptIntBlock(int[] values, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            acceptInt(values[i]);
+    }
+
+    /**
+     * Accept a block of {@code byte} values (treated as unsigned), after {@code closed} check.  The default
+     * implementation passes each value to {@link #acceptInt(int)}; implementing classes that can process a run of
+     * bytes more efficiently may override this method.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            acceptInt(bytes[i] & 0xFF);
+    }
+
+    /**
+     * Accept a block of {@code char} values, after {@code closed} check.  The default implementation passes each value
+     * to {@link #acceptInt(int)}; implementing classes that can process a run of characters more efficiently may
+     * override this method.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            acceptInt(chars[i]);
+    }
+
     /**
      * Accept a sequence of {@code int} values, supplied as {@code vararg} parameters.
      *
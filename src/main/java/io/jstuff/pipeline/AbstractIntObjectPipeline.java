@@ -2,7 +2,7 @@
  * @(#) AbstractIntObjectPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,6 +36,7 @@ public abstract class AbstractIntObjectPipeline<E, R> extends AbstractIntAccepto
         implements IntObjectPipeline<E, R> {
 
     private final Acceptor<? super E, ? extends R> downstream;
+    private AbstractAcceptor<? super E, ? extends R> uncheckedDownstream;
 
     /**
      * Construct an {@code AbstractIntObjectPipeline} with the given downstream {@link Acceptor}.
@@ -67,6 +68,29 @@ public abstract class AbstractIntObjectPipeline<E, R> extends AbstractIntAccepto
         super.close();
     }
 
+    /**
+     * Reset the pipeline to its initial state, along with the downstream acceptor.
+     */
+    @Override
+    public void reset() {
+        downstream.reset();
+        super.reset();
+    }
+
+    /**
+     * Set "trusted chain" mode for this pipeline and all downstream pipeline stages.  In this mode, values are passed
+     * directly to the {@code acceptObject()} function of the downstream acceptor, bypassing the per-value checks.
+     *
+     * @param   trustedChain    {@code true} to enable trusted chain mode
+     * @see     BasePipeline#setTrustedChain(boolean)
+     */
+    @Override
+    public void setTrustedChain(boolean trustedChain) {
+        uncheckedDownstream = trustedChain && downstream instanceof AbstractAcceptor ?
+                (AbstractAcceptor<? super E, ? extends R>)downstream : null;
+        IntObjectPipeline.super.setTrustedChain(trustedChain);
+    }
+
     /**
      * Emit a value to the downstream {@link Acceptor}.
      *
@@ -74,7 +98,10 @@ public abstract class AbstractIntObjectPipeline<E, R> extends AbstractIntAccepto
      */
     @Override
     public void emit(E value) {
-        downstream.accept(value);
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptObject(value);
+        else
+            downstream.accept(value);
     }
 
     /**
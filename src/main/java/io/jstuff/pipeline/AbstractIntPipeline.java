@@ -2,7 +2,7 @@
  * @(#) AbstractIntPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2022, 2023 Peter Wall
+ * Copyright (c) 2020, 2021, 2022, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -34,6 +34,7 @@ package io.jstuff.pipeline;
 public abstract class AbstractIntPipeline<R> extends AbstractIntAcceptor<R> implements IntPipeline<R> {
 
     private final IntAcceptor<? extends R> downstream;
+    private AbstractIntAcceptor<? extends R> uncheckedDownstream;
 
     /**
      * Construct an {@code AbstractIntPipeline} with the given downstream {@link IntAcceptor}.
@@ -65,6 +66,29 @@ public abstract class AbstractIntPipeline<R> extends AbstractIntAcceptor<R> impl
         super.close();
     }
 
+    /**
+     * Reset the pipeline to its initial state, along with the downstream acceptor.
+     */
+    @Override
+    public void reset() {
+        downstream.reset();
+        super.reset();
+    }
+
+    /**
+     * Set "trusted chain" mode for this pipeline and all downstream pipeline stages.  In this mode, values are passed
+     * directly to the {@code acceptInt()} function of the downstream acceptor, bypassing the per-value checks.
+     *
+     * @param   trustedChain    {@code true} to enable trusted chain mode
+     * @see     BasePipeline#setTrustedChain(boolean)
+     */
+    @Override
+    public void setTrustedChain(boolean trustedChain) {
+        uncheckedDownstream = trustedChain && downstream instanceof AbstractIntAcceptor ?
+                (AbstractIntAcceptor<? extends R>)downstream : null;
+        IntPipeline.super.setTrustedChain(trustedChain);
+    }
+
     /**
      * Emit a value to the downstream {@link IntAcceptor}.
      *
@@ -72,7 +96,55 @@ public abstract class AbstractIntPipeline<R> extends AbstractIntAcceptor<R> impl
      */
     @Override
     public void emit(int value) {
-        downstream.accept(value);
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptInt(value);
+        else
+            downstream.accept(value);
+    }
+
+    /**
+     * Emit a block of values to the downstream {@link IntAcceptor}.
+     *
+     * @param   values      the {@code int} array
+     * @param   offset      the starting offset
+     * @param   length      the number of values to emit
+     */
+    @Override
+    public void emitBlock(int[] values, int offset, int length) {
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptIntBlock(values, offset, length);
+        else
+            downstream.acceptBlock(values, offset, length);
+    }
+
+    /**
+     * Emit a block of bytes to the downstream {@link IntAcceptor}.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to emit
+     */
+    @Override
+    public void emitBlock(byte[] bytes, int offset, int length) {
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptIntBlock(bytes, offset, length);
+        else
+            downstream.acceptBlock(bytes, offset, length);
+    }
+
+    /**
+     * Emit a block of characters to the downstream {@link IntAcceptor}.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to emit
+     */
+    @Override
+    public void emitBlock(char[] chars, int offset, int length) {
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptIntBlock(chars, offset, length);
+        else
+            downstream.acceptBlock(chars, offset, length);
     }
 
     /**
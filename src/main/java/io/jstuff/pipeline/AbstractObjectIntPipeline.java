@@ -2,7 +2,7 @@
  * @(#) AbstractObjectIntPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,6 +36,7 @@ public abstract class AbstractObjectIntPipeline<A, R> extends AbstractAcceptor<A
         implements ObjectIntPipeline<A, R> {
 
     private final IntAcceptor<? extends R> downstream;
+    private AbstractIntAcceptor<? extends R> uncheckedDownstream;
 
     /**
      * Construct an {@code AbstractObjectIntPipeline} with the given downstream {@link IntAcceptor}.
@@ -67,6 +68,29 @@ public abstract class AbstractObjectIntPipeline<A, R> extends AbstractAcceptor<A
         super.close();
     }
 
+    /**
+     * Reset the pipeline to its initial state, along with the downstream acceptor.
+     */
+    @Override
+    public void reset() {
+        downstream.reset();
+        super.reset();
+    }
+
+    /**
+     * Set "trusted chain" mode for this pipeline and all downstream pipeline stages.  In this mode, values are passed
+     * directly to the {@code acceptInt()} function of the downstream acceptor, bypassing the per-value checks.
+     *
+     * @param   trustedChain    {@code true} to enable trusted chain mode
+     * @see     BasePipeline#setTrustedChain(boolean)
+     */
+    @Override
+    public void setTrustedChain(boolean trustedChain) {
+        uncheckedDownstream = trustedChain && downstream instanceof AbstractIntAcceptor ?
+                (AbstractIntAcceptor<? extends R>)downstream : null;
+        ObjectIntPipeline.super.setTrustedChain(trustedChain);
+    }
+
     /**
      * Emit a value to the downstream {@link IntAcceptor}.
      *
@@ -74,7 +98,10 @@ public abstract class AbstractObjectIntPipeline<A, R> extends AbstractAcceptor<A
      */
     @Override
     public void emit(int value) {
-        downstream.accept(value);
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptInt(value);
+        else
+            downstream.accept(value);
     }
 
     /**
@@ -2,7 +2,7 @@
  * @(#) AbstractPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,6 +36,7 @@ package io.jstuff.pipeline;
 abstract public class AbstractPipeline<A, E, R> extends AbstractAcceptor<A, R> implements Pipeline<A, E, R> {
 
     private final Acceptor<? super E, ? extends R> downstream;
+    private AbstractAcceptor<? super E, ? extends R> uncheckedDownstream;
 
     /**
      * Construct an {@code AbstractPipeline} with the given downstream {@link Acceptor}.
@@ -66,6 +67,29 @@ abstract public class AbstractPipeline<A, E, R> extends AbstractAcceptor<A, R> i
         super.close();
     }
 
+    /**
+     * Reset the pipeline to its initial state, along with the downstream acceptor.
+     */
+    @Override
+    public void reset() {
+        downstream.reset();
+        super.reset();
+    }
+
+    /**
+     * Set "trusted chain" mode for this pipeline and all downstream pipeline stages.  In this mode, values are passed
+     * directly to the {@code acceptObject()} function of the downstream acceptor, bypassing the per-value checks.
+     *
+     * @param   trustedChain    {@code true} to enable trusted chain mode
+     * @see     BasePipeline#setTrustedChain(boolean)
+     */
+    @Override
+    public void setTrustedChain(boolean trustedChain) {
+        uncheckedDownstream = trustedChain && downstream instanceof AbstractAcceptor ?
+                (AbstractAcceptor<? super E, ? extends R>)downstream : null;
+        Pipeline.super.setTrustedChain(trustedChain);
+    }
+
     /**
      * Emit a value to the downstream {@link IntAcceptor}.
      *
@@ -73,7 +97,10 @@ abstract public class AbstractPipeline<A, E, R> extends AbstractAcceptor<A, R> i
      */
     @Override
     public void emit(E value) {
-        downstream.accept(value);
+        if (uncheckedDownstream != null)
+            uncheckedDownstream.acceptObject(value);
+        else
+            downstream.accept(value);
     }
 
     /**
@@ -2,7 +2,7 @@
  * @(#) BaseAbstractAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,6 +25,8 @@
 
 package io.jstuff.pipeline;
 
+import io.jstuff.pipeline.jfr.PipelineEvents;
+
 /**
  * Common functionality for {@link AbstractAcceptor} and {@link AbstractIntAcceptor}.
  *
@@ -40,6 +42,7 @@ abstract public class BaseAbstractAcceptor<R> implements BaseAcceptor<R> {
      */
     public BaseAbstractAcceptor() {
         closed = false;
+        PipelineEvents.stageCreated(this);
     }
 
     /**
@@ -62,6 +65,16 @@ abstract public class BaseAbstractAcceptor<R> implements BaseAcceptor<R> {
         if (!isComplete())
             throw new IllegalStateException("Sequence not complete");
         closed = true;
+        PipelineEvents.stageClosed(this);
+    }
+
+    /**
+     * Reset the acceptor to its initial (not closed) state.  Classes holding state must override this method to restore
+     * that state, calling {@code super.reset()}.
+     */
+    @Override
+    public void reset() {
+        closed = false;
     }
 
 }
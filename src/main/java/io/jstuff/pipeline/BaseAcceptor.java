@@ -2,7 +2,7 @@
  * @(#) BaseAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023 Peter Wall
+ * Copyright (c) 2020, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -66,6 +66,16 @@ public interface BaseAcceptor<R> extends AutoCloseable {
     default void flush() {
     }
 
+    /**
+     * Reset the acceptor to its initial state, so that it may be reused.  For a pipeline, the downstream acceptors are
+     * also reset.  The default implementation throws an exception.
+     *
+     * @throws  UnsupportedOperationException   in all cases
+     */
+    default void reset() {
+        throw new UnsupportedOperationException("Reset not supported");
+    }
+
     /**
      * Close the acceptor, reporting any exceptions as a {@link RuntimeException}.  This avoids having to declare
      * exceptions on each method.
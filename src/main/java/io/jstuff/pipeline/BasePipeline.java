@@ -2,7 +2,7 @@
  * @(#) BasePipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,6 +25,8 @@
 
 package io.jstuff.pipeline;
 
+import io.jstuff.pipeline.jfr.PipelineEvents;
+
 /**
  * Base interface for pipeline classes.
  *
@@ -40,6 +42,22 @@ public interface BasePipeline<R> extends BaseAcceptor<R> {
      */
     BaseAcceptor<? extends R> getDownstream();
 
+    /**
+     * Set "trusted chain" mode for this pipeline and all downstream pipeline stages.  In trusted chain mode, each stage
+     * passes values directly to the next stage, bypassing the check for acceptor already closed and the test for end of
+     * data; those checks are performed only at the entry point to the chain.  This mode is intended for chains
+     * assembled and controlled by a single owner:  end of data must be signalled to the first stage (by the end of data
+     * marker or by closing it), and no stage may emit an end of data marker.  The default implementation propagates
+     * the setting to the downstream acceptor, if it is a pipeline.
+     *
+     * @param   trustedChain    {@code true} to enable trusted chain mode
+     */
+    default void setTrustedChain(boolean trustedChain) {
+        BaseAcceptor<? extends R> downstream = getDownstream();
+        if (downstream instanceof BasePipeline)
+            ((BasePipeline<? extends R>)downstream).setTrustedChain(trustedChain);
+    }
+
     /**
      * Return {@code true} if all sequences in the input to this stage of the pipeline are complete, that is, the input
      * is not in the middle of a sequence requiring more data.  This should be overridden by pipeline stages that
@@ -72,7 +90,9 @@ public interface BasePipeline<R> extends BaseAcceptor<R> {
     default R getResult() {
         if (!isComplete())
             throw new IllegalStateException("Sequence is not complete");
-        return getDownstream().getResult();
+        R result = getDownstream().getResult();
+        PipelineEvents.resultReturned(this, result);
+        return result;
     }
 
 }
@@ -2,7 +2,7 @@
  * @(#) ByteArrayAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,9 +25,12 @@
 
 package io.jstuff.pipeline;
 
+import java.nio.ByteBuffer;
+
 public class ByteArrayAcceptor extends AbstractIntAcceptor<byte[]> {
 
     public static final int DEFAULT_INITIAL_CAPACITY = 20;
+    public static final int MAX_RETAINED_CAPACITY = 64 * 1024;
 
     private byte[] byteArray;
     private int index;
@@ -43,14 +46,53 @@ public class ByteArrayAcceptor extends AbstractIntAcceptor<byte[]> {
 
     @Override
     public void acceptInt(int value) {
+        ensureCapacity(index + 1);
+        byteArray[index++] = (byte)value;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        ensureCapacity(index + length);
+        System.arraycopy(bytes, offset, byteArray, index, length);
+        index += length;
+    }
+
+    /**
+     * Accept a {@link ByteBuffer}.  The remaining bytes are copied in a single operation, which avoids per-byte access
+     * to direct or memory-mapped buffers.
+     *
+     * @param   byteBuffer      the {@link ByteBuffer}
+     */
+    @Override
+    public void accept(ByteBuffer byteBuffer) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        int length = byteBuffer.remaining();
+        ensureCapacity(index + length);
+        byteBuffer.get(byteArray, index, length);
+        index += length;
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  If the array has grown beyond {@link #MAX_RETAINED_CAPACITY} it is
+     * replaced by an array of the default initial capacity.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        index = 0;
+        if (byteArray.length > MAX_RETAINED_CAPACITY)
+            byteArray = new byte[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    private void ensureCapacity(int required) {
         int len = byteArray.length;
-        if (index >= len) {
-            int newLen = len + Math.min(len, 4096);
+        if (required > len) {
+            int newLen = Math.max(len << 1, required);
             byte[] newArray = new byte[newLen];
             System.arraycopy(byteArray, 0, newArray, 0, index);
             byteArray = newArray;
         }
-        byteArray[index++] = (byte)value;
     }
 
     @Override
@@ -0,0 +1,173 @@
+/*
+ * @(#) ChannelAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An {@link IntAcceptor} that writes bytes to a {@link WritableByteChannel}.  The bytes are collected in an internal
+ * {@link ByteBuffer} (heap or direct), which is written to the channel when it is full, when the acceptor is flushed
+ * and when it is closed.  Closing the acceptor does not close the channel.
+ *
+ * <p>Each write waits until all the data has been written, so the channel must be in blocking mode; a
+ * {@link SelectableChannel} (for example, a {@link java.nio.channels.SocketChannel SocketChannel}) in non-blocking mode
+ * is rejected, because a write to it could make no progress for as long as the peer is not reading.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class ChannelAcceptor<R> extends AbstractIntAcceptor<R> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public ChannelAcceptor(WritableByteChannel channel, int bufferSize, boolean direct) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        if (isNonBlocking(channel))
+            throw new IllegalArgumentException("Channel is in non-blocking mode");
+        this.channel = channel;
+        buffer = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+
+    public ChannelAcceptor(WritableByteChannel channel, int bufferSize) {
+        this(channel, bufferSize, false);
+    }
+
+    public ChannelAcceptor(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, false);
+    }
+
+    /**
+     * Accept an {@code int}, after {@code closed} check and test for end of data.  Store the value in the buffer as a
+     * byte, writing the buffer if it is full.
+     *
+     * @param   value       the input value
+     */
+    @Override
+    public void acceptInt(int value) {
+        if (!buffer.hasRemaining())
+            writeBuffer();
+        buffer.put((byte)value);
+    }
+
+    /**
+     * Accept a block of bytes.  If the block will not fit in the remaining space in the buffer, the buffer is written,
+     * and if the block is larger than the buffer it is written directly.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        if (length > buffer.remaining()) {
+            writeBuffer();
+            if (length >= buffer.capacity()) {
+                write(ByteBuffer.wrap(bytes, offset, length));
+                return;
+            }
+        }
+        buffer.put(bytes, offset, length);
+    }
+
+    /**
+     * Accept a {@link ByteBuffer}.  If the remaining bytes will not fit in the buffer, the buffer is written, and if
+     * the {@link ByteBuffer} contents are larger than the buffer they are written directly.
+     *
+     * @param   byteBuffer      the {@link ByteBuffer}
+     */
+    @Override
+    public void accept(ByteBuffer byteBuffer) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        int length = byteBuffer.remaining();
+        if (length > buffer.remaining()) {
+            writeBuffer();
+            if (length >= buffer.capacity()) {
+                write(byteBuffer);
+                return;
+            }
+        }
+        buffer.put(byteBuffer);
+    }
+
+    /**
+     * Write any buffered data to the channel.
+     */
+    @Override
+    public void flush() {
+        writeBuffer();
+    }
+
+    /**
+     * Close the acceptor, writing any buffered data to the channel.
+     *
+     * @throws  Exception   if thrown by the superclass {@code close()} function
+     */
+    @Override
+    public void close() throws Exception {
+        writeBuffer();
+        super.close();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffer.clear();
+    }
+
+    private void writeBuffer() {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+    }
+
+    private void write(ByteBuffer byteBuffer) {
+        try {
+            while (byteBuffer.hasRemaining()) {
+                if (channel.write(byteBuffer) == 0 && isNonBlocking(channel))
+                    throw new IllegalStateException("Channel is in non-blocking mode");
+            }
+        }
+        catch (IOException ioe) {
+            throw new RuntimeException("Exception in write function", ioe);
+        }
+    }
+
+    private static boolean isNonBlocking(WritableByteChannel channel) {
+        return channel instanceof SelectableChannel && !((SelectableChannel)channel).isBlocking();
+    }
+
+}
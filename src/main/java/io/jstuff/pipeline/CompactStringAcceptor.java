@@ -0,0 +1,273 @@
+/*
+ * @(#) CompactStringAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An {@link IntAcceptor} that creates a {@link String} from a sequence of {@code int} characters, optimised for text
+ * consisting mainly of ASCII or ISO-8859-1 characters.  While all the characters accepted are in the range 0 to 0xFF
+ * they are stored in a {@code byte} array, which on JVMs supporting compact strings allows the result {@link String} to
+ * be created without inflation to 16-bit characters; when a character outside that range is accepted, the data is
+ * converted to a {@code char} array.  Blocks of bytes or characters are copied in bulk, and the content may be
+ * accessed as a {@link CharSequence} without copying.
+ *
+ * @author  Peter Wall
+ */
+public class CompactStringAcceptor extends AbstractIntAcceptor<String> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 32;
+    public static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final int initialCapacity;
+    private byte[] bytes;
+    private char[] chars;
+    private int length;
+
+    /**
+     * Construct a {@code CompactStringAcceptor} with the given initial capacity (for example, the length of the input
+     * to a decoder).
+     *
+     * @param   initialCapacity     the initial capacity
+     */
+    public CompactStringAcceptor(int initialCapacity) {
+        this.initialCapacity = Math.max(initialCapacity, 16);
+        bytes = new byte[this.initialCapacity];
+        chars = null;
+        length = 0;
+    }
+
+    public CompactStringAcceptor() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (bytes != null) {
+            if ((value & ~0xFF) == 0) {
+                if (length == bytes.length)
+                    ensureCapacity(length + 1);
+                bytes[length++] = (byte)value;
+                return;
+            }
+            inflate(length + 1);
+        }
+        else if (length == chars.length)
+            ensureCapacity(length + 1);
+        chars[length++] = (char)value;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        ensureCapacity(this.length + length);
+        if (this.bytes != null) {
+            System.arraycopy(bytes, offset, this.bytes, this.length, length);
+            this.length += length;
+        }
+        else {
+            char[] c = chars;
+            int j = this.length;
+            for (int i = offset, n = offset + length; i < n; i++)
+                c[j++] = (char)(bytes[i] & 0xFF);
+            this.length = j;
+        }
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        ensureCapacity(this.length + length);
+        int n = offset + length;
+        if (bytes != null) {
+            byte[] b = bytes;
+            int j = this.length;
+            while (offset < n) {
+                char ch = chars[offset];
+                if ((ch & ~0xFF) != 0)
+                    break;
+                b[j++] = (byte)ch;
+                offset++;
+            }
+            this.length = j;
+            if (offset == n)
+                return;
+            inflate(this.length + n - offset);
+        }
+        System.arraycopy(chars, offset, this.chars, this.length, n - offset);
+        this.length += n - offset;
+    }
+
+    /**
+     * Ensure that the acceptor has capacity for at least the specified number of characters.  This may be used to
+     * pre-size the acceptor when the length of the output is known or can be estimated.
+     *
+     * @param   capacity    the required capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if (bytes != null) {
+            if (capacity > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, capacity));
+        }
+        else if (capacity > chars.length)
+            chars = Arrays.copyOf(chars, Math.max(chars.length << 1, capacity));
+    }
+
+    private void inflate(int capacity) {
+        byte[] b = bytes;
+        char[] c = new char[Math.max(b.length, capacity)];
+        for (int i = 0, n = length; i < n; i++)
+            c[i] = (char)(b[i] & 0xFF);
+        chars = c;
+        bytes = null;
+    }
+
+    /**
+     * Return {@code true} if all the characters accepted so far are in the range 0 to 0xFF (and are therefore stored
+     * as bytes).
+     *
+     * @return  {@code true} if the content is ISO-8859-1
+     */
+    public boolean isLatin1() {
+        return bytes != null;
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  The acceptor returns to storing characters as bytes, and if the storage
+     * has grown beyond {@link #MAX_RETAINED_CAPACITY} it is released.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        if (bytes == null || bytes.length > MAX_RETAINED_CAPACITY)
+            bytes = new byte[initialCapacity];
+        chars = null;
+        length = 0;
+    }
+
+    @Override
+    public String getResult() {
+        return bytes != null ? new String(bytes, 0, length, StandardCharsets.ISO_8859_1) : new String(chars, 0, length);
+    }
+
+    /**
+     * Get a {@link CharSequence} view of the characters accepted so far, without copying.  The view shares storage with
+     * the acceptor, so it remains valid only until further characters are accepted or the acceptor is reset.
+     *
+     * @return  the {@link CharSequence}
+     */
+    public CharSequence getCharSequence() {
+        return bytes != null ? new Latin1CharSequence(bytes, 0, length) : new CharArrayCharSequence(chars, 0, length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * A {@link CharSequence} view of a section of a {@code byte} array, each byte representing an ISO-8859-1
+     * character.
+     */
+    private static class Latin1CharSequence implements CharSequence {
+
+        private final byte[] array;
+        private final int offset;
+        private final int length;
+
+        Latin1CharSequence(byte[] array, int offset, int length) {
+            this.array = array;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("Index " + index + " out of range");
+            return (char)(array[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end)
+                throw new IndexOutOfBoundsException("Sub-sequence " + start + ".." + end + " out of range");
+            return new Latin1CharSequence(array, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(array, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+    }
+
+    /**
+     * A {@link CharSequence} view of a section of a {@code char} array.
+     */
+    private static class CharArrayCharSequence implements CharSequence {
+
+        private final char[] array;
+        private final int offset;
+        private final int length;
+
+        CharArrayCharSequence(char[] array, int offset, int length) {
+            this.array = array;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("Index " + index + " out of range");
+            return array[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end)
+                throw new IndexOutOfBoundsException("Sub-sequence " + start + ".." + end + " out of range");
+            return new CharArrayCharSequence(array, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(array, offset, length);
+        }
+
+    }
+
+}
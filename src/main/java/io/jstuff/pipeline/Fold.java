@@ -2,7 +2,7 @@
  * @(#) Fold.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021 Peter Wall
+ * Copyright (c) 2021, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,10 +29,12 @@ import java.util.function.BiFunction;
 
 public class Fold<A> extends AbstractAcceptor<A, A> {
 
+    private final A initialValue;
     private A result;
     private final BiFunction<? super A, ? super A, ? extends A> function;
 
     public Fold(A initialValue, BiFunction<? super A, ? super A, ? extends A> function) {
+        this.initialValue = initialValue;
         result = initialValue;
         this.function = function;
     }
@@ -42,6 +44,12 @@ public class Fold<A> extends AbstractAcceptor<A, A> {
         result = function.apply(result, value);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        result = initialValue;
+    }
+
     @Override
     public A getResult() {
         return result;
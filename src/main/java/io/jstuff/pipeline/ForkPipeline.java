@@ -2,7 +2,7 @@
  * @(#) ForkPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -40,10 +40,32 @@ public class ForkPipeline<A, R> extends AbstractPipeline<A, A, R> {
         this.downstream2 = downstream2;
     }
 
+    /**
+     * Get the second downstream {@link Acceptor}.
+     *
+     * @return  the {@link Acceptor}
+     */
+    public Acceptor<? super A, ? extends R> getDownstream2() {
+        return downstream2;
+    }
+
     @Override
     public void acceptObject(A value) {
         emit(value);
         downstream2.accept(value);
     }
 
+    @Override
+    public void reset() {
+        downstream2.reset();
+        super.reset();
+    }
+
+    @Override
+    public void setTrustedChain(boolean trustedChain) {
+        if (downstream2 instanceof BasePipeline)
+            ((BasePipeline<? extends R>)downstream2).setTrustedChain(trustedChain);
+        super.setTrustedChain(trustedChain);
+    }
+
 }
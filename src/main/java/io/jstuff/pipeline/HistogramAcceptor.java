@@ -0,0 +1,127 @@
+/*
+ * @(#) HistogramAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An {@link IntAcceptor} that counts the occurrences of each distinct value (typically characters or Unicode code
+ * points).  Values in the Basic Multilingual Plane (0 to 0xFFFF) are counted in a dense array with no per-value
+ * allocation; other values are counted in a sparse map.  The result is a sorted map of each value to its count, but
+ * counts may also be obtained individually using {@link #getCount(int)}.
+ *
+ * @author  Peter Wall
+ */
+public class HistogramAcceptor extends AbstractIntAcceptor<SortedMap<Integer, Long>> {
+
+    public static final int DENSE_LIMIT = 0x10000;
+
+    private final long[] counts;
+    private final Map<Integer, Long> sparseCounts;
+    private long total;
+
+    public HistogramAcceptor() {
+        counts = new long[DENSE_LIMIT];
+        sparseCounts = new HashMap<>();
+        total = 0;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if ((value & ~0xFFFF) == 0)
+            counts[value]++;
+        else
+            sparseCounts.merge(value, 1L, Long::sum);
+        total++;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        long[] c = counts;
+        for (int i = offset, n = offset + length; i < n; i++)
+            c[bytes[i] & 0xFF]++;
+        total += length;
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        long[] c = counts;
+        for (int i = offset, n = offset + length; i < n; i++)
+            c[chars[i]]++;
+        total += length;
+    }
+
+    /**
+     * Get the number of occurrences of a value.
+     *
+     * @param   value   the value
+     * @return          the count
+     */
+    public long getCount(int value) {
+        if ((value & ~0xFFFF) == 0)
+            return counts[value];
+        Long count = sparseCounts.get(value);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Get the total number of values accepted.
+     *
+     * @return  the total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        Arrays.fill(counts, 0);
+        sparseCounts.clear();
+        total = 0;
+    }
+
+    /**
+     * Get the result as a {@link SortedMap} of each value accepted to its count.  The map is created on each call.
+     *
+     * @return  the map
+     */
+    @Override
+    public SortedMap<Integer, Long> getResult() {
+        SortedMap<Integer, Long> result = new TreeMap<>(sparseCounts);
+        long[] c = counts;
+        for (int i = 0; i < DENSE_LIMIT; i++)
+            if (c[i] != 0)
+                result.put(i, c[i]);
+        return result;
+    }
+
+}
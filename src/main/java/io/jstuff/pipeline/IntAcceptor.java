@@ -2,7 +2,7 @@
  * @(#) IntAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -39,11 +39,18 @@ import java.util.stream.Stream;
  * An acceptor that takes an integer value.  Includes default functions to cater for the common cases of strings or byte
  * arrays being used for integer values.
  *
+ * <p>Arrays and buffers are passed to the {@code acceptBlock()} functions, which by default process the values one at
+ * a time, but which may be overridden by implementing classes that can handle a block of values in a single
+ * operation.</p>
+ *
  * @author  Peter Wall
  * @param   <R>     the result type
  */
 public interface IntAcceptor<R> extends BaseAcceptor<R>, IntConsumer {
 
+    /** The default size of the buffer used when reading from an {@link InputStream} or a {@link Reader}. */
+    int DEFAULT_BUFFER_SIZE = 8192;
+
     /**
      * Accept a value.
      *
@@ -107,8 +114,7 @@ public interface IntAcceptor<R> extends BaseAcceptor<R>, IntConsumer {
      * @param   length      the length to accept
      */
     default void accept(char[] chars, int offset, int length) {
-        for (int i = offset, n = offset + length; i < n; i++)
-            accept(chars[i]);
+        acceptBlock(chars, offset, length);
     }
 
     /**
@@ -128,8 +134,7 @@ public interface IntAcceptor<R> extends BaseAcceptor<R>, IntConsumer {
      * @param   length      the length to accept
      */
     default void accept(byte[] bytes, int offset, int length) {
-        for (int i = offset, n = offset + length; i < n; i++)
-            accept(bytes[i] & 0xFF);
+        acceptBlock(bytes, offset, length);
     }
 
     /**
@@ -142,32 +147,66 @@ public interface IntAcceptor<R> extends BaseAcceptor<R>, IntConsumer {
     }
 
     /**
-     * Accept an {@link InputStream} as a sequence of integer values.
+     * Accept an {@link InputStream} as a sequence of integer values.  The data is read in blocks of the default size,
+     * and each block is passed to {@link #acceptBlock(byte[], int, int)}.
      *
      * @param   inputStream     the {@link InputStream}
      * @throws  IOException     if thrown by the {@link InputStream}
      */
     default void accept(InputStream inputStream) throws IOException {
+        accept(inputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Accept an {@link InputStream} as a sequence of integer values.  The data is read in blocks of the specified
+     * size, and each block is passed to {@link #acceptBlock(byte[], int, int)}.
+     *
+     * @param   inputStream     the {@link InputStream}
+     * @param   bufferSize      the size of the buffer to use for each read
+     * @throws  IOException     if thrown by the {@link InputStream}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    default void accept(InputStream inputStream, int bufferSize) throws IOException {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        byte[] buffer = new byte[bufferSize];
         for (;;) {
-            int b = inputStream.read();
-            if (b < 0)
+            int n = inputStream.read(buffer, 0, bufferSize);
+            if (n < 0)
                 break;
-            accept(b & 0xFF);
+            acceptBlock(buffer, 0, n);
         }
     }
 
     /**
-     * Accept a {@link Reader} as a sequence of integer values.
+     * Accept a {@link Reader} as a sequence of integer values.  The data is read in blocks of the default size, and
+     * each block is passed to {@link #acceptBlock(char[], int, int)}.
      *
-     * @param   reader          the {@link InputStream}
-     * @throws  IOException     if thrown by the {@link InputStream}
+     * @param   reader          the {@link Reader}
+     * @throws  IOException     if thrown by the {@link Reader}
      */
     default void accept(Reader reader) throws IOException {
+        accept(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Accept a {@link Reader} as a sequence of integer values.  The data is read in blocks of the specified size, and
+     * each block is passed to {@link #acceptBlock(char[], int, int)}.
+     *
+     * @param   reader          the {@link Reader}
+     * @param   bufferSize      the size of the buffer to use for each read
+     * @throws  IOException     if thrown by the {@link Reader}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    default void accept(Reader reader, int bufferSize) throws IOException {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        char[] buffer = new char[bufferSize];
         for (;;) {
-            int ch = reader.read();
-            if (ch < 0)
+            int n = reader.read(buffer, 0, bufferSize);
+            if (n < 0)
                 break;
-            accept(ch);
+            acceptBlock(buffer, 0, n);
         }
     }
 
@@ -177,18 +216,84 @@ public interface IntAcceptor<R> extends BaseAcceptor<R>, IntConsumer {
      * @param   charBuffer      the {@link CharBuffer}
      */
     default void accept(CharBuffer charBuffer) {
-        while (charBuffer.hasRemaining())
-            accept(charBuffer.get());
+        if (charBuffer.hasArray()) {
+            int position = charBuffer.position();
+            int remaining = charBuffer.limit() - position;
+            acceptBlock(charBuffer.array(), charBuffer.arrayOffset() + position, remaining);
+            charBuffer.position(position + remaining);
+        }
+        else {
+            while (charBuffer.hasRemaining())
+                accept(charBuffer.get());
+        }
     }
 
     /**
-     * Accept a {@link ByteBuffer} as a sequence of integer values.
+     * Accept a {@link ByteBuffer} as a sequence of integer values.  A buffer with an accessible array is passed to
+     * {@link #acceptBlock(byte[], int, int)} directly from the array; otherwise (<i>e.g.</i> for direct or
+     * memory-mapped buffers) the data is copied in blocks of up to {@link #DEFAULT_BUFFER_SIZE} bytes to a temporary
+     * array, and each block is passed to {@link #acceptBlock(byte[], int, int)}.
      *
      * @param   byteBuffer      the {@link ByteBuffer}
      */
     default void accept(ByteBuffer byteBuffer) {
-        while (byteBuffer.hasRemaining())
-            accept(byteBuffer.get() & 0xFF);
+        if (byteBuffer.hasArray()) {
+            int position = byteBuffer.position();
+            int remaining = byteBuffer.limit() - position;
+            acceptBlock(byteBuffer.array(), byteBuffer.arrayOffset() + position, remaining);
+            byteBuffer.position(position + remaining);
+        }
+        else if (byteBuffer.hasRemaining()) {
+            byte[] buffer = new byte[Math.min(byteBuffer.remaining(), DEFAULT_BUFFER_SIZE)];
+            while (byteBuffer.hasRemaining()) {
+                int length = Math.min(byteBuffer.remaining(), buffer.length);
+                byteBuffer.get(buffer, 0, length);
+                acceptBlock(buffer, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Accept a block of values from a section of an {@code int} array.  The block must contain data values only; end
+     * of data must be signalled separately, by {@code accept(-1)} or by closing the acceptor.  The default
+     * implementation passes each value to {@link #accept(int)}; acceptors that can process a run of values more
+     * efficiently should override this method.
+     *
+     * @param   values      the {@code int} array
+     * @param   offset      the starting offset
+     * @param   length      the number of values to accept
+     */
+    default void acceptBlock(int[] values, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accept a block of values from a section of a {@code byte} array, each byte being treated as an unsigned value.
+     * The default implementation passes each value to {@link #accept(int)}; acceptors that can process a run of bytes
+     * more efficiently should override this method.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    default void acceptBlock(byte[] bytes, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            accept(bytes[i] & 0xFF);
+    }
+
+    /**
+     * Accept a block of values from a section of a {@code char} array.  The default implementation passes each value
+     * to {@link #accept(int)}; acceptors that can process a run of characters more efficiently should override this
+     * method.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    default void acceptBlock(char[] chars, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            accept(chars[i]);
     }
 
 }
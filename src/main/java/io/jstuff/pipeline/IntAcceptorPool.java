@@ -0,0 +1,141 @@
+/*
+ * @(#) IntAcceptorPool.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline;
+
+import java.util.function.Supplier;
+
+/**
+ * A per-thread pool of reusable {@link IntAcceptor} chains (typically a pipeline with a terminal acceptor).  Each
+ * thread holds at most one idle chain; a chain taken from the pool is in its initial state, and it is {@linkplain
+ * BaseAcceptor#reset() reset} when it is returned.  If a chain is requested while the thread's chain is in use (for
+ * example, by a nested call), a new chain is created.
+ *
+ * <p>The pool is suitable only for chains whose result does not share storage with the chain itself (for example, a
+ * {@link StringAcceptor} or a {@link ByteArrayAcceptor}, which return a copy of the accumulated data).  New chains are
+ * placed in {@linkplain BasePipeline#setTrustedChain(boolean) trusted chain} mode, since they are only ever driven by
+ * the pool.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class IntAcceptorPool<R> {
+
+    private final Supplier<? extends IntAcceptor<R>> supplier;
+    private final ThreadLocal<IntAcceptor<R>> idle;
+
+    /**
+     * Construct an {@code IntAcceptorPool} using the given {@link Supplier} to create new chains.
+     *
+     * @param   supplier    the {@link Supplier}
+     */
+    public IntAcceptorPool(Supplier<? extends IntAcceptor<R>> supplier) {
+        this.supplier = supplier;
+        idle = new ThreadLocal<>();
+    }
+
+    /**
+     * Take a chain from the pool, creating a new chain if none is available for the current thread.
+     *
+     * @return  the {@link IntAcceptor}
+     */
+    public IntAcceptor<R> take() {
+        IntAcceptor<R> acceptor = idle.get();
+        if (acceptor == null) {
+            acceptor = supplier.get();
+            if (acceptor instanceof BasePipeline)
+                ((BasePipeline<R>)acceptor).setTrustedChain(true);
+            return acceptor;
+        }
+        idle.set(null);
+        return acceptor;
+    }
+
+    /**
+     * Reset a chain and return it to the pool for the current thread.
+     *
+     * @param   acceptor    the {@link IntAcceptor}
+     */
+    public void release(IntAcceptor<R> acceptor) {
+        acceptor.reset();
+        idle.set(acceptor);
+    }
+
+    /**
+     * Process a byte array using a pooled chain, and return the result.
+     *
+     * @param   input   the input as a byte array
+     * @return          the result
+     */
+    public R process(byte[] input) {
+        IntAcceptor<R> acceptor = take();
+        try {
+            acceptor.accept(input);
+            acceptor.safeClose();
+            return acceptor.getResult();
+        }
+        finally {
+            release(acceptor);
+        }
+    }
+
+    /**
+     * Process a {@link CharSequence} (<i>e.g.</i> {@link String}) using a pooled chain, and return the result.
+     *
+     * @param   input   the input as a {@link CharSequence}
+     * @return          the result
+     */
+    public R process(CharSequence input) {
+        IntAcceptor<R> acceptor = take();
+        try {
+            acceptor.accept(input);
+            acceptor.safeClose();
+            return acceptor.getResult();
+        }
+        finally {
+            release(acceptor);
+        }
+    }
+
+    /**
+     * Process an {@link Iterable} of {@link Integer} (<i>e.g.</i> {@code List<Integer>}) using a pooled chain, and
+     * return the result.
+     *
+     * @param   input   the input as an {@link Iterable}
+     * @return          the result
+     */
+    public R process(Iterable<Integer> input) {
+        IntAcceptor<R> acceptor = take();
+        try {
+            acceptor.accept(input);
+            acceptor.safeClose();
+            return acceptor.getResult();
+        }
+        finally {
+            release(acceptor);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * @(#) IntArrayAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * An {@link IntAcceptor} that accumulates a sequence of integer values in a growable {@code int} array, without the
+ * boxing overhead of {@link ListIntAcceptor}.  The result is a copy of the values trimmed to length; alternatively,
+ * {@link #getIntBuffer()} returns a read-only view of the values without copying.
+ *
+ * @author  Peter Wall
+ */
+public class IntArrayAcceptor extends AbstractIntAcceptor<int[]> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    public static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private int[] intArray;
+    private int index;
+
+    public IntArrayAcceptor(int initialCapacity) {
+        intArray = new int[initialCapacity];
+        index = 0;
+    }
+
+    public IntArrayAcceptor() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (index == intArray.length)
+            ensureCapacity(index + 1);
+        intArray[index++] = value;
+    }
+
+    @Override
+    public void acceptIntBlock(int[] values, int offset, int length) {
+        ensureCapacity(index + length);
+        System.arraycopy(values, offset, intArray, index, length);
+        index += length;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        ensureCapacity(index + length);
+        int[] array = intArray;
+        int j = index;
+        for (int i = offset, n = offset + length; i < n; i++)
+            array[j++] = bytes[i] & 0xFF;
+        index = j;
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        ensureCapacity(index + length);
+        int[] array = intArray;
+        int j = index;
+        for (int i = offset, n = offset + length; i < n; i++)
+            array[j++] = chars[i];
+        index = j;
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  If the array has grown beyond {@link #MAX_RETAINED_CAPACITY} it is
+     * replaced by an array of the default initial capacity.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        index = 0;
+        if (intArray.length > MAX_RETAINED_CAPACITY)
+            intArray = new int[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    private void ensureCapacity(int required) {
+        int len = intArray.length;
+        if (required > len)
+            intArray = Arrays.copyOf(intArray, Math.max(len << 1, required));
+    }
+
+    /**
+     * Get the result as an {@code int} array, trimmed to the number of values accepted.
+     *
+     * @return  the values
+     */
+    @Override
+    public int[] getResult() {
+        return Arrays.copyOf(intArray, index);
+    }
+
+    /**
+     * Get a read-only {@link IntBuffer} view of the values accepted so far.  The buffer shares storage with the
+     * acceptor, so it remains valid only until further values are accepted or the acceptor is reset.
+     *
+     * @return  the {@link IntBuffer}
+     */
+    public IntBuffer getIntBuffer() {
+        return IntBuffer.wrap(intArray, 0, index).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Get an individual value.
+     *
+     * @param   i       the index of the value
+     * @return          the value
+     * @throws  IndexOutOfBoundsException   if the index is not within the values accepted
+     */
+    public int get(int i) {
+        if (i < 0 || i >= index)
+            throw new IndexOutOfBoundsException("Index " + i + " out of range");
+        return intArray[i];
+    }
+
+    public int length() {
+        return index;
+    }
+
+}
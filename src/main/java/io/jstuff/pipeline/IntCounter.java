@@ -2,7 +2,7 @@
  * @(#) IntCounter.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021 Peter Wall
+ * Copyright (c) 2021, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -34,6 +34,27 @@ public class IntCounter extends AbstractIntAcceptor<Integer> {
         count++;
     }
 
+    @Override
+    public void acceptIntBlock(int[] values, int offset, int length) {
+        count += length;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        count += length;
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        count += length;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        count = 0;
+    }
+
     @Override
     public Integer getResult() {
         return count;
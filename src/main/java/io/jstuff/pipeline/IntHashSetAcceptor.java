@@ -0,0 +1,201 @@
+/*
+ * @(#) IntHashSetAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IntAcceptor} that creates a set of distinct integer values, using an open-addressing hash table of
+ * primitive {@code int} values (avoiding the boxing overhead of a {@link SetAcceptor}).  The result is an array of the
+ * distinct values in ascending order.
+ *
+ * @author  Peter Wall
+ */
+public class IntHashSetAcceptor extends AbstractIntAcceptor<int[]> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    public static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final int initialTableSize;
+    private int[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Construct an {@code IntHashSetAcceptor} with an expected number of distinct values.
+     *
+     * @param   initialCapacity     the number of values that may be held before the table must be enlarged
+     */
+    public IntHashSetAcceptor(int initialCapacity) {
+        initialTableSize = tableSize(initialCapacity);
+        allocate(initialTableSize);
+    }
+
+    public IntHashSetAcceptor() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        add(value);
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            add(bytes[i] & 0xFF);
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            add(chars[i]);
+    }
+
+    /**
+     * Add a value to the set (zero is used as the empty slot marker in the table, so it is recorded separately).
+     *
+     * @param   value   the value
+     */
+    private void add(int value) {
+        if (value == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            return;
+        }
+        int[] t = table;
+        int m = mask;
+        int i = hash(value) & m;
+        int entry;
+        while ((entry = t[i]) != 0) {
+            if (entry == value)
+                return;
+            i = (i + 1) & m;
+        }
+        t[i] = value;
+        if (++size > (t.length >> 1))
+            rehash(t.length << 1);
+    }
+
+    /**
+     * Test whether the set contains the given value.
+     *
+     * @param   value   the value
+     * @return          {@code true} if the value has been accepted
+     */
+    public boolean contains(int value) {
+        if (value == 0)
+            return containsZero;
+        int[] t = table;
+        int i = hash(value) & mask;
+        int entry;
+        while ((entry = t[i]) != 0) {
+            if (entry == value)
+                return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of distinct values accepted.
+     *
+     * @return  the number of values
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  If the table has grown beyond {@link #MAX_RETAINED_CAPACITY} it is
+     * replaced by a table of the initial size.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        if (table.length > MAX_RETAINED_CAPACITY)
+            allocate(initialTableSize);
+        else
+            Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Get the distinct values as an array, in ascending order.
+     *
+     * @return  the values
+     */
+    @Override
+    public int[] getResult() {
+        int[] result = new int[size];
+        int j = 0;
+        if (containsZero)
+            result[j++] = 0;
+        for (int entry : table)
+            if (entry != 0)
+                result[j++] = entry;
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void rehash(int newSize) {
+        int[] oldTable = table;
+        allocate(newSize);
+        int[] t = table;
+        int m = mask;
+        for (int entry : oldTable) {
+            if (entry != 0) {
+                int i = hash(entry) & m;
+                while (t[i] != 0)
+                    i = (i + 1) & m;
+                t[i] = entry;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        table = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSize(int capacity) {
+        int tableSize = 4;
+        while (tableSize < capacity * 2 && tableSize < (1 << 30))
+            tableSize <<= 1;
+        return tableSize;
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) IntPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -41,4 +41,43 @@ public interface IntPipeline<R> extends IntAcceptor<R>, BasePipeline<R> {
      */
     void emit(int value);
 
+    /**
+     * Emit a block of values from a section of an {@code int} array.  The default implementation emits each value
+     * individually.
+     *
+     * @param   values      the {@code int} array
+     * @param   offset      the starting offset
+     * @param   length      the number of values to emit
+     */
+    default void emitBlock(int[] values, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            emit(values[i]);
+    }
+
+    /**
+     * Emit a block of values from a section of a {@code byte} array, each byte being treated as an unsigned value.
+     * The default implementation emits each value individually.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to emit
+     */
+    default void emitBlock(byte[] bytes, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            emit(bytes[i] & 0xFF);
+    }
+
+    /**
+     * Emit a block of values from a section of a {@code char} array.  The default implementation emits each value
+     * individually.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to emit
+     */
+    default void emitBlock(char[] chars, int offset, int length) {
+        for (int i = offset, n = offset + length; i < n; i++)
+            emit(chars[i]);
+    }
+
 }
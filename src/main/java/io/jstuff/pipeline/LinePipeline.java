@@ -2,7 +2,7 @@
  * @(#) LinePipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,10 @@ package io.jstuff.pipeline;
 /**
  * A pipeline that accepts characters and emits {@link String}s, using LF or CR-LF as line separators.
  *
+ * <p>Allocation budget:  in steady state, the only allocation is the {@link String} created for each non-empty line
+ * (empty lines are emitted as the shared empty string); the line buffer is retained and re-used across lines and across
+ * calls to {@link #reset()}.</p>
+ *
  * @author  Peter Wall
  * @param   <R>     the result type
  */
@@ -81,6 +85,13 @@ public class LinePipeline<R> extends AbstractIntObjectPipeline<String, R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        line.setLength(0);
+        crSeen = false;
+    }
+
     private void emitLine() {
         emit(line.length() == 0 ? "" : line.toString());
         line.setLength(0);
@@ -2,7 +2,7 @@
  * @(#) ListAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -57,6 +57,12 @@ public class ListAcceptor<A> extends AbstractAcceptor<A, List<A>> {
         list.add(value);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        list.clear();
+    }
+
     @Override
     public List<A> getResult() {
         return Collections.unmodifiableList(list);
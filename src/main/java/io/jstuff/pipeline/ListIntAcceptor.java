@@ -2,7 +2,7 @@
  * @(#) ListIntAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2025 Peter Wall
+ * Copyright (c) 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -58,6 +58,12 @@ public class ListIntAcceptor extends AbstractIntAcceptor<List<Integer>> {
         list.add(value);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        list.clear();
+    }
+
     @Override
     public List<Integer> getResult() {
         return Collections.unmodifiableList(list);
@@ -0,0 +1,141 @@
+/*
+ * @(#) OutputStreamAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link IntAcceptor} that writes bytes to an {@link OutputStream}.  The bytes are collected in an internal buffer,
+ * which is written to the {@link OutputStream} when it is full, when the acceptor is flushed and when it is closed.
+ * Closing the acceptor does not close the {@link OutputStream}.
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class OutputStreamAcceptor<R> extends AbstractIntAcceptor<R> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream outputStream;
+    private final byte[] buffer;
+    private int index;
+
+    public OutputStreamAcceptor(OutputStream outputStream, int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        this.outputStream = outputStream;
+        buffer = new byte[bufferSize];
+        index = 0;
+    }
+
+    public OutputStreamAcceptor(OutputStream outputStream) {
+        this(outputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Accept an {@code int}, after {@code closed} check and test for end of data.  Store the value in the buffer as a
+     * byte, writing the buffer if it is full.
+     *
+     * @param   value       the input value
+     */
+    @Override
+    public void acceptInt(int value) {
+        if (index == buffer.length)
+            writeBuffer();
+        buffer[index++] = (byte)value;
+    }
+
+    /**
+     * Accept a block of bytes.  If the block will not fit in the remaining space in the buffer, the buffer is written,
+     * and if the block is larger than the buffer it is written directly.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        if (length > buffer.length - index) {
+            writeBuffer();
+            if (length >= buffer.length) {
+                write(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, index, length);
+        index += length;
+    }
+
+    /**
+     * Write any buffered data, and flush the {@link OutputStream}.
+     */
+    @Override
+    public void flush() {
+        writeBuffer();
+        try {
+            outputStream.flush();
+        }
+        catch (IOException ioe) {
+            throw new RuntimeException("Exception in flush function", ioe);
+        }
+    }
+
+    /**
+     * Close the acceptor, writing any buffered data and flushing the {@link OutputStream}.
+     *
+     * @throws  Exception   if thrown by the superclass {@code close()} function
+     */
+    @Override
+    public void close() throws Exception {
+        flush();
+        super.close();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        index = 0;
+    }
+
+    private void writeBuffer() {
+        if (index > 0) {
+            write(buffer, 0, index);
+            index = 0;
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) {
+        try {
+            outputStream.write(bytes, offset, length);
+        }
+        catch (IOException ioe) {
+            throw new RuntimeException("Exception in write function", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * @(#) PipelineBuffer.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * The shared implementation of {@link PipelineInputStream} and {@link PipelineReader}:  the terminal acceptor of the
+ * pipeline, holding the output in a ring buffer (enlarged as necessary to hold the output from a block of input), along
+ * with the source from which the input is read in blocks to fill it.
+ *
+ * @author  Peter Wall
+ * @param   <T>     the array type of the ring buffer ({@code byte[]} or {@code char[]})
+ */
+abstract class PipelineBuffer<T> extends AbstractIntAcceptor<Void> {
+
+    private final InputStream inputStream;
+    private final Reader reader;
+    private final byte[] byteBuffer;
+    private final char[] charBuffer;
+    private IntAcceptor<Void> pipeline;
+    private T buffer;
+    private int capacity;
+    private int head;
+    private int count;
+
+    private PipelineBuffer(InputStream inputStream, Reader reader, T buffer, int bufferSize) {
+        this.inputStream = inputStream;
+        this.reader = reader;
+        byteBuffer = inputStream != null ? new byte[bufferSize] : null;
+        charBuffer = reader != null ? new char[bufferSize] : null;
+        this.buffer = buffer;
+        capacity = bufferSize;
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Create a {@code PipelineBuffer} holding bytes.
+     *
+     * @param   inputStream     the source {@link InputStream} (or {@code null} if the source is a {@link Reader})
+     * @param   reader          the source {@link Reader} (or {@code null} if the source is an {@link InputStream})
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     * @return                  the {@code PipelineBuffer}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    static PipelineBuffer<byte[]> ofBytes(InputStream inputStream, Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory, int bufferSize) {
+        checkBufferSize(bufferSize);
+        PipelineBuffer<byte[]> buffer = new Bytes(inputStream, reader, bufferSize);
+        return buffer.connect(pipelineFactory);
+    }
+
+    /**
+     * Create a {@code PipelineBuffer} holding characters.
+     *
+     * @param   inputStream     the source {@link InputStream} (or {@code null} if the source is a {@link Reader})
+     * @param   reader          the source {@link Reader} (or {@code null} if the source is an {@link InputStream})
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     * @return                  the {@code PipelineBuffer}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    static PipelineBuffer<char[]> ofChars(InputStream inputStream, Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory, int bufferSize) {
+        checkBufferSize(bufferSize);
+        PipelineBuffer<char[]> buffer = new Chars(inputStream, reader, bufferSize);
+        return buffer.connect(pipelineFactory);
+    }
+
+    private static void checkBufferSize(int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+    }
+
+    private PipelineBuffer<T> connect(Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory) {
+        pipeline = pipelineFactory.apply(this);
+        return this;
+    }
+
+    abstract T newArray(int length);
+
+    abstract int get(T array, int index);
+
+    abstract void set(T array, int index, int value);
+
+    @Override
+    public void acceptInt(int value) {
+        if (count == capacity)
+            enlarge(count + 1);
+        int tail = head + count;
+        if (tail >= capacity)
+            tail -= capacity;
+        set(buffer, tail, value);
+        count++;
+    }
+
+    /**
+     * Add a block of values (in an array of the same type as the ring buffer) to the ring buffer.
+     *
+     * @param   array       the array
+     * @param   offset      the starting offset
+     * @param   length      the number of values
+     */
+    void write(T array, int offset, int length) {
+        if (count + length > capacity)
+            enlarge(count + length);
+        int tail = head + count;
+        if (tail >= capacity)
+            tail -= capacity;
+        int n = Math.min(length, capacity - tail);
+        System.arraycopy(array, offset, buffer, tail, n);
+        System.arraycopy(array, offset + n, buffer, 0, length - n);
+        count += length;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Take a single value from the ring buffer (which must not be empty).
+     *
+     * @return  the value
+     */
+    int read() {
+        int result = get(buffer, head);
+        if (++head == capacity)
+            head = 0;
+        count--;
+        return result;
+    }
+
+    /**
+     * Take values from the ring buffer into a portion of an array.
+     *
+     * @param   array       the destination array
+     * @param   off         the offset at which to start storing values
+     * @param   len         the maximum number of values
+     * @return              the number of values taken
+     */
+    int read(T array, int off, int len) {
+        int result = Math.min(len, count);
+        int n = Math.min(result, capacity - head);
+        System.arraycopy(buffer, head, array, off, n);
+        System.arraycopy(buffer, 0, array, off + n, result - n);
+        skip(result);
+        return result;
+    }
+
+    int skip(int len) {
+        int result = Math.min(len, count);
+        head += result;
+        if (head >= capacity)
+            head -= capacity;
+        count -= result;
+        return result;
+    }
+
+    /**
+     * Ensure that there is data in the ring buffer, reading blocks from the source as required.
+     *
+     * @return              {@code true} if data is available, {@code false} at end of data
+     * @throws  IOException if thrown by the source
+     */
+    boolean fill() throws IOException {
+        while (count == 0) {
+            if (pipeline.isClosed())
+                return false;
+            if (inputStream != null) {
+                int n = inputStream.read(byteBuffer);
+                if (n < 0)
+                    pipeline.safeClose();
+                else if (n > 0)
+                    pipeline.acceptBlock(byteBuffer, 0, n);
+            }
+            else {
+                int n = reader.read(charBuffer);
+                if (n < 0)
+                    pipeline.safeClose();
+                else if (n > 0)
+                    pipeline.acceptBlock(charBuffer, 0, n);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Close the source {@link InputStream} or {@link Reader}.
+     *
+     * @throws  IOException if thrown by the source
+     */
+    void closeSource() throws IOException {
+        if (inputStream != null)
+            inputStream.close();
+        else
+            reader.close();
+    }
+
+    private void enlarge(int required) {
+        int newCapacity = Math.max(capacity << 1, required);
+        T newBuffer = newArray(newCapacity);
+        int n = Math.min(count, capacity - head);
+        System.arraycopy(buffer, head, newBuffer, 0, n);
+        System.arraycopy(buffer, 0, newBuffer, n, count - n);
+        buffer = newBuffer;
+        capacity = newCapacity;
+        head = 0;
+    }
+
+    private static class Bytes extends PipelineBuffer<byte[]> {
+
+        Bytes(InputStream inputStream, Reader reader, int bufferSize) {
+            super(inputStream, reader, new byte[bufferSize], bufferSize);
+        }
+
+        @Override
+        byte[] newArray(int length) {
+            return new byte[length];
+        }
+
+        @Override
+        int get(byte[] array, int index) {
+            return array[index] & 0xFF;
+        }
+
+        @Override
+        void set(byte[] array, int index, int value) {
+            array[index] = (byte)value;
+        }
+
+        @Override
+        public void acceptIntBlock(byte[] bytes, int offset, int length) {
+            write(bytes, offset, length);
+        }
+
+    }
+
+    private static class Chars extends PipelineBuffer<char[]> {
+
+        Chars(InputStream inputStream, Reader reader, int bufferSize) {
+            super(inputStream, reader, new char[bufferSize], bufferSize);
+        }
+
+        @Override
+        char[] newArray(int length) {
+            return new char[length];
+        }
+
+        @Override
+        int get(char[] array, int index) {
+            return array[index];
+        }
+
+        @Override
+        void set(char[] array, int index, int value) {
+            array[index] = (char)value;
+        }
+
+        @Override
+        public void acceptIntBlock(char[] chars, int offset, int length) {
+            write(chars, offset, length);
+        }
+
+    }
+
+}
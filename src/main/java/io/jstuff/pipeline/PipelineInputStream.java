@@ -0,0 +1,202 @@
+/*
+ * @(#) PipelineInputStream.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * An {@link InputStream} that reads data from a source {@link InputStream} or {@link Reader}, passes it through a
+ * pipeline, and returns the bytes output by the pipeline.  The source is read in blocks, and the output of the pipeline
+ * is held in an internal ring buffer until it is read.  This allows (for example) a transcoding stream to be supplied
+ * to code that expects an {@link InputStream}:
+ * <pre>
+ *     InputStream utf8Stream = new PipelineInputStream(windows1252Stream,
+ *             downstream -&gt; new Windows1252_UTF16&lt;&gt;(new UTF16_UTF8&lt;&gt;(downstream)));
+ * </pre>
+ * The pipeline is created by a function that takes the terminal acceptor (which stores bytes in the ring buffer) as
+ * its downstream acceptor.
+ *
+ * @author  Peter Wall
+ */
+public class PipelineInputStream extends InputStream {
+
+    public static final int DEFAULT_BUFFER_SIZE = IntAcceptor.DEFAULT_BUFFER_SIZE;
+
+    private final PipelineBuffer<byte[]> ringBuffer;
+    private boolean closed;
+
+    private PipelineInputStream(
+            InputStream inputStream,
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        ringBuffer = PipelineBuffer.ofBytes(inputStream, reader, pipelineFactory, bufferSize);
+        closed = false;
+    }
+
+    /**
+     * Construct a {@code PipelineInputStream} to read from an {@link InputStream}, with the specified buffer size.
+     *
+     * @param   inputStream     the source {@link InputStream}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     */
+    public PipelineInputStream(
+            InputStream inputStream,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        this(inputStream, null, pipelineFactory, bufferSize);
+    }
+
+    /**
+     * Construct a {@code PipelineInputStream} to read from an {@link InputStream}.
+     *
+     * @param   inputStream     the source {@link InputStream}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     */
+    public PipelineInputStream(
+            InputStream inputStream,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory
+    ) {
+        this(inputStream, null, pipelineFactory, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Construct a {@code PipelineInputStream} to read from a {@link Reader} (the pipeline will usually be an encoder),
+     * with the specified buffer size.
+     *
+     * @param   reader          the source {@link Reader}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     */
+    public PipelineInputStream(
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        this(null, reader, pipelineFactory, bufferSize);
+    }
+
+    /**
+     * Construct a {@code PipelineInputStream} to read from a {@link Reader} (the pipeline will usually be an encoder).
+     *
+     * @param   reader          the source {@link Reader}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     */
+    public PipelineInputStream(
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory
+    ) {
+        this(null, reader, pipelineFactory, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Read a single byte.
+     *
+     * @return              the byte (0 to 255), or -1 at end of data
+     * @throws  IOException if thrown by the source, or if the stream has been closed
+     */
+    @Override
+    public int read() throws IOException {
+        return fill() ? ringBuffer.read() : -1;
+    }
+
+    /**
+     * Read bytes into a portion of an array.  This method blocks only until some bytes are available; it will return
+     * fewer bytes than requested rather than read further blocks from the source.
+     *
+     * @param   b           the destination array
+     * @param   off         the offset at which to start storing bytes
+     * @param   len         the maximum number of bytes to read
+     * @return              the number of bytes read, or -1 at end of data
+     * @throws  IOException if thrown by the source, or if the stream has been closed
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (len == 0)
+            return 0;
+        return fill() ? ringBuffer.read(b, off, len) : -1;
+    }
+
+    /**
+     * Skip bytes.
+     *
+     * @param   n           the number of bytes to skip
+     * @return              the number of bytes skipped
+     * @throws  IOException if thrown by the source, or if the stream has been closed
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill())
+            skipped += ringBuffer.skip((int)Math.min(n - skipped, Integer.MAX_VALUE));
+        return skipped;
+    }
+
+    /**
+     * Get the number of bytes that may be read without reading further data from the source.
+     *
+     * @return              the number of bytes in the ring buffer
+     * @throws  IOException if the stream has been closed
+     */
+    @Override
+    public int available() throws IOException {
+        checkClosed();
+        return ringBuffer.count();
+    }
+
+    /**
+     * Close the stream, and the source {@link InputStream} or {@link Reader}.
+     *
+     * @throws  IOException if thrown by the source
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            ringBuffer.closeSource();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        checkClosed();
+        return ringBuffer.fill();
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+
+}
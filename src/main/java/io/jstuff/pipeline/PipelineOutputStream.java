@@ -0,0 +1,126 @@
+/*
+ * @(#) PipelineOutputStream.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that forwards the bytes written to it to an {@link IntAcceptor} (typically a pipeline).  This
+ * allows any code that writes to an {@link OutputStream} to pass its output directly through a pipeline.  Blocks of
+ * bytes are forwarded as blocks, and closing the stream closes the acceptor.
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type of the acceptor
+ */
+public class PipelineOutputStream<R> extends OutputStream {
+
+    private final IntAcceptor<? extends R> acceptor;
+
+    /**
+     * Construct a {@code PipelineOutputStream} to forward bytes to the given {@link IntAcceptor}.
+     *
+     * @param   acceptor    the {@link IntAcceptor}
+     */
+    public PipelineOutputStream(IntAcceptor<? extends R> acceptor) {
+        this.acceptor = acceptor;
+    }
+
+    /**
+     * Get the {@link IntAcceptor}.
+     *
+     * @return  the {@link IntAcceptor}
+     */
+    public IntAcceptor<? extends R> getAcceptor() {
+        return acceptor;
+    }
+
+    /**
+     * Write a byte.
+     *
+     * @param   b               the byte (the high-order 24 bits are ignored)
+     * @throws  IOException     if the stream has been closed
+     */
+    @Override
+    public void write(int b) throws IOException {
+        checkClosed();
+        acceptor.accept(b & 0xFF);
+    }
+
+    /**
+     * Write a portion of a byte array.  The bytes are forwarded to the acceptor as a single block.
+     *
+     * @param   b               the byte array
+     * @param   off             the offset of the first byte to write
+     * @param   len             the number of bytes to write
+     * @throws  IOException     if the stream has been closed
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        checkClosed();
+        if (len > 0)
+            acceptor.acceptBlock(b, off, len);
+    }
+
+    /**
+     * Flush the acceptor.
+     *
+     * @throws  IOException     if the stream has been closed
+     */
+    @Override
+    public void flush() throws IOException {
+        checkClosed();
+        acceptor.flush();
+    }
+
+    /**
+     * Close the stream, closing the acceptor (using {@link BaseAcceptor#safeClose() safeClose()}).  Closing a stream
+     * that is already closed has no effect.
+     */
+    @Override
+    public void close() {
+        if (!acceptor.isClosed())
+            acceptor.safeClose();
+    }
+
+    /**
+     * Get the result of the acceptor.
+     *
+     * @return  the result
+     */
+    public R getResult() {
+        return acceptor.getResult();
+    }
+
+    private void checkClosed() throws IOException {
+        if (acceptor.isClosed())
+            throw new IOException("Stream closed");
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * @(#) PipelineReader.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * A {@link Reader} that reads data from a source {@link InputStream} or {@link Reader}, passes it through a pipeline,
+ * and returns the characters output by the pipeline.  The source is read in blocks, and the output of the pipeline is
+ * held in an internal ring buffer until it is read.  This allows (for example) a decoding or escaping pipeline to be
+ * supplied to code that expects a {@link Reader}:
+ * <pre>
+ *     Reader reader = new PipelineReader(inputStream,
+ *             downstream -&gt; new UTF8_UTF16&lt;&gt;(new HTMLEncoder&lt;&gt;(downstream)));
+ * </pre>
+ * The pipeline is created by a function that takes the terminal acceptor (which stores characters in the ring buffer)
+ * as its downstream acceptor.
+ *
+ * @author  Peter Wall
+ */
+public class PipelineReader extends Reader {
+
+    public static final int DEFAULT_BUFFER_SIZE = IntAcceptor.DEFAULT_BUFFER_SIZE;
+
+    private final PipelineBuffer<char[]> ringBuffer;
+    private boolean closed;
+
+    private PipelineReader(
+            InputStream inputStream,
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        ringBuffer = PipelineBuffer.ofChars(inputStream, reader, pipelineFactory, bufferSize);
+        closed = false;
+    }
+
+    /**
+     * Construct a {@code PipelineReader} to read from an {@link InputStream} (the pipeline will usually be a decoder),
+     * with the specified buffer size.
+     *
+     * @param   inputStream     the source {@link InputStream}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     */
+    public PipelineReader(
+            InputStream inputStream,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        this(inputStream, null, pipelineFactory, bufferSize);
+    }
+
+    /**
+     * Construct a {@code PipelineReader} to read from an {@link InputStream} (the pipeline will usually be a decoder).
+     *
+     * @param   inputStream     the source {@link InputStream}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     */
+    public PipelineReader(
+            InputStream inputStream,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory
+    ) {
+        this(inputStream, null, pipelineFactory, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Construct a {@code PipelineReader} to read from a {@link Reader}, with the specified buffer size.
+     *
+     * @param   reader          the source {@link Reader}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     * @param   bufferSize      the size of the block to read from the source
+     */
+    public PipelineReader(
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory,
+            int bufferSize
+    ) {
+        this(null, reader, pipelineFactory, bufferSize);
+    }
+
+    /**
+     * Construct a {@code PipelineReader} to read from a {@link Reader}.
+     *
+     * @param   reader          the source {@link Reader}
+     * @param   pipelineFactory a function to create the pipeline, given the terminal acceptor
+     */
+    public PipelineReader(
+            Reader reader,
+            Function<IntAcceptor<Void>, ? extends IntAcceptor<Void>> pipelineFactory
+    ) {
+        this(null, reader, pipelineFactory, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Read a single character.
+     *
+     * @return              the character (0 to 0xFFFF), or -1 at end of data
+     * @throws  IOException if thrown by the source, or if the reader has been closed
+     */
+    @Override
+    public int read() throws IOException {
+        return fill() ? ringBuffer.read() : -1;
+    }
+
+    /**
+     * Read characters into a portion of an array.  This method blocks only until some characters are available; it
+     * will return fewer characters than requested rather than read further blocks from the source.
+     *
+     * @param   cbuf        the destination array
+     * @param   off         the offset at which to start storing characters
+     * @param   len         the maximum number of characters to read
+     * @return              the number of characters read, or -1 at end of data
+     * @throws  IOException if thrown by the source, or if the reader has been closed
+     */
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off)
+            throw new IndexOutOfBoundsException();
+        if (len == 0)
+            return 0;
+        return fill() ? ringBuffer.read(cbuf, off, len) : -1;
+    }
+
+    /**
+     * Skip characters.
+     *
+     * @param   n           the number of characters to skip
+     * @return              the number of characters skipped
+     * @throws  IOException if thrown by the source, or if the reader has been closed
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill())
+            skipped += ringBuffer.skip((int)Math.min(n - skipped, Integer.MAX_VALUE));
+        return skipped;
+    }
+
+    /**
+     * Tell whether the reader is ready to be read, that is, whether there are characters that may be read without
+     * reading further data from the source.
+     *
+     * @return              {@code true} if there are characters in the ring buffer
+     * @throws  IOException if the reader has been closed
+     */
+    @Override
+    public boolean ready() throws IOException {
+        checkClosed();
+        return ringBuffer.count() > 0;
+    }
+
+    /**
+     * Close the reader, and the source {@link InputStream} or {@link Reader}.
+     *
+     * @throws  IOException if thrown by the source
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            ringBuffer.closeSource();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        checkClosed();
+        return ringBuffer.fill();
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed)
+            throw new IOException("Reader closed");
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * @(#) PipelineWriter.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link Writer} that forwards the characters written to it to an {@link IntAcceptor} (typically a pipeline).  This
+ * allows any code that writes to a {@link Writer} to pass its output directly through a pipeline.  Blocks of characters
+ * are forwarded as blocks, and closing the writer closes the acceptor.
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type of the acceptor
+ */
+public class PipelineWriter<R> extends Writer {
+
+    public static final int BUFFER_SIZE = 1024;
+
+    private final IntAcceptor<? extends R> acceptor;
+    private char[] buffer;
+
+    /**
+     * Construct a {@code PipelineWriter} to forward characters to the given {@link IntAcceptor}.
+     *
+     * @param   acceptor    the {@link IntAcceptor}
+     */
+    public PipelineWriter(IntAcceptor<? extends R> acceptor) {
+        this.acceptor = acceptor;
+    }
+
+    /**
+     * Get the {@link IntAcceptor}.
+     *
+     * @return  the {@link IntAcceptor}
+     */
+    public IntAcceptor<? extends R> getAcceptor() {
+        return acceptor;
+    }
+
+    /**
+     * Write a single character.
+     *
+     * @param   c               the character (the high-order 16 bits are ignored)
+     * @throws  IOException     if the writer has been closed
+     */
+    @Override
+    public void write(int c) throws IOException {
+        checkClosed();
+        acceptor.accept(c & 0xFFFF);
+    }
+
+    /**
+     * Write a portion of a character array.  The characters are forwarded to the acceptor as a single block.
+     *
+     * @param   cbuf            the character array
+     * @param   off             the offset of the first character to write
+     * @param   len             the number of characters to write
+     * @throws  IOException     if the writer has been closed
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off)
+            throw new IndexOutOfBoundsException();
+        checkClosed();
+        if (len > 0)
+            acceptor.acceptBlock(cbuf, off, len);
+    }
+
+    /**
+     * Write a portion of a string.  The characters are copied to an internal buffer and forwarded to the acceptor in
+     * blocks.
+     *
+     * @param   str             the string
+     * @param   off             the offset of the first character to write
+     * @param   len             the number of characters to write
+     * @throws  IOException     if the writer has been closed
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > str.length() - off)
+            throw new IndexOutOfBoundsException();
+        checkClosed();
+        if (len > 0) {
+            char[] buf = buffer;
+            if (buf == null)
+                buffer = buf = new char[BUFFER_SIZE];
+            while (len > 0) {
+                int n = Math.min(len, BUFFER_SIZE);
+                str.getChars(off, off + n, buf, 0);
+                acceptor.acceptBlock(buf, 0, n);
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * Flush the acceptor.
+     *
+     * @throws  IOException     if the writer has been closed
+     */
+    @Override
+    public void flush() throws IOException {
+        checkClosed();
+        acceptor.flush();
+    }
+
+    /**
+     * Close the writer, closing the acceptor (using {@link BaseAcceptor#safeClose() safeClose()}).  Closing a writer
+     * that is already closed has no effect.
+     */
+    @Override
+    public void close() {
+        if (!acceptor.isClosed())
+            acceptor.safeClose();
+    }
+
+    /**
+     * Get the result of the acceptor.
+     *
+     * @return  the result
+     */
+    public R getResult() {
+        return acceptor.getResult();
+    }
+
+    private void checkClosed() throws IOException {
+        if (acceptor.isClosed())
+            throw new IOException("Writer closed");
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) Pipelines.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,6 +30,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import io.jstuff.util.IntOutput;
 
@@ -40,28 +43,109 @@ import io.jstuff.util.IntOutput;
  */
 public class Pipelines {
 
+    public static final int DEFAULT_BUFFER_SIZE = IntAcceptor.DEFAULT_BUFFER_SIZE;
+    public static final int DEFAULT_MAPPING_SIZE = 64 * 1024 * 1024;
+
     public static <R> R process(Reader reader, IntAcceptor<R> downstream) throws IOException {
-        while (true) {
-            int i = reader.read();
-            downstream.accept(i);
-            if (i < 0)
-                break;
-        }
+        return process(reader, downstream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Process the contents of a {@link Reader}, reading the data in blocks of the specified size and passing each
+     * block to the downstream {@link IntAcceptor}.  The end of data is signalled to the acceptor after the last block.
+     *
+     * @param   reader          the {@link Reader}
+     * @param   downstream      the {@link IntAcceptor}
+     * @param   bufferSize      the size of the buffer to use for each read
+     * @param   <R>             the result type
+     * @return                  the result of the acceptor
+     * @throws  IOException     if thrown by the {@link Reader}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    public static <R> R process(Reader reader, IntAcceptor<R> downstream, int bufferSize) throws IOException {
+        downstream.accept(reader, bufferSize);
+        downstream.accept(-1);
         return downstream.getResult();
     }
 
     public static <R> R process(InputStream inputStream, IntAcceptor<R> downstream) throws IOException {
-        while (true) {
-            int i = inputStream.read();
-            downstream.accept(i);
-            if (i < 0)
-                break;
-        }
+        return process(inputStream, downstream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Process the contents of an {@link InputStream}, reading the data in blocks of the specified size and passing
+     * each block to the downstream {@link IntAcceptor}.  The end of data is signalled to the acceptor after the last
+     * block.
+     *
+     * @param   inputStream     the {@link InputStream}
+     * @param   downstream      the {@link IntAcceptor}
+     * @param   bufferSize      the size of the buffer to use for each read
+     * @param   <R>             the result type
+     * @return                  the result of the acceptor
+     * @throws  IOException     if thrown by the {@link InputStream}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    public static <R> R process(InputStream inputStream, IntAcceptor<R> downstream, int bufferSize)
+            throws IOException {
+        downstream.accept(inputStream, bufferSize);
+        downstream.accept(-1);
         return downstream.getResult();
     }
 
     public static <R> R process(File file, IntAcceptor<R> downstream) throws IOException {
-        return process(new FileInputStream(file), downstream);
+        return process(file, downstream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Process the contents of a {@link File}, reading the data in blocks of the specified size.  The file is closed
+     * on completion.
+     *
+     * @param   file            the {@link File}
+     * @param   downstream      the {@link IntAcceptor}
+     * @param   bufferSize      the size of the buffer to use for each read
+     * @param   <R>             the result type
+     * @return                  the result of the acceptor
+     * @throws  IOException     if thrown when reading the {@link File}
+     * @throws  IllegalArgumentException    if the buffer size is not positive
+     */
+    public static <R> R process(File file, IntAcceptor<R> downstream, int bufferSize) throws IOException {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return process(inputStream, downstream, bufferSize);
+        }
+    }
+
+    public static <R> R process(Path path, IntAcceptor<R> downstream) throws IOException {
+        return process(path, downstream, DEFAULT_MAPPING_SIZE);
+    }
+
+    /**
+     * Process the contents of a file by mapping it into memory in windows of the specified size, and passing each
+     * mapped {@link java.nio.ByteBuffer ByteBuffer} to the downstream {@link IntAcceptor}.  This avoids copying the
+     * data into the heap, and is most effective when the acceptor handles {@link java.nio.ByteBuffer ByteBuffer} input
+     * natively.  The end of data is signalled to the acceptor after the last window.
+     *
+     * @param   path            the {@link Path} of the file
+     * @param   downstream      the {@link IntAcceptor}
+     * @param   mappingSize     the maximum size of each mapped window
+     * @param   <R>             the result type
+     * @return                  the result of the acceptor
+     * @throws  IOException     if thrown when opening or mapping the file
+     * @throws  IllegalArgumentException    if the mapping size is not positive
+     */
+    public static <R> R process(Path path, IntAcceptor<R> downstream, int mappingSize) throws IOException {
+        if (mappingSize <= 0)
+            throw new IllegalArgumentException("Illegal mapping size " + mappingSize);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += mappingSize) {
+                long length = Math.min(mappingSize, size - position);
+                downstream.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        downstream.accept(-1);
+        return downstream.getResult();
     }
 
     public static <A, R> R process(Iterable<A> iterable, Acceptor<A, R> downstream) {
@@ -0,0 +1,237 @@
+/*
+ * @(#) SegmentedByteArrayAcceptor.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link IntAcceptor} that accumulates bytes in a list of segments.  Each new segment is twice the size of the
+ * previous one (up to {@link #MAX_SEGMENT_SIZE}), and data already stored is never copied as the acceptor grows, so this
+ * class is suitable for very large outputs.  The data may be obtained as a single {@code byte[]} (the only operation
+ * that copies the entire content), as an array of read-only {@link ByteBuffer}s, as an {@link InputStream}, or by
+ * writing it to an {@link OutputStream} or a {@link WritableByteChannel}.
+ *
+ * @author  Peter Wall
+ */
+public class SegmentedByteArrayAcceptor extends AbstractIntAcceptor<byte[]> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 256;
+    public static final int MAX_SEGMENT_SIZE = 1024 * 1024;
+
+    private final List<byte[]> segments;
+    private byte[] segment;
+    private int index;
+    private long completedLength;
+
+    public SegmentedByteArrayAcceptor(int initialCapacity) {
+        segments = new ArrayList<>();
+        segment = new byte[Math.max(initialCapacity, 16)];
+        segments.add(segment);
+        index = 0;
+        completedLength = 0;
+    }
+
+    public SegmentedByteArrayAcceptor() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (index == segment.length)
+            nextSegment();
+        segment[index++] = (byte)value;
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (index == segment.length)
+                nextSegment();
+            int n = Math.min(length, segment.length - index);
+            System.arraycopy(bytes, offset, segment, index, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Accept a {@link ByteBuffer}.  The remaining bytes are copied into the segments in bulk.
+     *
+     * @param   byteBuffer      the {@link ByteBuffer}
+     */
+    @Override
+    public void accept(ByteBuffer byteBuffer) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        int length = byteBuffer.remaining();
+        while (length > 0) {
+            if (index == segment.length)
+                nextSegment();
+            int n = Math.min(length, segment.length - index);
+            byteBuffer.get(segment, index, n);
+            index += n;
+            length -= n;
+        }
+    }
+
+    private void nextSegment() {
+        completedLength += index;
+        segment = new byte[Math.min(segment.length << 1, MAX_SEGMENT_SIZE)];
+        segments.add(segment);
+        index = 0;
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  Only the first segment is retained.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        segment = segments.get(0);
+        segments.clear();
+        segments.add(segment);
+        index = 0;
+        completedLength = 0;
+    }
+
+    /**
+     * Get the total number of bytes accepted.
+     *
+     * @return  the length
+     */
+    public long length() {
+        return completedLength + index;
+    }
+
+    /**
+     * Get the number of segments in use.
+     *
+     * @return  the number of segments
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Get the result as a single byte array.  This copies the entire content.
+     *
+     * @return  the bytes
+     * @throws  IllegalStateException  if the content is too large for a single array
+     */
+    @Override
+    public byte[] getResult() {
+        long length = length();
+        if (length > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Content too large for byte array");
+        byte[] result = new byte[(int)length];
+        int offset = 0;
+        int last = segments.size() - 1;
+        for (int i = 0; i < last; i++) {
+            byte[] bytes = segments.get(i);
+            System.arraycopy(bytes, 0, result, offset, bytes.length);
+            offset += bytes.length;
+        }
+        System.arraycopy(segment, 0, result, offset, index);
+        return result;
+    }
+
+    /**
+     * Get the content as an array of read-only {@link ByteBuffer}s, one per segment, without copying.  The buffers share
+     * storage with the acceptor, so they remain valid only until the acceptor is reset.
+     *
+     * @return  the {@link ByteBuffer} array
+     */
+    public ByteBuffer[] getByteBuffers() {
+        int n = segments.size();
+        ByteBuffer[] result = new ByteBuffer[n];
+        for (int i = 0; i < n - 1; i++)
+            result[i] = ByteBuffer.wrap(segments.get(i)).asReadOnlyBuffer();
+        result[n - 1] = ByteBuffer.wrap(segment, 0, index).asReadOnlyBuffer();
+        return result;
+    }
+
+    /**
+     * Get an {@link InputStream} to read the content, without copying.
+     *
+     * @return  the {@link InputStream}
+     */
+    public InputStream getInputStream() {
+        int n = segments.size();
+        List<InputStream> streams = new ArrayList<>(n);
+        for (int i = 0; i < n - 1; i++)
+            streams.add(new ByteArrayInputStream(segments.get(i)));
+        streams.add(new ByteArrayInputStream(segment, 0, index));
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /**
+     * Write the content to an {@link OutputStream}.
+     *
+     * @param   outputStream    the {@link OutputStream}
+     * @throws  IOException     on any errors writing to the {@link OutputStream}
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        int last = segments.size() - 1;
+        for (int i = 0; i < last; i++)
+            outputStream.write(segments.get(i));
+        outputStream.write(segment, 0, index);
+    }
+
+    /**
+     * Write the content to a {@link WritableByteChannel}.  If the channel is a {@link GatheringByteChannel}, the
+     * segments are written in a single gathering operation.
+     *
+     * @param   channel         the {@link WritableByteChannel}
+     * @throws  IOException     on any errors writing to the {@link WritableByteChannel}
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer[] buffers = getByteBuffers();
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gatheringChannel = (GatheringByteChannel)channel;
+            long remaining = length();
+            while (remaining > 0)
+                remaining -= gatheringChannel.write(buffers);
+        }
+        else {
+            for (ByteBuffer buffer : buffers)
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+        }
+    }
+
+}
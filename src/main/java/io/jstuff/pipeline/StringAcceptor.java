@@ -2,7 +2,7 @@
  * @(#) StringAcceptor.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020 Peter Wall
+ * Copyright (c) 2020, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,6 +33,7 @@ package io.jstuff.pipeline;
 public class StringAcceptor extends AbstractIntAcceptor<String> {
 
     public static final int DEFAULT_INITIAL_CAPACITY = 20;
+    public static final int MAX_RETAINED_CAPACITY = 64 * 1024;
 
     private final StringBuilder stringBuilder;
 
@@ -53,6 +54,23 @@ public class StringAcceptor extends AbstractIntAcceptor<String> {
         stringBuilder.append((char)value);
     }
 
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        stringBuilder.append(chars, offset, length);
+    }
+
+    /**
+     * Reset the acceptor to its initial state.  The {@link StringBuilder} is cleared, and if its capacity has grown
+     * beyond {@link #MAX_RETAINED_CAPACITY} the storage is released.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        stringBuilder.setLength(0);
+        if (stringBuilder.capacity() > MAX_RETAINED_CAPACITY)
+            stringBuilder.trimToSize();
+    }
+
     @Override
     public String getResult() {
         return stringBuilder.toString();
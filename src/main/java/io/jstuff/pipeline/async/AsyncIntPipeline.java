@@ -0,0 +1,292 @@
+/*
+ * @(#) AsyncIntPipeline.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import io.jstuff.pipeline.AbstractIntPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.jfr.PipelineEvents;
+
+/**
+ * An asynchronous {@link io.jstuff.pipeline.IntPipeline IntPipeline} stage.  Values accepted by this stage (on the
+ * producer thread) are placed in a pre-allocated {@code int} ring buffer, and a consumer task (running on a separate
+ * thread, or on a supplied {@link Executor}) passes them to the downstream acceptor, in blocks.  This allows the stages
+ * before and after this stage to run in parallel on different cores.
+ *
+ * <p>The ring buffer is single-producer / single-consumer:  only one thread may pass data to this stage at any one
+ * time, and the downstream acceptors are called only from the consumer task.  When the ring buffer is full, the
+ * producer waits for the consumer to free space (backpressure); the {@link WaitStrategy} determines how the producer
+ * and the consumer wait.</p>
+ *
+ * <p>A {@code flush()} is passed to the downstream acceptor after the values accepted before it have been processed.
+ * {@code close()} waits for the consumer to process the remaining values and to close the downstream acceptor;
+ * alternatively, {@link #closeAsync()} returns a {@link CompletableFuture} which will be completed with the result of
+ * the downstream acceptor.  An exception in the downstream acceptors is reported to the producer (wrapped in a
+ * {@link RuntimeException}) when it next waits for space in the ring buffer, or when it closes the stage.</p>
+ *
+ * <p>The consumer task is started when the first value (or a {@code flush()} or {@code close()}) is passed to the
+ * stage.  A stage that is to be discarded before it has been closed should be cancelled using {@link #cancel()}, so
+ * that the consumer does not wait indefinitely for more data.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class AsyncIntPipeline<R> extends AbstractIntPipeline<R> {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private final RingControl<R> control;
+    private final int[] ring;
+
+    /**
+     * Construct an {@code AsyncIntPipeline} with the given downstream {@link IntAcceptor}, ring buffer capacity
+     * (rounded up to a power of 2), {@link WaitStrategy} and {@link Executor}.
+     *
+     * @param   downstream      the downstream {@link IntAcceptor}
+     * @param   capacity        the capacity of the ring buffer
+     * @param   waitStrategy    the {@link WaitStrategy}
+     * @param   executor        the {@link Executor} to run the consumer task, or {@code null} to use a new thread
+     * @throws  IllegalArgumentException    if the capacity is not positive
+     */
+    public AsyncIntPipeline(IntAcceptor<? extends R> downstream, int capacity, WaitStrategy waitStrategy,
+            Executor executor) {
+        super(downstream);
+        control = new RingControl<>(capacity, waitStrategy, executor, this::runConsumer);
+        ring = new int[control.getCapacity()];
+    }
+
+    /**
+     * Construct an {@code AsyncIntPipeline} with the given downstream {@link IntAcceptor}, ring buffer capacity and
+     * {@link WaitStrategy}, running the consumer on a new thread.
+     *
+     * @param   downstream      the downstream {@link IntAcceptor}
+     * @param   capacity        the capacity of the ring buffer
+     * @param   waitStrategy    the {@link WaitStrategy}
+     * @throws  IllegalArgumentException    if the capacity is not positive
+     */
+    public AsyncIntPipeline(IntAcceptor<? extends R> downstream, int capacity, WaitStrategy waitStrategy) {
+        this(downstream, capacity, waitStrategy, null);
+    }
+
+    /**
+     * Construct an {@code AsyncIntPipeline} with the given downstream {@link IntAcceptor}, using the default capacity
+     * and {@link WaitStrategy}, and running the consumer on a new thread.
+     *
+     * @param   downstream      the downstream {@link IntAcceptor}
+     */
+    public AsyncIntPipeline(IntAcceptor<? extends R> downstream) {
+        this(downstream, DEFAULT_CAPACITY, WaitStrategy.DEFAULT, null);
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        ring[control.awaitSpace()] = value;
+        control.publish(1);
+    }
+
+    @Override
+    public void acceptIntBlock(int[] values, int offset, int length) {
+        while (length > 0) {
+            int index = control.awaitSpace();
+            int n = Math.min(length, control.contiguousSpace());
+            System.arraycopy(values, offset, ring, index, n);
+            control.publish(n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int index = control.awaitSpace();
+            int n = Math.min(length, control.contiguousSpace());
+            for (int i = 0; i < n; i++)
+                ring[index + i] = bytes[offset + i] & 0xFF;
+            control.publish(n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        while (length > 0) {
+            int index = control.awaitSpace();
+            int n = Math.min(length, control.contiguousSpace());
+            for (int i = 0; i < n; i++)
+                ring[index + i] = chars[offset + i];
+            control.publish(n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Request a flush of the downstream acceptor, after the values accepted so far have been processed.
+     */
+    @Override
+    public void flush() {
+        control.requestFlush();
+    }
+
+    /**
+     * Return {@code true} if the stage is closed (no further values may be accepted, although the consumer may still
+     * be processing values).
+     *
+     * @return  {@code true} if the stage is closed
+     */
+    @Override
+    public boolean isClosed() {
+        return control.isEndOfData();
+    }
+
+    /**
+     * Return {@code true} if all sequences in the input are complete.  The downstream acceptors may be examined only
+     * after the consumer has finished, so until then this returns {@code true}.
+     *
+     * @return  {@code true} if the input is in the "complete" state
+     */
+    @Override
+    public boolean isComplete() {
+        return !control.getFuture().isDone() || getDownstream().isComplete();
+    }
+
+    /**
+     * Close the stage, and wait for the consumer to process the remaining values and to close the downstream acceptor.
+     *
+     * @throws  RuntimeException    if the consumer failed
+     */
+    @Override
+    public void close() {
+        closeAsync();
+        control.awaitCompletion();
+        control.checkFailure();
+    }
+
+    /**
+     * Close the stage without waiting for the consumer to finish.
+     *
+     * @return  a {@link CompletableFuture} which will be completed with the result of the downstream acceptor
+     */
+    public CompletableFuture<R> closeAsync() {
+        if (!control.isEndOfData()) {
+            control.signalEndOfData();
+            PipelineEvents.stageClosed(this);
+        }
+        return control.getFuture();
+    }
+
+    /**
+     * Cancel the stage:  the consumer stops without processing any remaining values or closing the downstream
+     * acceptor, no further values are accepted, and the {@link CompletableFuture} is cancelled when the consumer has
+     * stopped.  Unlike the other functions, this may be called from any thread; it does not wait for the consumer.  A
+     * producer waiting for space in the ring buffer at the time will throw a
+     * {@link java.util.concurrent.CancellationException CancellationException}.
+     */
+    public void cancel() {
+        boolean open = !control.isEndOfData();
+        control.cancel();
+        if (open)
+            PipelineEvents.stageClosed(this);
+    }
+
+    /**
+     * Get a {@link CompletableFuture} which will be completed with the result of the downstream acceptor when the
+     * stage has been closed and the consumer has finished.
+     *
+     * @return  the {@link CompletableFuture}
+     */
+    public CompletableFuture<R> getFuture() {
+        return control.getFuture();
+    }
+
+    /**
+     * Get the result of the downstream acceptor.
+     *
+     * @return  the result
+     * @throws  IllegalStateException   if the stage has not been closed
+     * @throws  RuntimeException        if the consumer failed
+     * @throws  java.util.concurrent.CancellationException  if the stage was cancelled
+     */
+    @Override
+    public R getResult() {
+        return control.getResult();
+    }
+
+    /**
+     * Reset the stage and the downstream acceptors to their initial state.  If the consumer is still running, it is
+     * stopped (without closing the downstream acceptor) before the reset.
+     */
+    @Override
+    public void reset() {
+        control.abandon();
+        super.reset();
+        control.reset();
+    }
+
+    private void runConsumer() {
+        try {
+            while (true) {
+                int n = control.awaitData();
+                if (n == 0)
+                    break;
+                if (n > 0) {
+                    emitBlock(ring, control.consumerIndex(), n);
+                    control.release(n);
+                }
+                if (control.takeFlush())
+                    getDownstream().flush();
+            }
+            if (control.isAbandoned()) {
+                control.completeAbandoned();
+                return;
+            }
+            getDownstream().safeClose();
+        }
+        catch (Throwable t) {
+            control.completeExceptionally(t, true);
+            return;
+        }
+        R result;
+        try {
+            result = getDownstream().getResult();
+        }
+        catch (Throwable t) {
+            control.completeExceptionally(t, false);
+            return;
+        }
+        control.complete(result);
+    }
+
+}
@@ -0,0 +1,404 @@
+/*
+ * @(#) RingControl.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The sequence counters and life cycle of the single-producer / single-consumer ring buffer used by
+ * {@link AsyncIntPipeline} and {@link AsyncPipeline}.  The producer and the consumer each own one counter, which only
+ * they update (using an ordered store), and each keeps a private copy of the other's counter, re-reading it only when
+ * the ring appears full (producer) or empty (consumer).
+ *
+ * <p>The consumer task is started when the producer first uses the ring buffer, not when the stage is constructed.
+ * With the {@link WaitStrategy.Park} strategy, an idle consumer sets a flag and parks until the producer (or a
+ * cancellation) unparks it; the producer then publishes its counter with a volatile store, so that it is guaranteed to
+ * see the flag.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+class RingControl<R> {
+
+    private static final int NO_DATA = -2;
+
+    private final int capacity;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final boolean parking;
+    private final Executor executor;
+    private final Runnable consumer;
+    private final AtomicBoolean launched = new AtomicBoolean();
+    private final Sequence head = new Sequence();
+    private final Sequence tail = new Sequence();
+    private long producerTail;
+    private long producerCachedHead;
+    private boolean started;
+    private long consumerHead;
+    private long consumerCachedTail;
+    private long flushed;
+    private volatile long flushTarget;
+    private volatile boolean endOfData;
+    private volatile boolean abandoned;
+    private volatile boolean cancelled;
+    private volatile boolean consumerWaiting;
+    private volatile Thread consumerThread;
+    private volatile Throwable failure;
+    private volatile CompletableFuture<R> future;
+
+    RingControl(int capacity, WaitStrategy waitStrategy, Executor executor, Runnable consumer) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity < 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = this.capacity - 1;
+        this.waitStrategy = waitStrategy;
+        parking = waitStrategy instanceof WaitStrategy.Park;
+        this.executor = executor;
+        this.consumer = consumer;
+        reset();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Reset to the initial state, ready for a new consumer task (the previous task, if any, must have finished).  The
+     * task is not started until the producer first uses the ring buffer.
+     */
+    void reset() {
+        head.set(0);
+        tail.set(0);
+        producerTail = 0;
+        producerCachedHead = 0;
+        started = false;
+        consumerHead = 0;
+        consumerCachedTail = 0;
+        flushed = 0;
+        flushTarget = 0;
+        failure = null;
+        abandoned = false;
+        cancelled = false;
+        consumerWaiting = false;
+        consumerThread = null;
+        endOfData = false;
+        future = new CompletableFuture<>();
+        launched.set(false);
+    }
+
+    private void start() {
+        started = true;
+        if (launched.compareAndSet(false, true)) {
+            if (executor != null)
+                executor.execute(consumer);
+            else {
+                Thread thread = new Thread(consumer, "pipeline-consumer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    // producer side
+
+    /**
+     * Wait until there is space in the ring buffer, applying backpressure to the producer.
+     *
+     * @return  the index in the ring buffer of the next free slot
+     * @throws  RuntimeException    if the consumer has failed
+     * @throws  CancellationException   if the pipeline is cancelled while waiting
+     * @throws  IllegalStateException   if the consumer is abandoned while waiting
+     */
+    int awaitSpace() {
+        if (!started)
+            start();
+        if (producerTail - producerCachedHead >= capacity) {
+            int count = 0;
+            while (true) {
+                producerCachedHead = head.get();
+                if (producerTail - producerCachedHead < capacity)
+                    break;
+                checkFailure();
+                checkAbandoned();
+                waitStrategy.idle(count++);
+            }
+        }
+        return (int)producerTail & mask;
+    }
+
+    /**
+     * Get the number of slots that may be filled in a single operation, starting at the index returned by
+     * {@link #awaitSpace()} (without wrapping round the end of the ring buffer).
+     *
+     * @return  the number of slots
+     */
+    int contiguousSpace() {
+        int index = (int)producerTail & mask;
+        return (int)Math.min(capacity - (producerTail - producerCachedHead), capacity - index);
+    }
+
+    /**
+     * Make the given number of values available to the consumer.
+     *
+     * @param   n       the number of values
+     */
+    void publish(int n) {
+        producerTail += n;
+        if (parking) {
+            tail.set(producerTail);
+            wakeConsumer();
+        }
+        else
+            tail.lazySet(producerTail);
+    }
+
+    /**
+     * Request a flush of the downstream acceptor, once the values published so far have been processed.  The flush
+     * target is stored as the producer counter plus one, so that a flush requested before any data can be recognised.
+     */
+    void requestFlush() {
+        if (!started)
+            start();
+        flushTarget = producerTail + 1;
+        wakeConsumer();
+    }
+
+    void signalEndOfData() {
+        if (!started)
+            start();
+        endOfData = true;
+        wakeConsumer();
+    }
+
+    boolean isEndOfData() {
+        return endOfData;
+    }
+
+    /**
+     * Stop the consumer (if it is still running) without closing the downstream acceptor, and wait for it to finish.
+     */
+    void abandon() {
+        stop(false);
+        awaitCompletion();
+    }
+
+    /**
+     * Stop the consumer (if it is still running) without closing the downstream acceptor, and reject any further
+     * values.  The future is cancelled when the consumer has finished.  This may be called from any thread, and does
+     * not wait for the consumer.
+     */
+    void cancel() {
+        endOfData = true;
+        stop(true);
+    }
+
+    private void stop(boolean cancel) {
+        if (cancel)
+            cancelled = true;
+        abandoned = true;
+        if (launched.compareAndSet(false, true))
+            completeAbandoned(); // the consumer was never started
+        else
+            wakeConsumer();
+    }
+
+    /**
+     * Wait for the consumer to finish.
+     */
+    void awaitCompletion() {
+        future.handle((result, throwable) -> null).join();
+    }
+
+    /**
+     * Throw an exception if the consumer has failed.
+     *
+     * @throws  RuntimeException    if the consumer has failed
+     */
+    void checkFailure() {
+        Throwable throwable = failure;
+        if (throwable != null)
+            throw new RuntimeException("Exception in consumer thread", throwable);
+    }
+
+    private void checkAbandoned() {
+        if (abandoned) {
+            if (cancelled)
+                throw new CancellationException("Pipeline cancelled");
+            throw new IllegalStateException("Pipeline reset before completion");
+        }
+    }
+
+    CompletableFuture<R> getFuture() {
+        return future;
+    }
+
+    /**
+     * Get the result of the downstream acceptor, after the consumer has completed.
+     *
+     * @return  the result
+     * @throws  IllegalStateException   if the pipeline has not been closed
+     * @throws  RuntimeException        if the consumer has failed, or if thrown by the downstream {@code getResult()}
+     * @throws  CancellationException  if the pipeline has been cancelled
+     */
+    R getResult() {
+        if (!endOfData)
+            throw new IllegalStateException("Pipeline is not closed");
+        try {
+            return future.join();
+        }
+        catch (CompletionException ce) {
+            Throwable cause = ce.getCause();
+            if (cause instanceof RuntimeException && failure == null)
+                throw (RuntimeException)cause; // exception from getResult()
+            throw new RuntimeException("Exception in consumer thread", cause);
+        }
+    }
+
+    // consumer side
+
+    /**
+     * Wait for data to be available in the ring buffer.
+     *
+     * @return  the number of values available at the index returned by {@link #consumerIndex()} (without wrapping
+     *          round the end of the ring buffer), -1 if a flush is due, or 0 if the end of data has been reached or the
+     *          consumer has been abandoned
+     */
+    int awaitData() {
+        int count = 0;
+        int n;
+        while ((n = pollData()) == NO_DATA) {
+            if (!parking || count < WaitStrategy.YIELD_LIMIT)
+                waitStrategy.idle(count++);
+            else if (!consumerWaiting) {
+                consumerThread = Thread.currentThread();
+                consumerWaiting = true; // check again before parking, in case the producer did not see the flag
+            }
+            else
+                LockSupport.park(this);
+        }
+        if (consumerWaiting)
+            consumerWaiting = false;
+        return n;
+    }
+
+    private int pollData() {
+        if (abandoned)
+            return 0;
+        if (consumerCachedTail == consumerHead)
+            consumerCachedTail = tail.get();
+        if (consumerCachedTail > consumerHead) {
+            int index = (int)consumerHead & mask;
+            return (int)Math.min(consumerCachedTail - consumerHead, capacity - index);
+        }
+        if (isFlushDue())
+            return -1;
+        if (endOfData) {
+            consumerCachedTail = tail.get();
+            if (consumerCachedTail == consumerHead)
+                return 0;
+        }
+        return NO_DATA;
+    }
+
+    int consumerIndex() {
+        return (int)consumerHead & mask;
+    }
+
+    /**
+     * Release the given number of slots (after the values have been processed) for re-use by the producer.
+     *
+     * @param   n       the number of slots
+     */
+    void release(int n) {
+        consumerHead += n;
+        head.lazySet(consumerHead);
+    }
+
+    /**
+     * Test whether a flush is due, that is, all the values published before the latest flush request have been
+     * processed.  If it is, the flush is marked as done.
+     *
+     * @return  {@code true} if the downstream acceptor is to be flushed
+     */
+    boolean takeFlush() {
+        if (!isFlushDue())
+            return false;
+        flushed = flushTarget;
+        return true;
+    }
+
+    boolean isAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Complete the future after the consumer has been stopped by {@link #abandon()} or {@link #cancel()}.
+     */
+    void completeAbandoned() {
+        if (cancelled)
+            future.cancel(false);
+        else
+            future.completeExceptionally(new IllegalStateException("Pipeline reset before completion"));
+    }
+
+    void complete(R result) {
+        future.complete(result);
+    }
+
+    void completeExceptionally(Throwable throwable, boolean consumerFailure) {
+        if (consumerFailure)
+            failure = throwable;
+        future.completeExceptionally(throwable);
+    }
+
+    private void wakeConsumer() {
+        if (consumerWaiting)
+            LockSupport.unpark(consumerThread);
+    }
+
+    private boolean isFlushDue() {
+        long target = flushTarget;
+        return target > flushed && consumerHead >= target - 1;
+    }
+
+    /**
+     * An {@link AtomicLong} padded to reduce false sharing between the producer and consumer counters.
+     */
+    @SuppressWarnings("unused")
+    private static class Sequence extends AtomicLong {
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+    }
+
+}
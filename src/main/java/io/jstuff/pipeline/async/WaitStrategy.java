@@ -0,0 +1,109 @@
+/*
+ * @(#) WaitStrategy.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.async;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The strategy to be adopted by the producer or consumer thread of an asynchronous pipeline stage while waiting for
+ * space in the ring buffer (producer) or for data (consumer).
+ *
+ * <ul>
+ *   <li>{@link #SPIN}:  busy-wait, giving the lowest latency at the cost of occupying a core</li>
+ *   <li>{@link #YIELD}:  busy-wait briefly, then yield the processor between checks</li>
+ *   <li>{@link #PARK}:  busy-wait briefly, then yield, then park the thread (the default); the producer parks for a
+ *   short period between checks, and the consumer parks until it is unparked by the producer</li>
+ * </ul>
+ *
+ * @author  Peter Wall
+ */
+public interface WaitStrategy {
+
+    WaitStrategy SPIN = new Spin();
+    WaitStrategy YIELD = new Yield();
+    WaitStrategy PARK = new Park();
+    WaitStrategy DEFAULT = PARK;
+
+    int SPIN_LIMIT = 100;
+    int YIELD_LIMIT = 200;
+
+    /**
+     * Wait briefly before the condition is checked again.
+     *
+     * @param   count   the number of times this function has already been called while waiting for the current
+     *                  condition
+     */
+    void idle(int count);
+
+    class Spin implements WaitStrategy {
+
+        @Override
+        public void idle(int count) {
+            // check again immediately
+        }
+
+    }
+
+    class Yield implements WaitStrategy {
+
+        @Override
+        public void idle(int count) {
+            if (count >= SPIN_LIMIT)
+                Thread.yield();
+        }
+
+    }
+
+    class Park implements WaitStrategy {
+
+        private final long parkNanos;
+
+        public Park(long parkNanos) {
+            if (parkNanos <= 0)
+                throw new IllegalArgumentException("Park time must be positive");
+            this.parkNanos = parkNanos;
+        }
+
+        public Park() {
+            this(50_000);
+        }
+
+        public long getParkNanos() {
+            return parkNanos;
+        }
+
+        @Override
+        public void idle(int count) {
+            if (count >= YIELD_LIMIT)
+                LockSupport.parkNanos(parkNanos);
+            else if (count >= SPIN_LIMIT)
+                Thread.yield();
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * @(#) package-info.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+/**
+ * <h1>Asynchronous pipelines</h1>
+ *
+ * <p>Pipeline stages that pass data from one thread to another, using a pre-allocated single-producer /
+ * single-consumer ring buffer.  An {@link io.jstuff.pipeline.async.AsyncIntPipeline AsyncIntPipeline} (using an
+ * {@code int} array) or {@link io.jstuff.pipeline.async.AsyncPipeline AsyncPipeline} (for objects) may be inserted at
+ * any point in a chain to allow the stages on either side of it to run concurrently; a
+ * {@link io.jstuff.pipeline.async.WaitStrategy WaitStrategy} controls how the threads wait when the ring buffer is full
+ * or empty.</p>
+ *
+ * @author  Peter Wall
+ */
+
+package io.jstuff.pipeline.async;
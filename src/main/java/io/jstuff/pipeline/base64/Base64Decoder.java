@@ -2,7 +2,7 @@
  * @(#) Base64Decoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023 Peter Wall
+ * Copyright (c) 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,6 +27,7 @@ package io.jstuff.pipeline.base64;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -79,6 +80,11 @@ public class Base64Decoder<R> extends ErrorHandlingIntPipeline<R> {
         decodingArray['\t'] = (byte)WHITESPACE_MARKER;
     }
 
+    private static final IntAcceptorPool<byte[]> bytePool =
+            new IntAcceptorPool<>(() -> new Base64Decoder<>(new ByteArrayAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+    private static final IntAcceptorPool<String> stringPool =
+            new IntAcceptorPool<>(() -> new Base64Decoder<>(new StringAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     private State state;
     private int saved;
 
@@ -163,6 +169,13 @@ public class Base64Decoder<R> extends ErrorHandlingIntPipeline<R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        state = State.FIRST;
+        saved = 0;
+    }
+
     @Override
     public boolean isStageComplete() {
         return state == State.FIRST || state == State.COMPLETE || state == State.THIRD && (saved & 0x0F) == 0 ||
@@ -177,6 +190,8 @@ public class Base64Decoder<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static byte[] convert(byte[] input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return bytePool.process(input);
         IntPipeline<byte[]> pipe = new Base64Decoder<>(new ByteArrayAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
@@ -201,6 +216,8 @@ public class Base64Decoder<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static String convert(String input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return stringPool.process(input);
         IntPipeline<String> pipe = new Base64Decoder<>(new StringAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
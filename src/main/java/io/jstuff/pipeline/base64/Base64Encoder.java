@@ -2,7 +2,7 @@
  * @(#) Base64Encoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023 Peter Wall
+ * Copyright (c) 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,6 +29,7 @@ import java.util.List;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -71,6 +72,15 @@ public class Base64Encoder<R> extends ErrorHandlingIntPipeline<R> {
         encodingArrayURL[63] = '_';
     }
 
+    private static final IntAcceptorPool<byte[]> bytePool = new IntAcceptorPool<>(() ->
+            new Base64Encoder<>(new ByteArrayAcceptor(), false, ErrorStrategy.THROW_EXCEPTION));
+    private static final IntAcceptorPool<byte[]> urlSafeBytePool = new IntAcceptorPool<>(() ->
+            new Base64Encoder<>(new ByteArrayAcceptor(), true, ErrorStrategy.THROW_EXCEPTION));
+    private static final IntAcceptorPool<String> stringPool = new IntAcceptorPool<>(() ->
+            new Base64Encoder<>(new StringAcceptor(), false, ErrorStrategy.THROW_EXCEPTION));
+    private static final IntAcceptorPool<String> urlSafeStringPool = new IntAcceptorPool<>(() ->
+            new Base64Encoder<>(new StringAcceptor(), true, ErrorStrategy.THROW_EXCEPTION));
+
     private final byte[] encodingArray;
     private final boolean urlSafe;
     private State state;
@@ -140,6 +150,13 @@ public class Base64Encoder<R> extends ErrorHandlingIntPipeline<R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        state = State.FIRST;
+        saved = 0;
+    }
+
     /**
      * Convert a byte array using the {@code Base64Encoder} converter.
      *
@@ -149,6 +166,8 @@ public class Base64Encoder<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static byte[] convert(byte[] input, boolean urlSafe, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return (urlSafe ? urlSafeBytePool : bytePool).process(input);
         IntPipeline<byte[]> pipe = new Base64Encoder<>(new ByteArrayAcceptor(), urlSafe, errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
@@ -196,6 +215,8 @@ public class Base64Encoder<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static String convert(String input, boolean urlSafe, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return (urlSafe ? urlSafeStringPool : stringPool).process(input);
         IntPipeline<String> pipe = new Base64Encoder<>(new StringAcceptor(), urlSafe, errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
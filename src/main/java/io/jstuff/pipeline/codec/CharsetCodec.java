@@ -0,0 +1,83 @@
+/*
+ * @(#) CharsetCodec.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import io.jstuff.pipeline.AbstractIntPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+
+/**
+ * A pair of decoder and encoder pipeline factories for a character set, as held in the {@link CharsetRegistry}.
+ *
+ * <p>Applications may supply their own implementations, either by calling
+ * {@link CharsetRegistry#register(CharsetCodec)}, or by listing the implementing classes (which must have a public
+ * no-argument constructor) in a {@code META-INF/services/io.jstuff.pipeline.codec.CharsetCodec} file, to be located by
+ * {@link java.util.ServiceLoader}.</p>
+ *
+ * @author  Peter Wall
+ */
+public interface CharsetCodec {
+
+    /**
+     * Get the character set name.  If the name is known to the JDK, the JDK aliases for the character set will also be
+     * registered for this codec.
+     *
+     * @return  the name
+     */
+    String getName();
+
+    /**
+     * Get any additional aliases for the character set (the default is none).
+     *
+     * @return  the aliases
+     */
+    default Collection<String> getAliases() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Create a decoder pipeline for the character set.
+     *
+     * @param   downstream      the downstream {@link IntAcceptor}
+     * @param   errorStrategy   the error strategy to be used on errors
+     * @param   <R>             the pipeline result type
+     * @return  the pipeline
+     */
+    <R> AbstractIntPipeline<R> createDecoder(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy);
+
+    /**
+     * Create an encoder pipeline for the character set.
+     *
+     * @param   downstream      the downstream {@link IntAcceptor}
+     * @param   errorStrategy   the error strategy to be used on errors
+     * @param   <R>             the pipeline result type
+     * @return  the pipeline
+     */
+    <R> AbstractIntPipeline<R> createEncoder(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy);
+
+}
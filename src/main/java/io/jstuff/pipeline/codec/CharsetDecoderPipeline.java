@@ -0,0 +1,202 @@
+/*
+ * @(#) CharsetDecoderPipeline.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+
+/**
+ * A decoder {@link IntPipeline} to convert any character set supported by the JDK to UTF-16 data, using a
+ * {@link CharsetDecoder}.  This is intended for character sets (particularly multi-byte character sets) not
+ * implemented natively by this library.
+ *
+ * <p>Input bytes are accumulated in an internal {@link ByteBuffer} and decoded in blocks into an internal
+ * {@link CharBuffer}, which is passed to the downstream acceptor as a block of characters.  Bytes forming an
+ * incomplete sequence at the end of a block are retained until the next block (or the end of data).  Malformed or
+ * unmappable input is reported to the {@link ErrorStrategy}, using the first byte of the invalid sequence as the error
+ * value.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type
+ */
+public class CharsetDecoderPipeline<R> extends ErrorHandlingIntPipeline<R> {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final CharsetDecoder decoder;
+    private final ByteBuffer inputBuffer;
+    private final CharBuffer outputBuffer;
+
+    public CharsetDecoderPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy,
+            CharsetDecoder decoder) {
+        super(downstream, errorStrategy);
+        this.decoder = decoder.onMalformedInput(CodingErrorAction.REPORT).
+                onUnmappableCharacter(CodingErrorAction.REPORT);
+        inputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        outputBuffer = CharBuffer.allocate(BUFFER_SIZE);
+    }
+
+    public CharsetDecoderPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy, Charset charset) {
+        this(downstream, errorStrategy, charset.newDecoder());
+    }
+
+    public CharsetDecoderPipeline(IntAcceptor<? extends R> downstream, Charset charset) {
+        this(downstream, ErrorStrategy.THROW_EXCEPTION, charset.newDecoder());
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if ((value & ~0xFF) != 0)
+            handleError(value);
+        else {
+            inputBuffer.put((byte)value);
+            decodeInputBuffer(false);
+        }
+    }
+
+    /**
+     * Accept a block of bytes, after {@code closed} check.  The bytes are copied to the internal buffer and decoded in
+     * blocks.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int n = Math.min(length, inputBuffer.remaining());
+            inputBuffer.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+            decodeInputBuffer(false);
+        }
+    }
+
+    /**
+     * Accept a {@link ByteBuffer}.  If there are no bytes retained from previous input, the buffer is decoded directly,
+     * without copying; otherwise the bytes are copied to the internal buffer and decoded in blocks.
+     *
+     * @param   byteBuffer      the {@link ByteBuffer}
+     */
+    @Override
+    public void accept(ByteBuffer byteBuffer) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        while (byteBuffer.hasRemaining()) {
+            if (inputBuffer.position() == 0) {
+                decode(byteBuffer, false);
+                if (!byteBuffer.hasRemaining())
+                    break;
+            }
+            int n = Math.min(byteBuffer.remaining(), inputBuffer.remaining());
+            ByteBuffer chunk = byteBuffer.duplicate();
+            chunk.limit(chunk.position() + n);
+            inputBuffer.put(chunk);
+            byteBuffer.position(chunk.position());
+            decodeInputBuffer(false);
+        }
+    }
+
+    /**
+     * Flush any complete sequences held in the internal buffer to the downstream acceptor, and then propagate the
+     * flush operation.
+     */
+    @Override
+    public void flush() {
+        decodeInputBuffer(false);
+        super.flush();
+    }
+
+    /**
+     * Close the pipeline, decoding any remaining input (reporting an incomplete sequence as an error) and flushing the
+     * {@link CharsetDecoder}.
+     *
+     * @throws  Exception   if thrown by the downstream or superclass {@code close()} functions
+     */
+    @Override
+    public void close() throws Exception {
+        decodeInputBuffer(true);
+        while (decoder.flush(outputBuffer).isOverflow())
+            emitOutputBuffer();
+        emitOutputBuffer();
+        super.close();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        decoder.reset();
+        inputBuffer.clear();
+        outputBuffer.clear();
+    }
+
+    @Override
+    public boolean isStageComplete() {
+        return inputBuffer.position() == 0;
+    }
+
+    private void decodeInputBuffer(boolean endOfInput) {
+        inputBuffer.flip();
+        try {
+            decode(inputBuffer, endOfInput);
+        }
+        finally {
+            inputBuffer.compact();
+        }
+    }
+
+    private void decode(ByteBuffer input, boolean endOfInput) {
+        while (true) {
+            CoderResult result = decoder.decode(input, outputBuffer, endOfInput);
+            if (result.isUnderflow())
+                break;
+            emitOutputBuffer();
+            if (result.isError()) {
+                int errorValue = input.get() & 0xFF;
+                input.position(input.position() + result.length() - 1);
+                handleError(errorValue);
+            }
+        }
+        emitOutputBuffer();
+    }
+
+    private void emitOutputBuffer() {
+        int length = outputBuffer.position();
+        if (length > 0) {
+            emitBlock(outputBuffer.array(), outputBuffer.arrayOffset(), length);
+            outputBuffer.clear();
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * @(#) CharsetEncoderPipeline.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+
+/**
+ * An encoder {@link IntPipeline} to convert UTF-16 data to any character set supported by the JDK, using a
+ * {@link CharsetEncoder}.  This is intended for character sets (particularly multi-byte character sets) not
+ * implemented natively by this library.
+ *
+ * <p>Input characters are accumulated in an internal {@link CharBuffer} and encoded in blocks into an internal
+ * {@link ByteBuffer}, which is passed to the downstream acceptor as a block of bytes.  A high surrogate at the end of a
+ * block is retained until the next block (or the end of data).  Values above {@code 0xFFFF} are accepted as Unicode
+ * code points.  Malformed or unmappable input is reported to the {@link ErrorStrategy}, using the character (or code
+ * point) as the error value.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type
+ */
+public class CharsetEncoderPipeline<R> extends ErrorHandlingIntPipeline<R> {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final CharsetEncoder encoder;
+    private final CharBuffer inputBuffer;
+    private final ByteBuffer outputBuffer;
+
+    public CharsetEncoderPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy,
+            CharsetEncoder encoder) {
+        super(downstream, errorStrategy);
+        this.encoder = encoder.onMalformedInput(CodingErrorAction.REPORT).
+                onUnmappableCharacter(CodingErrorAction.REPORT);
+        inputBuffer = CharBuffer.allocate(BUFFER_SIZE);
+        outputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    public CharsetEncoderPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy, Charset charset) {
+        this(downstream, errorStrategy, charset.newEncoder());
+    }
+
+    public CharsetEncoderPipeline(IntAcceptor<? extends R> downstream, Charset charset) {
+        this(downstream, ErrorStrategy.THROW_EXCEPTION, charset.newEncoder());
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if ((value & ~0xFFFF) == 0)
+            inputBuffer.put((char)value);
+        else if (value <= Character.MAX_CODE_POINT) {
+            inputBuffer.put(Character.highSurrogate(value));
+            inputBuffer.put(Character.lowSurrogate(value));
+        }
+        else {
+            handleError(value);
+            return;
+        }
+        encodeInputBuffer(false);
+    }
+
+    /**
+     * Accept a block of characters, after {@code closed} check.  The characters are copied to the internal buffer and
+     * encoded in blocks.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        while (length > 0) {
+            int n = Math.min(length, inputBuffer.remaining());
+            inputBuffer.put(chars, offset, n);
+            offset += n;
+            length -= n;
+            encodeInputBuffer(false);
+        }
+    }
+
+    /**
+     * Accept a {@link CharBuffer}.  If there are no characters retained from previous input, the buffer is encoded
+     * directly, without copying; otherwise the characters are copied to the internal buffer and encoded in blocks.
+     *
+     * @param   charBuffer      the {@link CharBuffer}
+     */
+    @Override
+    public void accept(CharBuffer charBuffer) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        while (charBuffer.hasRemaining()) {
+            if (inputBuffer.position() == 0) {
+                encode(charBuffer, false);
+                if (!charBuffer.hasRemaining())
+                    break;
+            }
+            int n = Math.min(charBuffer.remaining(), inputBuffer.remaining());
+            CharBuffer chunk = charBuffer.duplicate();
+            chunk.limit(chunk.position() + n);
+            inputBuffer.put(chunk);
+            charBuffer.position(chunk.position());
+            encodeInputBuffer(false);
+        }
+    }
+
+    /**
+     * Accept a {@link CharSequence} (<i>e.g.</i> {@link String}).  The sequence is wrapped in a {@link CharBuffer} and
+     * encoded directly.
+     *
+     * @param   cs          the {@link CharSequence}
+     */
+    @Override
+    public void accept(CharSequence cs) {
+        accept(CharBuffer.wrap(cs));
+    }
+
+    /**
+     * Flush any characters held in the internal buffer to the downstream acceptor (except for a trailing high
+     * surrogate), and then propagate the flush operation.
+     */
+    @Override
+    public void flush() {
+        encodeInputBuffer(false);
+        super.flush();
+    }
+
+    /**
+     * Close the pipeline, encoding any remaining input (reporting an unpaired high surrogate as an error) and flushing
+     * the {@link CharsetEncoder}.
+     *
+     * @throws  Exception   if thrown by the downstream or superclass {@code close()} functions
+     */
+    @Override
+    public void close() throws Exception {
+        encodeInputBuffer(true);
+        while (encoder.flush(outputBuffer).isOverflow())
+            emitOutputBuffer();
+        emitOutputBuffer();
+        super.close();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        encoder.reset();
+        inputBuffer.clear();
+        outputBuffer.clear();
+    }
+
+    @Override
+    public boolean isStageComplete() {
+        return inputBuffer.position() == 0;
+    }
+
+    private void encodeInputBuffer(boolean endOfInput) {
+        inputBuffer.flip();
+        try {
+            encode(inputBuffer, endOfInput);
+        }
+        finally {
+            inputBuffer.compact();
+        }
+    }
+
+    private void encode(CharBuffer input, boolean endOfInput) {
+        while (true) {
+            CoderResult result = encoder.encode(input, outputBuffer, endOfInput);
+            if (result.isUnderflow())
+                break;
+            emitOutputBuffer();
+            if (result.isError()) {
+                int errorValue = input.get();
+                if (result.length() == 2 && Character.isHighSurrogate((char)errorValue))
+                    errorValue = Character.toCodePoint((char)errorValue, input.get());
+                else
+                    input.position(input.position() + result.length() - 1);
+                handleError(errorValue);
+            }
+        }
+        emitOutputBuffer();
+    }
+
+    private void emitOutputBuffer() {
+        int length = outputBuffer.position();
+        if (length > 0) {
+            emitBlock(outputBuffer.array(), outputBuffer.arrayOffset(), length);
+            outputBuffer.clear();
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * @(#) CharsetRegistry.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.jstuff.pipeline.AbstractIntPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+
+/**
+ * A registry of {@link CharsetCodec} objects, keyed by character set name and alias (case-insensitive).
+ *
+ * <p>The registry is initialised with the codecs implemented natively by this library (UTF-8, US-ASCII and the
+ * {@link SingleByteCharset} character sets), followed by any codecs located by {@link ServiceLoader} (which will
+ * replace native codecs of the same name; providers that fail to load are skipped).  Each codec is registered under its
+ * name, its own aliases and, where the name is known to the JDK, the JDK canonical name and aliases for the character
+ * set.</p>
+ *
+ * <p>Other character sets supported by the JDK are resolved on first use to a codec using
+ * {@link CharsetDecoderPipeline} and {@link CharsetEncoderPipeline}, and the result is added to the registry, so that
+ * subsequent lookups by the same name or alias require only a single hash lookup.  Names that are syntactically valid
+ * but not supported are also remembered (up to a limit), so that repeated lookups of an unknown name do not search the
+ * JDK character set providers each time.</p>
+ *
+ * @author  Peter Wall
+ */
+public final class CharsetRegistry {
+
+    private static final int MAX_UNSUPPORTED = 256;
+
+    private static final ConcurrentMap<String, CharsetCodec> codecs = new ConcurrentHashMap<>();
+    private static final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+
+    static {
+        register(new UTF8Codec());
+        register(new ASCIICodec());
+        for (SingleByteCharset charset : SingleByteCharset.getCharsets())
+            register(charset);
+        loadServices();
+    }
+
+    private CharsetRegistry() {
+    }
+
+    /**
+     * Register the codecs located by {@link ServiceLoader}.  A provider that cannot be loaded or instantiated is
+     * skipped, so that a faulty entry on the class path does not prevent the initialisation of the registry; if the
+     * provider configuration itself cannot be read, no further providers are loaded.
+     */
+    private static void loadServices() {
+        Iterator<CharsetCodec> iterator = ServiceLoader.load(CharsetCodec.class).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext())
+                    break;
+            }
+            catch (ServiceConfigurationError ignore) {
+                break;
+            }
+            try {
+                register(iterator.next());
+            }
+            catch (ServiceConfigurationError | RuntimeException ignore) {
+                // skip this provider
+            }
+        }
+    }
+
+    /**
+     * Register a {@link CharsetCodec}, replacing any existing codec registered under the same name or aliases.
+     *
+     * @param   codec   the {@link CharsetCodec}
+     */
+    public static void register(CharsetCodec codec) {
+        String name = codec.getName();
+        codecs.put(normalise(name), codec);
+        for (String alias : codec.getAliases())
+            codecs.put(normalise(alias), codec);
+        Charset charset = findJDKCharset(name);
+        if (charset != null) {
+            codecs.put(normalise(charset.name()), codec);
+            for (String alias : charset.aliases())
+                codecs.put(normalise(alias), codec);
+        }
+    }
+
+    /**
+     * Find the {@link CharsetCodec} for a character set name or alias.
+     *
+     * @param   charsetName     the character set name or alias
+     * @return  the {@link CharsetCodec}, or {@code null} if the character set is not supported
+     */
+    public static CharsetCodec find(String charsetName) {
+        String key = normalise(charsetName);
+        CharsetCodec codec = codecs.get(key);
+        if (codec == null && !unsupported.contains(key)) {
+            try {
+                if (Charset.isSupported(charsetName))
+                    codec = resolve(Charset.forName(charsetName), charsetName);
+                else if (unsupported.size() < MAX_UNSUPPORTED)
+                    unsupported.add(key);
+            }
+            catch (IllegalCharsetNameException ignore) {
+                // illegal names are rejected without a provider search, so they are not remembered
+            }
+        }
+        return codec;
+    }
+
+    /**
+     * Get the {@link CharsetCodec} for a character set name or alias.
+     *
+     * @param   charsetName     the character set name or alias
+     * @return  the {@link CharsetCodec}
+     * @throws  UnsupportedCharsetException if the character set is not supported
+     */
+    public static CharsetCodec get(String charsetName) {
+        CharsetCodec codec = find(charsetName);
+        if (codec == null)
+            throw new UnsupportedCharsetException(charsetName);
+        return codec;
+    }
+
+    /**
+     * Get the {@link CharsetCodec} for a {@link Charset}.
+     *
+     * @param   charset         the {@link Charset}
+     * @return  the {@link CharsetCodec}
+     */
+    public static CharsetCodec get(Charset charset) {
+        CharsetCodec codec = codecs.get(normalise(charset.name()));
+        return codec != null ? codec : resolve(charset, charset.name());
+    }
+
+    private static CharsetCodec resolve(Charset charset, String charsetName) {
+        CharsetCodec codec = codecs.get(normalise(charset.name()));
+        if (codec == null) {
+            CharsetCodec newCodec = new JDKCharsetCodec(charset);
+            codec = codecs.putIfAbsent(normalise(charset.name()), newCodec);
+            if (codec == null) {
+                codec = newCodec;
+                for (String alias : charset.aliases())
+                    codecs.putIfAbsent(normalise(alias), codec);
+            }
+        }
+        codecs.putIfAbsent(normalise(charsetName), codec);
+        return codec;
+    }
+
+    private static Charset findJDKCharset(String charsetName) {
+        try {
+            return Charset.isSupported(charsetName) ? Charset.forName(charsetName) : null;
+        }
+        catch (IllegalCharsetNameException e) {
+            return null;
+        }
+    }
+
+    private static String normalise(String charsetName) {
+        return charsetName.toLowerCase(Locale.ROOT);
+    }
+
+    private static class UTF8Codec implements CharsetCodec {
+
+        @Override
+        public String getName() {
+            return StandardCharsets.UTF_8.name();
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createDecoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new UTF8_UTF16<>(downstream, errorStrategy);
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createEncoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new UTF16_UTF8<>(downstream, errorStrategy);
+        }
+
+    }
+
+    private static class ASCIICodec implements CharsetCodec {
+
+        @Override
+        public String getName() {
+            return StandardCharsets.US_ASCII.name();
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createDecoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new ASCII_UTF16<>(downstream, errorStrategy);
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createEncoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new UTF16_ASCII<>(downstream, errorStrategy);
+        }
+
+    }
+
+    private static class JDKCharsetCodec implements CharsetCodec {
+
+        private final Charset charset;
+
+        JDKCharsetCodec(Charset charset) {
+            this.charset = charset;
+        }
+
+        @Override
+        public String getName() {
+            return charset.name();
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createDecoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new CharsetDecoderPipeline<>(downstream, errorStrategy, charset);
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createEncoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new CharsetEncoderPipeline<>(downstream, errorStrategy, charset);
+        }
+
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) CodePoint_UTF16.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,7 @@ package io.jstuff.pipeline.codec;
 import java.util.List;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.StringAcceptor;
 
@@ -39,6 +40,9 @@ import io.jstuff.pipeline.StringAcceptor;
  */
 public class CodePoint_UTF16<R> extends ErrorHandlingIntPipeline<R> {
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new CodePoint_UTF16<>(new StringAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     public CodePoint_UTF16(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream, errorStrategy);
     }
@@ -65,6 +69,8 @@ public class CodePoint_UTF16<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a byte array
      */
     public static String convert(List<Integer> input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
         IntPipeline<String> pipe = new CodePoint_UTF16<>(new StringAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
@@ -2,7 +2,7 @@
  * @(#) CodePoint_UTF8.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,6 +29,7 @@ import java.util.List;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 
 /**
@@ -40,6 +41,9 @@ import io.jstuff.pipeline.IntPipeline;
  */
 public class CodePoint_UTF8<R> extends ErrorHandlingIntPipeline<R> {
 
+    private static final IntAcceptorPool<byte[]> pool =
+            new IntAcceptorPool<>(() -> new CodePoint_UTF8<>(new ByteArrayAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     public CodePoint_UTF8(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream, errorStrategy);
     }
@@ -79,6 +83,8 @@ public class CodePoint_UTF8<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a byte array
      */
     public static byte[] convert(List<Integer> input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
         IntPipeline<byte[]> pipe = new CodePoint_UTF8<>(new ByteArrayAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
@@ -2,7 +2,7 @@
  * @(#) DecoderFactory.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023 Peter Wall
+ * Copyright (c) 2020, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,12 +26,14 @@
 package io.jstuff.pipeline.codec;
 
 import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
 
 import io.jstuff.pipeline.AbstractIntPipeline;
 import io.jstuff.pipeline.IntAcceptor;
 
 /**
- * Factory class to get decoder pipeline objects for a given encoding.
+ * Factory class to get decoder pipeline objects for a given encoding.  The character set is located using the
+ * {@link CharsetRegistry}.
  *
  * @author  Peter Wall
  */
@@ -44,26 +46,15 @@ public class DecoderFactory {
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   errorStrategy   the error strategy to be used on errors
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetDecoderPipeline} for character sets not implemented natively)
+     * @throws  UnsupportedCharsetException if the character set is not supported
      */
     public static <R> AbstractIntPipeline<R> getDecoder(
             String charsetName,
             IntAcceptor<? extends R> downstream,
             ErrorStrategy errorStrategy
     ) {
-        if (charsetName.equalsIgnoreCase("windows-1252"))
-            return new Windows1252_UTF16<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("ISO-8859-1"))
-            return new ISO8859_1_UTF16<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("ISO-8859-15"))
-            return new ISO8859_15_UTF16<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("US-ASCII"))
-            return new ASCII_UTF16<>(downstream, errorStrategy);
-
-        return new UTF8_UTF16<>(downstream, errorStrategy);
+        return CharsetRegistry.get(charsetName).createDecoder(downstream, errorStrategy);
     }
 
     /**
@@ -72,7 +63,8 @@ public class DecoderFactory {
      * @param   charsetName     the character set name
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetDecoderPipeline} for character sets not implemented natively)
+     * @throws  UnsupportedCharsetException if the character set is not supported
      */
     public static <R> AbstractIntPipeline<R> getDecoder(String charsetName, IntAcceptor<? extends R> downstream) {
         return getDecoder(charsetName, downstream, ErrorStrategy.THROW_EXCEPTION);
@@ -85,14 +77,14 @@ public class DecoderFactory {
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   errorStrategy   the error strategy to be used on errors
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetDecoderPipeline} for character sets not implemented natively)
      */
     public static <R> AbstractIntPipeline<R> getDecoder(
             Charset charset,
             IntAcceptor<? extends R> downstream,
             ErrorStrategy errorStrategy
     ) {
-        return getDecoder(charset.name(), downstream, errorStrategy);
+        return CharsetRegistry.get(charset).createDecoder(downstream, errorStrategy);
     }
 
     /**
@@ -101,10 +93,10 @@ public class DecoderFactory {
      * @param   charset         the character set name
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetDecoderPipeline} for character sets not implemented natively)
      */
     public static <R> AbstractIntPipeline<R> getDecoder(Charset charset, IntAcceptor<? extends R> downstream) {
-        return getDecoder(charset.name(), downstream, ErrorStrategy.THROW_EXCEPTION);
+        return getDecoder(charset, downstream, ErrorStrategy.THROW_EXCEPTION);
     }
 
 }
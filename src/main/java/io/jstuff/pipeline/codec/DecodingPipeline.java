@@ -2,7 +2,7 @@
  * @(#) DecodingPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023 Peter Wall
+ * Copyright (c) 2020, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,28 +29,79 @@ import io.jstuff.pipeline.IntAcceptor;
 import io.jstuff.pipeline.IntPipeline;
 
 /**
- * An {@link IntPipeline} to convert one-to-one mapping character encodings to Unicode code points.
+ * An {@link IntPipeline} to convert one-to-one mapping character encodings to Unicode code points.  The conversion
+ * uses a 256-entry table, and blocks of bytes are decoded into an internal buffer which is passed to the downstream
+ * acceptor as a block of characters.
  *
  * @author  Peter Wall
  * @param   <R>     the pipeline result type
  */
 public class DecodingPipeline<R> extends ErrorHandlingIntPipeline<R> {
 
-    private final String table;
+    private static final int BUFFER_SIZE = 1024;
+
+    private final char[] decodingTable;
+    private char[] outputBuffer;
 
     public DecodingPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy, String table) {
         super(downstream, errorStrategy);
-        this.table = table;
+        decodingTable = SingleByteCharset.createDecodingTable(table);
+    }
+
+    public DecodingPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy,
+            SingleByteCharset charset) {
+        super(downstream, errorStrategy);
+        decodingTable = charset.getDecodingTable();
+    }
+
+    public DecodingPipeline(IntAcceptor<? extends R> downstream, SingleByteCharset charset) {
+        this(downstream, ErrorStrategy.THROW_EXCEPTION, charset);
     }
 
     @Override
     public void acceptInt(int value) {
-        if (value >= 0 && value <= 0x7F)
-            emit(value);
-        else if (value >= 0x80 && value <= 0xFF)
-            emit(table.charAt(value - 0x80));
+        char ch;
+        if ((value & ~0xFF) == 0 && (ch = decodingTable[value]) != SingleByteCharset.UNDEFINED)
+            emit(ch);
         else
             handleError(value);
     }
 
+    /**
+     * Accept a block of bytes, after {@code closed} check.  The bytes are decoded into an internal buffer, which is
+     * passed to the downstream acceptor as a block of characters.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        char[] table = decodingTable;
+        char[] output = outputBuffer;
+        if (output == null)
+            outputBuffer = output = new char[BUFFER_SIZE];
+        int outputIndex = 0;
+        for (int i = offset, n = offset + length; i < n; i++) {
+            int value = bytes[i] & 0xFF;
+            char ch = table[value];
+            if (ch != SingleByteCharset.UNDEFINED) {
+                output[outputIndex++] = ch;
+                if (outputIndex == BUFFER_SIZE) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+            }
+            else {
+                if (outputIndex > 0) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                handleError(value);
+            }
+        }
+        if (outputIndex > 0)
+            emitBlock(output, 0, outputIndex);
+    }
+
 }
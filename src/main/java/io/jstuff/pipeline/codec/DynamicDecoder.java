@@ -2,7 +2,7 @@
  * @(#) DynamicDecoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,7 @@ package io.jstuff.pipeline.codec;
 import java.nio.charset.Charset;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.jfr.PipelineEvents;
 
 /**
  * A dynamic decoding pipeline which attempts to determine the encoding of the data from its content.
@@ -43,8 +44,10 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
         UNDETERMINED, POSSIBLE_UTF8, POSSIBLE_UTF8_3BYTE, POSSIBLE_UTF8_4BYTE, DELEGATED }
 
     protected State state;
+    private final Charset charset;
     private final int[] buffer;
     private int index;
+    private long bytesExamined;
 
     /**
      * Construct a {@code DynamicDecoder} with the specified downstream {@link IntAcceptor}.
@@ -66,14 +69,9 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
      */
     public DynamicDecoder(IntAcceptor<? extends R> downstream, Charset charset) {
         super(downstream);
+        this.charset = charset;
         buffer = new int[4];
-        index = 0;
-        if (charset == null)
-            state = State.INITIAL;
-        else {
-            delegate = DecoderFactory.getDecoder(charset, downstream);
-            state = State.DELEGATED;
-        }
+        initialise();
     }
 
     /**
@@ -90,6 +88,8 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
      */
     @Override
     public void acceptInt(int value) {
+        if (state != State.DELEGATED)
+            bytesExamined++;
         switch (state) {
         case INITIAL:
             buffer[index++] = value;
@@ -115,25 +115,25 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
             if (value == 0)
                 state = State.FIRST_TWO_00_00;
             else
-                switchTo(new UTF16BE_UTF16<>(getDownstream()));
+                switchTo(new UTF16BE_UTF16<>(getDownstream()), "UTF-16BE");
             break;
         case FIRST_TWO_00_00:
             if (value == 0xFE)
                 state = State.FIRST_THREE_00_00_FE;
             else {
-                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())));
+                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())), "UTF-32BE");
                 delegate.accept(value);
             }
             break;
         case FIRST_THREE_00_00_FE:
             if (value == 0xFF) {
-                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())));
+                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())), "UTF-32BE");
                 delegate.accept(0xFE);
                 delegate.accept(value);
             }
             else {
                 index = 0;
-                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())));
+                switchTo(new UTF32BE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())), "UTF-32BE");
             }
             break;
         case FIRST_FF:
@@ -151,18 +151,18 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
             }
             else {
                 index = 0;
-                switchTo(new UTF16LE_UTF16<>(getDownstream()));
+                switchTo(new UTF16LE_UTF16<>(getDownstream()), "UTF-16LE");
                 delegate.accept(value);
             }
             break;
         case FIRST_THREE_FF_FE_00:
             if (value == 0) {
                 index = 0;
-                switchTo(new UTF32LE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())));
+                switchTo(new UTF32LE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())), "UTF-32LE");
             }
             else {
                 index = 0;
-                switchTo(new UTF16LE_UTF16<>(getDownstream()));
+                switchTo(new UTF16LE_UTF16<>(getDownstream()), "UTF-16LE");
                 delegate.accept(buffer[2]);
                 delegate.accept(value);
             }
@@ -171,7 +171,7 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
         case FIRST_FE:
             if (value == 0xFF) {
                 index = 0;
-                switchTo(new UTF16BE_UTF16<>(getDownstream()));
+                switchTo(new UTF16BE_UTF16<>(getDownstream()), "UTF-16BE");
             }
             else
                 delegateToWindows1252(value);
@@ -189,7 +189,7 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
         case FIRST_TWO_EF_BB:
             if (value == 0xBF) {
                 index = 0;
-                switchTo(new UTF8_UTF16<>(getDownstream()));
+                switchTo(new UTF8_UTF16<>(getDownstream()), "UTF-8");
             }
             else if ((value & 0xC0) == 0x80)
                 delegateToUTF8(value);
@@ -245,13 +245,15 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
                 state = State.FIRST_THREE_ANY_00_00;
             }
             else {
-                switchTo(new UTF16LE_UTF16<>(getDownstream()));
+                switchTo(new UTF16LE_UTF16<>(getDownstream()), "UTF-16LE");
                 delegate.accept(value);
             }
             break;
         case FIRST_THREE_ANY_00_00:
-            switchTo(value == 0 ? new UTF32LE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())) :
-                    new UTF16LE_UTF16<>(getDownstream()));
+            if (value == 0)
+                switchTo(new UTF32LE_CodePoint<>(new CodePoint_UTF16<>(getDownstream())), "UTF-32LE");
+            else
+                switchTo(new UTF16LE_UTF16<>(getDownstream()), "UTF-16LE");
             delegate.accept(value);
             break;
         case UNDETERMINED:
@@ -301,6 +303,37 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
         }
     }
 
+    /**
+     * Accept a block of bytes, after {@code closed} check.  The bytes are examined individually until the encoding has
+     * been determined, and the remainder of the block is then forwarded to the delegate as a block.  While the stream
+     * consists only of ASCII characters (the {@code UNDETERMINED} state), each run of ASCII bytes is passed on as a
+     * block, and only the first byte above {@code 0x7F} is examined individually.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        int n = offset + length;
+        while (offset < n && state != State.DELEGATED) {
+            if (state == State.UNDETERMINED) {
+                int start = offset;
+                while (offset < n && bytes[offset] >= 0)
+                    offset++;
+                if (offset > start) {
+                    bytesExamined += offset - start;
+                    emitBlock(bytes, start, offset - start);
+                    if (offset == n)
+                        break;
+                }
+            }
+            acceptInt(bytes[offset++] & 0xFF);
+        }
+        if (offset < n)
+            delegate.acceptBlock(bytes, offset, n - offset);
+    }
+
     /**
      * Close the pipeline.
      */
@@ -327,7 +360,7 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
             case POSSIBLE_UTF8:
             case POSSIBLE_UTF8_3BYTE:
             case POSSIBLE_UTF8_4BYTE:
-                switchTo(new Windows1252_UTF16<>(getDownstream()));
+                switchTo(new Windows1252_UTF16<>(getDownstream()), "windows-1252");
                 break;
             case DELEGATED:
                 delegate.safeClose();
@@ -335,6 +368,15 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
         getDownstream().safeClose();
     }
 
+    /**
+     * Reset the decoder to its initial state, restoring the {@link Charset} (if any) specified on construction.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        initialise();
+    }
+
     /**
      * Return {@code true} if all sequences in the input to this stage of the pipeline are complete, that is, the input
      * is not in the middle of a sequence requiring more data.
@@ -361,11 +403,7 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
      */
     @Override
     public void switchTo(IntAcceptor<? extends R> delegate) {
-        this.delegate = delegate;
-        state = State.DELEGATED;
-        for (int i = 0; i < index; i++)
-            delegate.accept(buffer[i]);
-        index = 0;
+        switchTo(delegate, null);
     }
 
     /**
@@ -374,7 +412,7 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
      * @param   charset     the {@link Charset}
      */
     public void switchTo(Charset charset) {
-        switchTo(DecoderFactory.getDecoder(charset, getDownstream()));
+        switchTo(DecoderFactory.getDecoder(charset, getDownstream()), charset.name());
     }
 
     /**
@@ -383,16 +421,54 @@ public class DynamicDecoder<R> extends SwitchableDecoder<R> {
      * @param   charsetName the character set name
      */
     public void switchTo(String charsetName) {
-        switchTo(DecoderFactory.getDecoder(charsetName, getDownstream()));
+        switchTo(DecoderFactory.getDecoder(charsetName, getDownstream()), charsetName);
+    }
+
+    /**
+     * Switch to the specified delegate, decoding the nominated character set.  Any bytes held while the encoding was
+     * being determined are passed to the new delegate.
+     *
+     * @param   delegate    the new delegate
+     * @param   charsetName the character set name (for the JFR event), or {@code null} if not known
+     */
+    protected void switchTo(IntAcceptor<? extends R> delegate, String charsetName) {
+        if (state != State.DELEGATED)
+            PipelineEvents.charsetDetected(this, charsetName, delegate, bytesExamined);
+        this.delegate = delegate;
+        state = State.DELEGATED;
+        for (int i = 0; i < index; i++)
+            delegate.accept(buffer[i]);
+        index = 0;
+    }
+
+    /**
+     * Get the number of bytes examined before the encoding was determined (or the number examined so far, if it has
+     * not yet been determined).
+     *
+     * @return  the number of bytes
+     */
+    public long getBytesExamined() {
+        return bytesExamined;
+    }
+
+    private void initialise() {
+        index = 0;
+        bytesExamined = 0;
+        if (charset == null)
+            state = State.INITIAL;
+        else {
+            delegate = DecoderFactory.getDecoder(charset, getDownstream());
+            state = State.DELEGATED;
+        }
     }
 
     private void delegateToUTF8(int value) {
-        switchTo(new UTF8_UTF16<>(getDownstream()));
+        switchTo(new UTF8_UTF16<>(getDownstream()), "UTF-8");
         delegate.accept(value);
     }
 
     private void delegateToWindows1252(int value) {
-        switchTo(new Windows1252_UTF16<>(getDownstream()));
+        switchTo(new Windows1252_UTF16<>(getDownstream()), "windows-1252");
         delegate.accept(value);
     }
 
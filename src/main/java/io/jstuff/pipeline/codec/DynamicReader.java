@@ -2,7 +2,7 @@
  * @(#) DynamicReader.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,18 +28,29 @@ package io.jstuff.pipeline.codec;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
 
 import io.jstuff.pipeline.AbstractIntAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
 
+/**
+ * A {@link Reader} that decodes an {@link InputStream} using a {@link DynamicDecoder}, determining the encoding from a
+ * byte order mark or from the content of the data.  Bytes are read from the {@link InputStream} in blocks and decoded
+ * in bulk into an internal buffer of characters; a read returns as soon as any characters are available, so that a
+ * stream delivering partial data (for example, from a network connection) does not cause a read to block until the
+ * caller's entire buffer is filled.
+ *
+ * @author  Peter Wall
+ */
 public class DynamicReader extends Reader {
 
+    public static final int DEFAULT_BUFFER_SIZE = IntAcceptor.DEFAULT_BUFFER_SIZE;
+
     private final InputStream inputStream;
+    private final byte[] inputBuffer;
     private final CharAcceptor charAcceptor;
     private final DynamicDecoder<Void> pipeline;
-    private final char[] overflow;
-    private int overflowIndex;
 
     /**
      * Construct a {@code DynamicReader} for the supplied {@link InputStream}.
@@ -60,16 +71,53 @@ public class DynamicReader extends Reader {
      * @param   charset         the {@link Charset} if known, or {@code null} to allow dynamic encoding determination
      */
     public DynamicReader(InputStream inputStream, Charset charset) {
+        this(inputStream, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Construct a {@code DynamicReader} for the supplied {@link InputStream}, switching immediately to the specified
+     * {@link Charset} if specified, and reading the {@link InputStream} in blocks of the specified size.
+     *
+     * @param   inputStream     the {@link InputStream}
+     * @param   charset         the {@link Charset} if known, or {@code null} to allow dynamic encoding determination
+     * @param   bufferSize      the size of the block to read from the {@link InputStream}
+     */
+    public DynamicReader(InputStream inputStream, Charset charset, int bufferSize) {
+        this(inputStream, charset, checkBufferSize(bufferSize), new CharAcceptor(bufferSize));
+    }
+
+    /**
+     * Construct a {@code DynamicReader} with the specified {@link CharAcceptor} (for testing).  The
+     * {@link DynamicDecoder} outputs UTF-16, so it passes its output (in blocks, where possible) directly to the
+     * {@link CharAcceptor}.
+     *
+     * @param   inputStream     the {@link InputStream}
+     * @param   charset         the {@link Charset} if known, or {@code null} to allow dynamic encoding determination
+     * @param   bufferSize      the size of the block to read from the {@link InputStream}
+     * @param   charAcceptor    the {@link CharAcceptor}
+     */
+    DynamicReader(InputStream inputStream, Charset charset, int bufferSize, CharAcceptor charAcceptor) {
         this.inputStream = inputStream;
-        charAcceptor = new CharAcceptor();
-        pipeline = new DynamicDecoder<>(new CodePoint_UTF16<>(charAcceptor), charset);
-        overflow = new char[8];
-        overflowIndex = 0;
+        inputBuffer = new byte[bufferSize];
+        this.charAcceptor = charAcceptor;
+        pipeline = new DynamicDecoder<>(charAcceptor, charset);
+    }
+
+    /**
+     * Read a single character.
+     *
+     * @return              the character, or -1 if the end of the stream has been reached
+     * @throws  IOException if an I/O error occurs
+     */
+    @Override
+    public int read() throws IOException {
+        return fill() ? charAcceptor.read() : -1;
     }
 
     /**
      * Reads characters into a portion of an array.  This method will block until some input is available, an I/O error
-     * occurs, or the end of the stream is reached.
+     * occurs, or the end of the stream is reached; it returns as soon as any characters have been decoded, without
+     * waiting for the array to be filled.
      *
      * @param   cbuf    Destination buffer
      * @param   off     Offset at which to start storing characters
@@ -79,35 +127,62 @@ public class DynamicReader extends Reader {
      */
     @Override
     public int read(char[] cbuf, int off, int len) throws IOException {
-        if (overflowIndex > 0) {
-            if (overflowIndex > len) {
-                overflowIndex -= len;
-                System.arraycopy(overflow, 0, cbuf, off, len);
-                System.arraycopy(overflow, len, overflow, 0, overflowIndex);
-                return len;
-            }
-            System.arraycopy(overflow, 0, cbuf, off, overflowIndex);
-            if (overflowIndex == len) {
-                overflowIndex = 0;
-                return len;
-            }
-            off += overflowIndex;
-            len -= overflowIndex;
-            overflowIndex = 0;
-        }
-        charAcceptor.setBuffer(cbuf, off, len);
-        while (!charAcceptor.isFinished()) {
-            try {
-                pipeline.accept(inputStream.read());
-            }
-            catch (Exception e) {
-                throw new IOException("Unexpected exception in pipeline", e);
-            }
+        if (off < 0 || len < 0 || len > cbuf.length - off)
+            throw new IndexOutOfBoundsException();
+        if (len == 0)
+            return 0;
+        return fill() ? charAcceptor.read(cbuf, off, len) : -1;
+    }
+
+    /**
+     * Skip characters.
+     *
+     * @param   n               the number of characters to skip
+     * @return                  the number of characters skipped
+     * @throws  IOException     if an I/O error occurs
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        if (n < 0)
+            throw new IllegalArgumentException("Skip value is negative");
+        long skipped = 0;
+        while (skipped < n && fill())
+            skipped += charAcceptor.skip((int)Math.min(n - skipped, Integer.MAX_VALUE));
+        return skipped;
+    }
+
+    /**
+     * Tell whether the reader is ready to be read, that is, whether a {@code read()} will not block.  If there are no
+     * decoded characters available, any bytes that can be read from the {@link InputStream} without blocking are read
+     * and decoded.
+     *
+     * @return                  {@code true} if there are decoded characters available
+     * @throws  IOException     if an I/O error occurs
+     */
+    @Override
+    public boolean ready() throws IOException {
+        while (charAcceptor.count == 0 && !pipeline.isClosed()) {
+            int available = inputStream.available();
+            if (available <= 0)
+                return false;
+            if (!readBlock(Math.min(available, inputBuffer.length)))
+                break;
         }
-        int count = charAcceptor.getCount();
-        if (count == 0 && charAcceptor.isClosed())
-            return -1;
-        return count;
+        return charAcceptor.count > 0;
+    }
+
+    /**
+     * Read all the remaining characters and write them to the given {@link Writer}, in blocks.
+     *
+     * @param   out             the {@link Writer}
+     * @return                  the number of characters transferred
+     * @throws  IOException     if an I/O error occurs
+     */
+    public long transferTo(Writer out) throws IOException {
+        long transferred = 0;
+        while (fill())
+            transferred += charAcceptor.drainTo(out);
+        return transferred;
     }
 
     @Override
@@ -115,6 +190,44 @@ public class DynamicReader extends Reader {
         inputStream.close();
     }
 
+    /**
+     * Ensure that there are decoded characters available, reading and decoding blocks from the {@link InputStream} as
+     * required.
+     *
+     * @return                  {@code true} if characters are available, {@code false} at end of data
+     * @throws  IOException     if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        while (charAcceptor.count == 0) {
+            if (pipeline.isClosed() || !readBlock(inputBuffer.length))
+                return charAcceptor.count > 0;
+        }
+        return true;
+    }
+
+    /**
+     * Read a block from the {@link InputStream} and pass it to the decoder, closing the decoder at end of data.
+     *
+     * @param   length          the maximum number of bytes to read
+     * @return                  {@code false} if the end of data has been reached
+     * @throws  IOException     if an I/O error occurs
+     */
+    private boolean readBlock(int length) throws IOException {
+        int n = inputStream.read(inputBuffer, 0, length);
+        try {
+            if (n < 0) {
+                pipeline.close();
+                return false;
+            }
+            if (n > 0)
+                pipeline.acceptBlock(inputBuffer, 0, n);
+            return true;
+        }
+        catch (Exception e) {
+            throw new IOException("Unexpected exception in pipeline", e);
+        }
+    }
+
     /**
      * Switch to the specified delegate.
      *
@@ -130,7 +243,7 @@ public class DynamicReader extends Reader {
      * @param   charset     the {@link Charset}
      */
     public void switchTo(Charset charset) {
-        switchTo(DecoderFactory.getDecoder(charset, pipeline.getDownstream()));
+        pipeline.switchTo(charset);
     }
 
     /**
@@ -139,44 +252,107 @@ public class DynamicReader extends Reader {
      * @param   charsetName the character set name
      */
     public void switchTo(String charsetName) {
-        switchTo(DecoderFactory.getDecoder(charsetName, pipeline.getDownstream()));
+        pipeline.switchTo(charsetName);
     }
 
-    private class CharAcceptor extends AbstractIntAcceptor<Void> {
+    /**
+     * The terminal acceptor of the decoding pipeline:  a buffer of decoded characters, enlarged as necessary to hold the
+     * output from a block of input.
+     */
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size " + bufferSize);
+        return bufferSize;
+    }
 
-        private char[] cbuf;
-        private int off;
-        private int len;
+    static class CharAcceptor extends AbstractIntAcceptor<Void> {
+
+        private char[] buffer;
+        private int start;
         private int count;
 
-        public void setBuffer(char[] cbuf, int off, int len) {
-            this.cbuf = cbuf;
-            this.off = off;
-            this.len = len;
+        CharAcceptor(int capacity) {
+            buffer = new char[capacity];
+            start = 0;
             count = 0;
         }
 
         /**
-         * Accept an {@code int}, after {@code closed} check and test for end of data.  Store the c
+         * Accept an {@code int}, after {@code closed} check and test for end of data.  Store the character in the
+         * buffer.
          *
          * @param   value       the input value
          */
         @Override
         public void acceptInt(int value) {
-            if (count < len)
-                cbuf[off + count++] = (char)value;
-            else
-                overflow[overflowIndex++] = (char)value;
+            int end = start + count;
+            if (end == buffer.length)
+                end = makeRoom(1);
+            buffer[end] = (char)value;
+            count++;
+        }
+
+        @Override
+        public void acceptIntBlock(char[] chars, int offset, int length) {
+            int end = start + count;
+            if (end + length > buffer.length)
+                end = makeRoom(length);
+            System.arraycopy(chars, offset, buffer, end, length);
+            count += length;
         }
 
-        public boolean isFinished() {
-            return isClosed() || count >= len;
+        @Override
+        public void acceptIntBlock(byte[] bytes, int offset, int length) {
+            int end = start + count;
+            if (end + length > buffer.length)
+                end = makeRoom(length);
+            for (int i = 0; i < length; i++)
+                buffer[end + i] = (char)(bytes[offset + i] & 0xFF);
+            count += length;
         }
 
-        public int getCount() {
+        /**
+         * Make room for the specified number of characters at the end of the buffer, moving the existing characters to
+         * the start of the buffer and enlarging it if necessary.
+         *
+         * @param   required    the number of characters to be added
+         * @return              the new end index
+         */
+        private int makeRoom(int required) {
+            char[] newBuffer = count + required > buffer.length ?
+                    new char[Math.max(buffer.length << 1, count + required)] : buffer;
+            System.arraycopy(buffer, start, newBuffer, 0, count);
+            buffer = newBuffer;
+            start = 0;
             return count;
         }
 
+        int read() {
+            count--;
+            return buffer[start++];
+        }
+
+        int read(char[] cbuf, int off, int len) {
+            int n = Math.min(len, count);
+            System.arraycopy(buffer, start, cbuf, off, n);
+            return skip(n);
+        }
+
+        int skip(int len) {
+            int n = Math.min(len, count);
+            start += n;
+            count -= n;
+            if (count == 0)
+                start = 0;
+            return n;
+        }
+
+        int drainTo(Writer out) throws IOException {
+            int n = count;
+            out.write(buffer, start, n);
+            return skip(n);
+        }
+
     }
 
 }
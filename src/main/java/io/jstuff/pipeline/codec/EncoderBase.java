@@ -2,7 +2,7 @@
  * @(#) EncoderBase.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2022, 2023 Peter Wall
+ * Copyright (c) 2021, 2022, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,8 +25,6 @@
 
 package io.jstuff.pipeline.codec;
 
-import io.jstuff.util.IntOutput;
-
 import io.jstuff.pipeline.AbstractIntPipeline;
 import io.jstuff.pipeline.IntAcceptor;
 
@@ -38,6 +36,8 @@ import io.jstuff.pipeline.IntAcceptor;
  */
 public abstract class EncoderBase<R> extends AbstractIntPipeline<R> {
 
+    private static final char[] hexDigits = "0123456789ABCDEF".toCharArray();
+
     protected EncoderBase(IntAcceptor<? extends R> downstream) {
         super(downstream);
     }
@@ -53,12 +53,17 @@ public abstract class EncoderBase<R> extends AbstractIntPipeline<R> {
     }
 
     /**
-     * Emit an integer as hexadecimal digits.
+     * Emit an integer as hexadecimal digits (upper case, without leading zeros).  The digits are emitted directly,
+     * without allocating an intermediate object.
      *
      * @param   i       the integer
      */
     protected void emitHex(int i) {
-        IntOutput.outputIntHex(i, this::emit);
+        int shift = 28;
+        while (shift > 0 && (i >>> shift) == 0)
+            shift -= 4;
+        for (; shift >= 0; shift -= 4)
+            emit(hexDigits[(i >>> shift) & 0xF]);
     }
 
 }
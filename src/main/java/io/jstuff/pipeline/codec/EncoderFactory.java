@@ -2,7 +2,7 @@
  * @(#) EncoderFactory.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023 Peter Wall
+ * Copyright (c) 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,12 +26,14 @@
 package io.jstuff.pipeline.codec;
 
 import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
 
 import io.jstuff.pipeline.AbstractIntPipeline;
 import io.jstuff.pipeline.IntAcceptor;
 
 /**
- * Factory class to get encoder pipeline objects for a given encoding.
+ * Factory class to get encoder pipeline objects for a given encoding.  The character set is located using the
+ * {@link CharsetRegistry}.
  *
  * @author  Peter Wall
  */
@@ -44,26 +46,15 @@ public class EncoderFactory {
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   errorStrategy   the error strategy to be used on errors
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetEncoderPipeline} for character sets not implemented natively)
+     * @throws  UnsupportedCharsetException if the character set is not supported
      */
     public static <R> AbstractIntPipeline<R> getEncoder(
             String charsetName,
             IntAcceptor<? extends R> downstream,
             ErrorStrategy errorStrategy
     ) {
-        if (charsetName.equalsIgnoreCase("windows-1252"))
-            return new UTF16_Windows1252<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("ISO-8859-1"))
-            return new UTF16_ISO8859_1<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("ISO-8859-15"))
-            return new UTF16_ISO8859_15<>(downstream, errorStrategy);
-
-        if (charsetName.equalsIgnoreCase("US-ASCII"))
-            return new UTF16_ASCII<>(downstream, errorStrategy);
-
-        return new CodePoint_UTF8<>(downstream, errorStrategy);
+        return CharsetRegistry.get(charsetName).createEncoder(downstream, errorStrategy);
     }
 
     /**
@@ -72,7 +63,8 @@ public class EncoderFactory {
      * @param   charsetName     the character set name
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetEncoderPipeline} for character sets not implemented natively)
+     * @throws  UnsupportedCharsetException if the character set is not supported
      */
     public static <R> AbstractIntPipeline<R> getEncoder(
             String charsetName,
@@ -88,14 +80,14 @@ public class EncoderFactory {
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   errorStrategy   the error strategy to be used on errors
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetEncoderPipeline} for character sets not implemented natively)
      */
     public static <R> AbstractIntPipeline<R> getEncoder(
             Charset charset,
             IntAcceptor<? extends R> downstream,
             ErrorStrategy errorStrategy
     ) {
-        return getEncoder(charset.name(), downstream, errorStrategy);
+        return CharsetRegistry.get(charset).createEncoder(downstream, errorStrategy);
     }
 
     /**
@@ -104,13 +96,13 @@ public class EncoderFactory {
      * @param   charset         the character set name
      * @param   downstream      the downstream {@link IntAcceptor}
      * @param   <R>             the pipeline result type
-     * @return  a pipeline (with UTF-8 as the default)
+     * @return  a pipeline (using {@link CharsetEncoderPipeline} for character sets not implemented natively)
      */
     public static <R> AbstractIntPipeline<R> getEncoder(
             Charset charset,
             IntAcceptor<? extends R> downstream
     ) {
-        return getEncoder(charset.name(), downstream, ErrorStrategy.DEFAULT);
+        return getEncoder(charset, downstream, ErrorStrategy.DEFAULT);
     }
 
 }
@@ -2,7 +2,7 @@
  * @(#) EncodingPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,55 +25,112 @@
 
 package io.jstuff.pipeline.codec;
 
-import java.util.Arrays;
-
 import io.jstuff.pipeline.IntAcceptor;
 
 /**
- * A pipeline to convert 8-bit character sets based on a reverse mapping table.
+ * A pipeline to convert 8-bit character sets based on a shared {@link EncodingTable}.  Blocks of characters are
+ * encoded into an internal buffer which is passed to the downstream acceptor as a block of bytes.
  *
  * @author  Peter Wall
  * @param   <R>     the pipeline result type
  */
 public class EncodingPipeline<R> extends ErrorHandlingIntPipeline<R> {
 
-    private final int[] reverseTable;
+    private static final int BUFFER_SIZE = 1024;
+
+    private final EncodingTable encodingTable;
+    private byte[] outputBuffer;
+    private char[] inputBuffer;
 
-    public EncodingPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy, int[] reverseTable) {
+    public EncodingPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy,
+            EncodingTable encodingTable) {
         super(downstream, errorStrategy);
-        this.reverseTable = reverseTable;
+        this.encodingTable = encodingTable;
+    }
+
+    public EncodingPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy,
+            SingleByteCharset charset) {
+        this(downstream, errorStrategy, charset.getEncodingTable());
+    }
+
+    public EncodingPipeline(IntAcceptor<? extends R> downstream, SingleByteCharset charset) {
+        this(downstream, ErrorStrategy.THROW_EXCEPTION, charset.getEncodingTable());
     }
 
     @Override
     public void acceptInt(int value) {
-        if (value >= 0 && value <= 0x7F)
+        if ((value & ~0x7F) == 0)
             emit(value);
         else {
-            int lo = 0;
-            int hi = reverseTable.length;
-            while (lo < hi) {
-                int mid = (hi + lo) >>> 1;
-                int entry = reverseTable[mid];
-                int mapped = entry >>> 16;
-                if (mapped < value)
-                    lo = mid + 1;
-                else if (mapped > value)
-                    hi = mid;
-                else {
-                    emit(entry & 0xFFFF);
-                    return;
+            int mapped = encodingTable.encode(value);
+            if (mapped != EncodingTable.UNMAPPABLE)
+                emit(mapped);
+            else
+                handleError(value);
+        }
+    }
+
+    /**
+     * Accept a block of characters, after {@code closed} check.  The characters are encoded into an internal buffer,
+     * which is passed to the downstream acceptor as a block of bytes.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        EncodingTable table = encodingTable;
+        byte[] output = outputBuffer;
+        if (output == null)
+            outputBuffer = output = new byte[BUFFER_SIZE];
+        int outputIndex = 0;
+        for (int i = offset, n = offset + length; i < n; i++) {
+            char ch = chars[i];
+            int mapped = ch < 0x80 ? ch : table.encode(ch);
+            if (mapped != EncodingTable.UNMAPPABLE) {
+                output[outputIndex++] = (byte)mapped;
+                if (outputIndex == BUFFER_SIZE) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+            }
+            else {
+                if (outputIndex > 0) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
                 }
+                handleError(ch);
             }
-            handleError(value);
         }
+        if (outputIndex > 0)
+            emitBlock(output, 0, outputIndex);
     }
 
-    static int[] createReverseTable(String table) {
-        int[] result = new int[table.length()];
-        for (int i = 0, n = table.length(); i < n; i++)
-            result[i] = (table.charAt(i) << 16) | 0x80 | i;
-        Arrays.sort(result);
-        return result;
+    /**
+     * Accept a {@link CharSequence} (<i>e.g.</i> {@link String}).  The characters are copied in blocks to an internal
+     * buffer and encoded using the block encoding loop.
+     *
+     * @param   cs          the {@link CharSequence}
+     */
+    @Override
+    public void accept(CharSequence cs) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        char[] input = inputBuffer;
+        if (input == null)
+            inputBuffer = input = new char[BUFFER_SIZE];
+        for (int start = 0, n = cs.length(); start < n; ) {
+            int end = Math.min(n, start + BUFFER_SIZE);
+            if (cs instanceof String)
+                ((String)cs).getChars(start, end, input, 0);
+            else {
+                for (int i = start; i < end; i++)
+                    input[i - start] = cs.charAt(i);
+            }
+            acceptIntBlock(input, 0, end - start);
+            start = end;
+        }
     }
 
 }
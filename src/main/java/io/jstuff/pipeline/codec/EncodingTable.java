@@ -0,0 +1,93 @@
+/*
+ * @(#) EncodingTable.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.util.Arrays;
+
+/**
+ * An immutable lookup table for encoding UTF-16 characters to an 8-bit character set.  The table covers the Basic
+ * Multilingual Plane as a two-level page table: the high-order byte of the character selects a page, and the low-order
+ * byte selects the entry within the page.  Pages containing no mapped characters share a single empty page, so a
+ * table for a typical 8-bit character set occupies only a few pages.
+ *
+ * <p>Instances are intended to be created once (typically lazily, on first use) and shared by all encoders for the
+ * character set.</p>
+ *
+ * @author  Peter Wall
+ */
+public final class EncodingTable {
+
+    public static final int UNMAPPABLE = -1;
+
+    private static final short[] emptyPage = createEmptyPage();
+
+    private final short[][] pages;
+
+    /**
+     * Construct an {@code EncodingTable} from the decoding table for the upper half of an 8-bit character set, that
+     * is, a string of 128 characters giving the UTF-16 value for each of the byte values {@code 0x80} to {@code 0xFF}.
+     * The byte values {@code 0x00} to {@code 0x7F} are assumed to map to the same UTF-16 values, and entries of
+     * {@link SingleByteCharset#UNDEFINED} are ignored.
+     *
+     * @param   decodingTable   the decoding table
+     */
+    public EncodingTable(String decodingTable) {
+        pages = new short[256][];
+        Arrays.fill(pages, emptyPage);
+        for (int i = 0; i < 0x80; i++)
+            set(i, i);
+        for (int i = 0, n = decodingTable.length(); i < n; i++) {
+            char ch = decodingTable.charAt(i);
+            if (ch != SingleByteCharset.UNDEFINED)
+                set(ch, 0x80 + i);
+        }
+    }
+
+    private void set(int ch, int byteValue) {
+        int pageIndex = ch >> 8;
+        short[] page = pages[pageIndex];
+        if (page == emptyPage)
+            pages[pageIndex] = page = createEmptyPage();
+        page[ch & 0xFF] = (short)byteValue;
+    }
+
+    /**
+     * Get the byte value for a UTF-16 character.
+     *
+     * @param   ch      the character
+     * @return          the byte value, or {@link #UNMAPPABLE} if the character is not mapped
+     */
+    public int encode(int ch) {
+        return (ch & ~0xFFFF) == 0 ? pages[ch >> 8][ch & 0xFF] : UNMAPPABLE;
+    }
+
+    private static short[] createEmptyPage() {
+        short[] page = new short[256];
+        Arrays.fill(page, (short)UNMAPPABLE);
+        return page;
+    }
+
+}
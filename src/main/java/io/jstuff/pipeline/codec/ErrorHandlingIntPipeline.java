@@ -2,7 +2,7 @@
  * @(#) ErrorHandlingIntPipeline.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023, 2025 Peter Wall
+ * Copyright (c) 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,8 @@ package io.jstuff.pipeline.codec;
 import io.jstuff.pipeline.AbstractIntPipeline;
 import io.jstuff.pipeline.IntAcceptor;
 import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.jfr.PipelineEvents;
+import io.jstuff.pipeline.metrics.PipelineMetrics;
 
 /**
  * Base class for encoder and decoder {@link IntPipeline} classes to implement the error strategy.
@@ -38,15 +40,36 @@ import io.jstuff.pipeline.IntPipeline;
 public abstract class ErrorHandlingIntPipeline<R> extends AbstractIntPipeline<R> {
 
     private final ErrorStrategy errorStrategy;
+    private PipelineMetrics errorMetrics;
 
     protected ErrorHandlingIntPipeline(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream);
         this.errorStrategy = errorStrategy;
     }
 
+    public ErrorStrategy getErrorStrategy() {
+        return errorStrategy;
+    }
+
+    public PipelineMetrics getErrorMetrics() {
+        return errorMetrics;
+    }
+
+    /**
+     * Set a {@link PipelineMetrics} to record the errors handled by this pipeline, by {@link ErrorStrategy}.
+     *
+     * @param   errorMetrics    the {@link PipelineMetrics} (or {@code null} to stop recording errors)
+     */
+    public void setErrorMetrics(PipelineMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
     protected void handleError(int value) {
+        if (errorMetrics != null)
+            errorMetrics.recordError(errorStrategy);
         if (errorStrategy instanceof ErrorStrategy.ThrowException)
             throw new EncoderException(value);
+        PipelineEvents.errorHandled(this, errorStrategy, value);
         if (errorStrategy instanceof ErrorStrategy.Substitute)
             emit(((ErrorStrategy.Substitute)errorStrategy).getSubstitute());
         // IGNORE will simply drop through
@@ -2,7 +2,7 @@
  * @(#) SwitchableDecoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -72,6 +72,28 @@ public class SwitchableDecoder<R> extends AbstractIntPipeline<R> {
             emit(value);
     }
 
+    /**
+     * Accept a block of bytes, after {@code closed} check.  If a delegate is present, the block is forwarded to it as a
+     * block, so that a decoder with a block decoding loop can use it; otherwise the bytes are emitted individually.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        if (delegate != null)
+            delegate.acceptBlock(bytes, offset, length);
+        else
+            super.acceptIntBlock(bytes, offset, length);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        delegate = null;
+    }
+
     /**
      * Return {@code true} if all sequences in the input to this stage of the pipeline are complete, that is, the input
      * is not in the middle of a sequence requiring more data.
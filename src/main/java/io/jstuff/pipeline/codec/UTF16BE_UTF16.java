@@ -2,7 +2,7 @@
  * @(#) UTF16BE_UTF16.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,6 +27,7 @@ package io.jstuff.pipeline.codec;
 
 import io.jstuff.pipeline.AbstractIntPipeline;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.StringAcceptor;
 
@@ -38,6 +39,9 @@ import io.jstuff.pipeline.StringAcceptor;
  */
 public class UTF16BE_UTF16<R> extends AbstractIntPipeline<R> {
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new UTF16BE_UTF16<>(new StringAcceptor()));
+
     private boolean midCharacter;
     private int stored;
 
@@ -58,6 +62,12 @@ public class UTF16BE_UTF16<R> extends AbstractIntPipeline<R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        midCharacter = false;
+    }
+
     /**
      * Return {@code true} if all sequences in the input to this stage of the pipeline are complete, that is, the input
      * is not in the middle of a sequence requiring more data.
@@ -76,10 +86,7 @@ public class UTF16BE_UTF16<R> extends AbstractIntPipeline<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(byte[] input) {
-        IntPipeline<String> pipe = new UTF16BE_UTF16<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
 }
@@ -2,7 +2,7 @@
  * @(#) UTF16_ASCII.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023, 2025 Peter Wall
+ * Copyright (c) 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,6 +27,7 @@ package io.jstuff.pipeline.codec;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 
 /**
@@ -37,6 +38,9 @@ import io.jstuff.pipeline.IntPipeline;
  */
 public class UTF16_ASCII<R> extends ErrorHandlingIntPipeline<R> {
 
+    private static final IntAcceptorPool<byte[]> pool =
+            new IntAcceptorPool<>(() -> new UTF16_ASCII<>(new ByteArrayAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     public UTF16_ASCII(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream, errorStrategy);
     }
@@ -61,6 +65,8 @@ public class UTF16_ASCII<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a byte array
      */
     public static byte[] convert(String input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
         IntPipeline<byte[]> pipe = new UTF16_ASCII<>(new ByteArrayAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
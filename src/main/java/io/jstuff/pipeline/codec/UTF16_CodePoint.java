@@ -2,7 +2,7 @@
  * @(#) UTF16_CodePoint.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -68,6 +68,13 @@ public class UTF16_CodePoint<R> extends ErrorHandlingIntPipeline<R> {
         state.accept(value);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        state = normal;
+        highSurrogate = 0;
+    }
+
     @Override
     public boolean isStageComplete() {
         return state == normal;
@@ -0,0 +1,233 @@
+/*
+ * @(#) UTF16_UTF8.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
+import io.jstuff.pipeline.IntPipeline;
+
+/**
+ * An encoder {@link IntPipeline} to convert UTF-16 to UTF-8.  Surrogate pairs are combined and encoded as 4-byte
+ * sequences; unpaired surrogates are reported using the {@link ErrorStrategy}.  For convenience, values above
+ * {@code 0xFFFF} are accepted as Unicode code points, so this encoder may be used in place of {@link CodePoint_UTF8}.
+ *
+ * <p>Blocks of characters (from arrays or strings) are encoded in a single loop, with a fast path for runs of ASCII
+ * characters, and the resulting bytes are passed to the downstream acceptor as blocks.</p>
+ *
+ * @author  Peter Wall
+ * @param   <R>     the pipeline result type
+ */
+public class UTF16_UTF8<R> extends ErrorHandlingIntPipeline<R> {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final IntAcceptorPool<byte[]> pool =
+            new IntAcceptorPool<>(() -> new UTF16_UTF8<>(new ByteArrayAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
+    private int highSurrogate;
+    private byte[] outputBuffer;
+    private char[] inputBuffer;
+
+    public UTF16_UTF8(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
+        super(downstream, errorStrategy);
+        highSurrogate = 0;
+    }
+
+    public UTF16_UTF8(IntAcceptor<? extends R> downstream) {
+        this(downstream, ErrorStrategy.THROW_EXCEPTION);
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (highSurrogate != 0) {
+            int high = highSurrogate;
+            highSurrogate = 0;
+            if (value >= Character.MIN_LOW_SURROGATE && value <= Character.MAX_LOW_SURROGATE) {
+                int codePoint = Character.toCodePoint((char)high, (char)value);
+                emit(0xF0 | codePoint >> 18);
+                emit(0x80 | ((codePoint >> 12) & 0x3F));
+                emit(0x80 | ((codePoint >> 6) & 0x3F));
+                emit(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            handleError(high);
+        }
+        if (value <= 0x7F)
+            emit(value);
+        else if (value <= 0x7FF) {
+            emit(0xC0 | value >> 6);
+            emit(0x80 | (value & 0x3F));
+        }
+        else if (value >= Character.MIN_HIGH_SURROGATE && value <= Character.MAX_HIGH_SURROGATE)
+            highSurrogate = value;
+        else if (value >= Character.MIN_LOW_SURROGATE && value <= Character.MAX_LOW_SURROGATE)
+            handleError(value);
+        else if (value <= 0xFFFF) {
+            emit(0xE0 | value >> 12);
+            emit(0x80 | ((value >> 6) & 0x3F));
+            emit(0x80 | (value & 0x3F));
+        }
+        else if (value <= 0x10FFFF) {
+            emit(0xF0 | value >> 18);
+            emit(0x80 | ((value >> 12) & 0x3F));
+            emit(0x80 | ((value >> 6) & 0x3F));
+            emit(0x80 | (value & 0x3F));
+        }
+        else
+            handleError(value);
+    }
+
+    /**
+     * Accept a block of characters, after {@code closed} check.  The characters are encoded into an internal buffer,
+     * which is passed to the downstream acceptor as a block of bytes.
+     *
+     * @param   chars       the {@code char} array
+     * @param   offset      the starting offset
+     * @param   length      the number of characters to accept
+     */
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        int i = offset;
+        int n = offset + length;
+        if (highSurrogate != 0 && i < n)
+            acceptInt(chars[i++]);
+        byte[] output = outputBuffer;
+        if (output == null)
+            outputBuffer = output = new byte[BUFFER_SIZE];
+        int outputIndex = 0;
+        while (i < n) {
+            int ch = chars[i];
+            if (ch < 0x80) {
+                if (outputIndex == BUFFER_SIZE) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                int limit = Math.min(n, i + BUFFER_SIZE - outputIndex);
+                do {
+                    output[outputIndex++] = (byte)ch;
+                } while (++i < limit && (ch = chars[i]) < 0x80);
+                continue;
+            }
+            if (outputIndex > BUFFER_SIZE - 4) {
+                emitBlock(output, 0, outputIndex);
+                outputIndex = 0;
+            }
+            i++;
+            if (ch < 0x800) {
+                output[outputIndex++] = (byte)(0xC0 | ch >> 6);
+                output[outputIndex++] = (byte)(0x80 | (ch & 0x3F));
+            }
+            else if (ch < Character.MIN_SURROGATE || ch > Character.MAX_SURROGATE) {
+                output[outputIndex++] = (byte)(0xE0 | ch >> 12);
+                output[outputIndex++] = (byte)(0x80 | ((ch >> 6) & 0x3F));
+                output[outputIndex++] = (byte)(0x80 | (ch & 0x3F));
+            }
+            else if (ch <= Character.MAX_HIGH_SURROGATE && i < n && Character.isLowSurrogate(chars[i])) {
+                int codePoint = Character.toCodePoint((char)ch, chars[i++]);
+                output[outputIndex++] = (byte)(0xF0 | codePoint >> 18);
+                output[outputIndex++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                output[outputIndex++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                output[outputIndex++] = (byte)(0x80 | (codePoint & 0x3F));
+            }
+            else if (ch <= Character.MAX_HIGH_SURROGATE && i == n)
+                highSurrogate = ch; // pair may be completed by the next block
+            else {
+                if (outputIndex > 0) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                handleError(ch);
+            }
+        }
+        if (outputIndex > 0)
+            emitBlock(output, 0, outputIndex);
+    }
+
+    /**
+     * Accept a {@link CharSequence} (<i>e.g.</i> {@link String}).  The characters are copied in blocks to an internal
+     * buffer and encoded using the block encoding loop.
+     *
+     * @param   cs          the {@link CharSequence}
+     */
+    @Override
+    public void accept(CharSequence cs) {
+        if (isClosed())
+            throw new IllegalStateException("Acceptor is closed");
+        char[] input = inputBuffer;
+        if (input == null)
+            inputBuffer = input = new char[BUFFER_SIZE];
+        for (int start = 0, n = cs.length(); start < n; ) {
+            int end = Math.min(n, start + BUFFER_SIZE);
+            if (cs instanceof String)
+                ((String)cs).getChars(start, end, input, 0);
+            else {
+                for (int i = start; i < end; i++)
+                    input[i - start] = cs.charAt(i);
+            }
+            acceptIntBlock(input, 0, end - start);
+            start = end;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        highSurrogate = 0;
+    }
+
+    @Override
+    public boolean isStageComplete() {
+        return highSurrogate == 0;
+    }
+
+    /**
+     * Convert a {@code String} to a byte array using the {@code UTF16_UTF8} converter.
+     *
+     * @param   input           the input as a {@code String}
+     * @param   errorStrategy   the {@link ErrorStrategy}
+     * @return                  the converted data as a byte array
+     */
+    public static byte[] convert(String input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
+        IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor(input.length()), errorStrategy);
+        pipe.accept(input);
+        pipe.safeClose();
+        return pipe.getResult();
+    }
+
+    /**
+     * Convert a {@code String} to a byte array using the {@code UTF16_UTF8} converter.
+     *
+     * @param   input   the input as a {@code String}
+     * @return          the converted data as a byte array
+     */
+    public static byte[] convert(String input) {
+        return convert(input, ErrorStrategy.THROW_EXCEPTION);
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) UTF16_Windows1252.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,6 +27,7 @@ package io.jstuff.pipeline.codec;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 
 /**
@@ -37,12 +38,15 @@ import io.jstuff.pipeline.IntPipeline;
  */
 public class UTF16_Windows1252<R> extends EncodingPipeline<R> {
 
+    private static final IntAcceptorPool<byte[]> pool = new IntAcceptorPool<>(() ->
+            new UTF16_Windows1252<>(new ByteArrayAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     public UTF16_Windows1252(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
-        super(downstream, errorStrategy, createReverseTable(Windows1252_UTF16.table));
+        super(downstream, errorStrategy, SingleByteCharset.WINDOWS_1252);
     }
 
     public UTF16_Windows1252(IntAcceptor<? extends R> downstream) {
-        super(downstream, ErrorStrategy.THROW_EXCEPTION, createReverseTable(Windows1252_UTF16.table));
+        super(downstream, ErrorStrategy.THROW_EXCEPTION, SingleByteCharset.WINDOWS_1252);
     }
 
     /**
@@ -53,6 +57,8 @@ public class UTF16_Windows1252<R> extends EncodingPipeline<R> {
      * @return                  the converted data as a byte array
      */
     public static byte[] convert(String input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
         IntPipeline<byte[]> pipe = new UTF16_Windows1252<>(new ByteArrayAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
@@ -2,7 +2,7 @@
  * @(#) UTF32LE_CodePoint.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -61,6 +61,13 @@ public class UTF32LE_CodePoint<R> extends AbstractIntPipeline<R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        index = 0;
+        stored = 0;
+    }
+
     /**
      * Return {@code true} if all sequences in the input to this stage of the pipeline are complete, that is, the input
      * is not in the middle of a sequence requiring more data.
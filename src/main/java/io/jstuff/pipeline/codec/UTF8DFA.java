@@ -0,0 +1,140 @@
+/*
+ * @(#) UTF8DFA.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+/**
+ * Tables for a table-driven UTF-8 decoder, in the style of the DFA described by Bjoern Hoehrmann.  Each byte value is
+ * mapped to a character class, and the combination of the current state and the character class gives the next
+ * state.  States are pre-multiplied by the number of character classes, so that the next state may be found by a
+ * single array index.
+ *
+ * <p>The automaton rejects overlong encodings, encoded surrogate characters and code points above {@code 0x10FFFF}.</p>
+ *
+ * @author  Peter Wall
+ */
+final class UTF8DFA {
+
+    static final int ACCEPT = 0;
+    static final int REJECT = 12;
+
+    private static final int ONE_MORE = 24;
+    private static final int TWO_MORE = 36;
+    private static final int AFTER_E0 = 48;
+    private static final int AFTER_ED = 60;
+    private static final int AFTER_F0 = 72;
+    private static final int AFTER_F1_F3 = 84;
+    private static final int AFTER_F4 = 96;
+
+    private static final int CLASS_ASCII = 0;
+    private static final int CLASS_CONTINUATION_80_8F = 1;
+    private static final int CLASS_LEAD_C2_DF = 2;
+    private static final int CLASS_LEAD_E1_EC_EE_EF = 3;
+    private static final int CLASS_LEAD_ED = 4;
+    private static final int CLASS_LEAD_F4 = 5;
+    private static final int CLASS_LEAD_F1_F3 = 6;
+    private static final int CLASS_CONTINUATION_A0_BF = 7;
+    private static final int CLASS_INVALID = 8;
+    private static final int CLASS_CONTINUATION_90_9F = 9;
+    private static final int CLASS_LEAD_E0 = 10;
+    private static final int CLASS_LEAD_F0 = 11;
+
+    private static final int NUMBER_OF_CLASSES = 12;
+    private static final int NUMBER_OF_STATES = 9;
+
+    /** The character class for each byte value. */
+    static final byte[] classes = new byte[256];
+
+    /** The next state, indexed by the current state plus the character class. */
+    static final byte[] transitions = new byte[NUMBER_OF_STATES * NUMBER_OF_CLASSES];
+
+    static {
+        for (int i = 0x00; i <= 0x7F; i++)
+            classes[i] = CLASS_ASCII;
+        for (int i = 0x80; i <= 0x8F; i++)
+            classes[i] = CLASS_CONTINUATION_80_8F;
+        for (int i = 0x90; i <= 0x9F; i++)
+            classes[i] = CLASS_CONTINUATION_90_9F;
+        for (int i = 0xA0; i <= 0xBF; i++)
+            classes[i] = CLASS_CONTINUATION_A0_BF;
+        classes[0xC0] = CLASS_INVALID;
+        classes[0xC1] = CLASS_INVALID;
+        for (int i = 0xC2; i <= 0xDF; i++)
+            classes[i] = CLASS_LEAD_C2_DF;
+        classes[0xE0] = CLASS_LEAD_E0;
+        for (int i = 0xE1; i <= 0xEF; i++)
+            classes[i] = CLASS_LEAD_E1_EC_EE_EF;
+        classes[0xED] = CLASS_LEAD_ED;
+        classes[0xF0] = CLASS_LEAD_F0;
+        for (int i = 0xF1; i <= 0xF3; i++)
+            classes[i] = CLASS_LEAD_F1_F3;
+        classes[0xF4] = CLASS_LEAD_F4;
+        for (int i = 0xF5; i <= 0xFF; i++)
+            classes[i] = CLASS_INVALID;
+
+        for (int i = 0; i < transitions.length; i++)
+            transitions[i] = REJECT;
+
+        transitions[ACCEPT + CLASS_ASCII] = ACCEPT;
+        transitions[ACCEPT + CLASS_LEAD_C2_DF] = ONE_MORE;
+        transitions[ACCEPT + CLASS_LEAD_E1_EC_EE_EF] = TWO_MORE;
+        transitions[ACCEPT + CLASS_LEAD_ED] = AFTER_ED;
+        transitions[ACCEPT + CLASS_LEAD_E0] = AFTER_E0;
+        transitions[ACCEPT + CLASS_LEAD_F0] = AFTER_F0;
+        transitions[ACCEPT + CLASS_LEAD_F1_F3] = AFTER_F1_F3;
+        transitions[ACCEPT + CLASS_LEAD_F4] = AFTER_F4;
+
+        setContinuation(ONE_MORE, ACCEPT, true, true, true);
+        setContinuation(TWO_MORE, ONE_MORE, true, true, true);
+        setContinuation(AFTER_E0, ONE_MORE, false, false, true);
+        setContinuation(AFTER_ED, ONE_MORE, true, true, false);
+        setContinuation(AFTER_F0, TWO_MORE, false, true, true);
+        setContinuation(AFTER_F1_F3, TWO_MORE, true, true, true);
+        setContinuation(AFTER_F4, TWO_MORE, true, false, false);
+    }
+
+    private UTF8DFA() {}
+
+    private static void setContinuation(int state, int nextState, boolean allow80, boolean allow90, boolean allowA0) {
+        if (allow80)
+            transitions[state + CLASS_CONTINUATION_80_8F] = (byte)nextState;
+        if (allow90)
+            transitions[state + CLASS_CONTINUATION_90_9F] = (byte)nextState;
+        if (allowA0)
+            transitions[state + CLASS_CONTINUATION_A0_BF] = (byte)nextState;
+    }
+
+    /**
+     * Get the initial code point bits from a lead byte, using the character class to determine the mask.
+     *
+     * @param   value       the byte value
+     * @param   byteClass   the character class of the byte
+     * @return              the code point bits
+     */
+    static int leadBits(int value, int byteClass) {
+        return (0xFF >> byteClass) & value;
+    }
+
+}
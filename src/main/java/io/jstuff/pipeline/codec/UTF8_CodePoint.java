@@ -2,7 +2,7 @@
  * @(#) UTF8_CodePoint.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,83 +26,107 @@
 package io.jstuff.pipeline.codec;
 
 import java.util.List;
-import java.util.function.IntConsumer;
 
 import io.jstuff.pipeline.IntAcceptor;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 
 /**
- * A decoder {@link IntPipeline} to convert UTF-8 to Unicode code points.
+ * A decoder {@link IntPipeline} to convert UTF-8 to Unicode code points.  The decoding uses the table-driven automaton
+ * in {@link UTF8DFA}, which rejects overlong encodings, encoded surrogates and code points above {@code 0x10FFFF}.
  *
  * @author  Peter Wall
  * @param   <R>     the pipeline result type
  */
 public class UTF8_CodePoint<R> extends ErrorHandlingIntPipeline<R> {
 
-    private final IntConsumer threeByte1 = i -> intermediate(i, this::terminal);
-    private final IntConsumer fourByte2 = i -> intermediate(i, this::terminal);
-    private final IntConsumer fourByte1 = i -> intermediate(i, fourByte2);
-    private final IntConsumer normal = i -> {
-        if ((i & 0x80) == 0)
-            emit(i);
-        else if ((i & 0x40) == 0)
-            handleError(i);
-        else if ((i & 0x20) == 0)
-            startSequence(i & 0x1F, this::terminal);
-        else if ((i & 0x10) == 0)
-            startSequence(i & 0x0F, threeByte1);
-        else if ((i & 0x08) == 0)
-            startSequence(i & 0x07, fourByte1);
-        else
-            handleError(i);
-    };
+    private static final int BUFFER_SIZE = 1024;
 
-    private IntConsumer state;
+    private int state;
     private int codePoint;
+    private int[] outputBuffer;
 
     public UTF8_CodePoint(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream, errorStrategy);
-        state = normal;
+        state = UTF8DFA.ACCEPT;
     }
 
     public UTF8_CodePoint(IntAcceptor<? extends R> downstream) {
-        super(downstream, ErrorStrategy.THROW_EXCEPTION);
-        state = normal;
+        this(downstream, ErrorStrategy.THROW_EXCEPTION);
     }
 
     @Override
     public void acceptInt(int value) {
-        state.accept(value);
+        if ((value & ~0xFF) != 0) {
+            state = UTF8DFA.ACCEPT;
+            handleError(value);
+            return;
+        }
+        int byteClass = UTF8DFA.classes[value];
+        codePoint = state == UTF8DFA.ACCEPT ? UTF8DFA.leadBits(value, byteClass) : (codePoint << 6) | (value & 0x3F);
+        state = UTF8DFA.transitions[state + byteClass];
+        if (state == UTF8DFA.ACCEPT)
+            emit(codePoint);
+        else if (state == UTF8DFA.REJECT) {
+            state = UTF8DFA.ACCEPT;
+            handleError(value);
+        }
     }
 
+    /**
+     * Accept a block of bytes, after {@code closed} check.  The bytes are decoded into an internal buffer, which is
+     * passed to the downstream acceptor as a block of code points.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
     @Override
-    public boolean isStageComplete() {
-        return state == normal;
-    }
-
-    private void startSequence(int i, IntConsumer nextState) {
-        codePoint = i;
-        state = nextState;
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        int[] output = outputBuffer;
+        if (output == null)
+            outputBuffer = output = new int[BUFFER_SIZE];
+        int outputIndex = 0;
+        int st = state;
+        int cp = codePoint;
+        for (int i = offset, n = offset + length; i < n; i++) {
+            int value = bytes[i] & 0xFF;
+            int byteClass = UTF8DFA.classes[value];
+            cp = st == UTF8DFA.ACCEPT ? UTF8DFA.leadBits(value, byteClass) : (cp << 6) | (value & 0x3F);
+            st = UTF8DFA.transitions[st + byteClass];
+            if (st == UTF8DFA.ACCEPT) {
+                if (outputIndex == BUFFER_SIZE) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                output[outputIndex++] = cp;
+            }
+            else if (st == UTF8DFA.REJECT) {
+                if (outputIndex > 0) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                st = UTF8DFA.ACCEPT;
+                state = st;
+                handleError(value);
+            }
+        }
+        state = st;
+        codePoint = cp;
+        if (outputIndex > 0)
+            emitBlock(output, 0, outputIndex);
     }
 
-    private void intermediate(int i, IntConsumer nextState) {
-        if ((i & 0xC0) == 0x80) {
-            codePoint = (codePoint << 6) | (i & 0x3F);
-            state = nextState;
-        }
-        else {
-            handleError(i);
-            state = normal;
-        }
+    @Override
+    public void reset() {
+        super.reset();
+        state = UTF8DFA.ACCEPT;
+        codePoint = 0;
     }
 
-    private void terminal(int i) {
-        if ((i & 0xC0) == 0x80)
-            emit((codePoint << 6) | (i & 0x3F));
-        else
-            handleError(i);
-        state = normal;
+    @Override
+    public boolean isStageComplete() {
+        return state == UTF8DFA.ACCEPT;
     }
 
     /**
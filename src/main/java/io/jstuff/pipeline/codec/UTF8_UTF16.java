@@ -2,7 +2,7 @@
  * @(#) UTF8_UTF16.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,90 +25,166 @@
 
 package io.jstuff.pipeline.codec;
 
-import java.util.function.IntConsumer;
+import java.nio.ByteBuffer;
 
+import io.jstuff.pipeline.CompactStringAcceptor;
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
-import io.jstuff.pipeline.StringAcceptor;
 
 /**
- * A decoder {@link IntPipeline} to convert UTF-8 to UTF-16.
+ * A decoder {@link IntPipeline} to convert UTF-8 to UTF-16.  The decoding uses the table-driven automaton in
+ * {@link UTF8DFA}, which rejects overlong encodings, encoded surrogates and code points above {@code 0x10FFFF}.
+ *
+ * <p>Blocks of bytes (from arrays or {@link ByteBuffer}s) are decoded in a single loop, and the resulting characters
+ * are passed to the downstream acceptor as blocks.  Runs of ASCII characters are located eight bytes at a time and
+ * copied without passing through the automaton.</p>
  *
  * @author  Peter Wall
  * @param   <R>     the pipeline result type
  */
 public class UTF8_UTF16<R> extends ErrorHandlingIntPipeline<R> {
 
-    private final IntConsumer threeByte1 = i -> intermediate(i, this::terminal);
-    private final IntConsumer fourByte2 = i -> intermediate(i, this::terminal);
-    private final IntConsumer fourByte1 = i -> intermediate(i, fourByte2);
-    private final IntConsumer normal = i -> {
-        if (i == -1 || (i & 0x80) == 0)
-            emit(i);
-        else if ((i & 0x40) == 0)
-            handleError(i);
-        else if ((i & 0x20) == 0)
-            startSequence(i & 0x1F, this::terminal);
-        else if ((i & 0x10) == 0)
-            startSequence(i & 0x0F, threeByte1);
-        else if ((i & 0x08) == 0)
-            startSequence(i & 0x07, fourByte1);
-        else
-            handleError(i);
-    };
-
-    private IntConsumer state;
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new UTF8_UTF16<>(new CompactStringAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
+    private int state;
     private int codePoint;
+    private char[] outputBuffer;
 
     public UTF8_UTF16(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
         super(downstream, errorStrategy);
-        state = normal;
+        state = UTF8DFA.ACCEPT;
     }
 
     public UTF8_UTF16(IntAcceptor<? extends R> downstream) {
-        super(downstream, ErrorStrategy.THROW_EXCEPTION);
-        state = normal;
+        this(downstream, ErrorStrategy.THROW_EXCEPTION);
     }
 
     @Override
     public void acceptInt(int value) {
-        state.accept(value);
+        if ((value & ~0xFF) != 0) {
+            state = UTF8DFA.ACCEPT;
+            handleError(value);
+            return;
+        }
+        int byteClass = UTF8DFA.classes[value];
+        codePoint = state == UTF8DFA.ACCEPT ? UTF8DFA.leadBits(value, byteClass) : (codePoint << 6) | (value & 0x3F);
+        state = UTF8DFA.transitions[state + byteClass];
+        if (state == UTF8DFA.ACCEPT) {
+            if (Character.isBmpCodePoint(codePoint))
+                emit(codePoint);
+            else {
+                emit(Character.highSurrogate(codePoint));
+                emit(Character.lowSurrogate(codePoint));
+            }
+        }
+        else if (state == UTF8DFA.REJECT) {
+            state = UTF8DFA.ACCEPT;
+            handleError(value);
+        }
     }
 
+    /**
+     * Accept a block of bytes, after {@code closed} check.  The bytes are decoded into an internal buffer, which is
+     * passed to the downstream acceptor as a block of characters.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   offset      the starting offset
+     * @param   length      the number of bytes to accept
+     */
     @Override
-    public boolean isStageComplete() {
-        return state == normal;
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        char[] output = outputBuffer;
+        if (output == null)
+            outputBuffer = output = new char[BUFFER_SIZE];
+        int outputIndex = 0;
+        int st = state;
+        int cp = codePoint;
+        int i = offset;
+        int n = offset + length;
+        while (i < n) {
+            if (st == UTF8DFA.ACCEPT && bytes[i] >= 0) {
+                int runEnd = findNonASCII(bytes, i + 1, n);
+                while (i < runEnd) {
+                    if (outputIndex == BUFFER_SIZE) {
+                        emitBlock(output, 0, outputIndex);
+                        outputIndex = 0;
+                    }
+                    int count = Math.min(runEnd - i, BUFFER_SIZE - outputIndex);
+                    for (int j = 0; j < count; j++)
+                        output[outputIndex + j] = (char)bytes[i + j];
+                    outputIndex += count;
+                    i += count;
+                }
+                if (i == n)
+                    break;
+            }
+            int value = bytes[i++] & 0xFF;
+            int byteClass = UTF8DFA.classes[value];
+            cp = st == UTF8DFA.ACCEPT ? UTF8DFA.leadBits(value, byteClass) : (cp << 6) | (value & 0x3F);
+            st = UTF8DFA.transitions[st + byteClass];
+            if (st == UTF8DFA.ACCEPT) {
+                if (outputIndex > BUFFER_SIZE - 2) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                if (Character.isBmpCodePoint(cp))
+                    output[outputIndex++] = (char)cp;
+                else {
+                    output[outputIndex++] = Character.highSurrogate(cp);
+                    output[outputIndex++] = Character.lowSurrogate(cp);
+                }
+            }
+            else if (st == UTF8DFA.REJECT) {
+                if (outputIndex > 0) {
+                    emitBlock(output, 0, outputIndex);
+                    outputIndex = 0;
+                }
+                st = UTF8DFA.ACCEPT;
+                state = st;
+                handleError(value);
+            }
+        }
+        state = st;
+        codePoint = cp;
+        if (outputIndex > 0)
+            emitBlock(output, 0, outputIndex);
     }
 
-    private void startSequence(int i, IntConsumer nextState) {
-        codePoint = i;
-        state = nextState;
+    /**
+     * Find the end of a run of ASCII bytes.  The bytes are tested eight at a time by combining them with a bitwise OR
+     * (any non-ASCII byte makes the result negative), which needs only one branch for each group of eight; the bytes
+     * are combined directly rather than through a {@link ByteBuffer} view, because on Java 8 a heap buffer assembles a
+     * {@code long} one byte at a time.
+     *
+     * @param   bytes       the {@code byte} array
+     * @param   index       the starting index
+     * @param   end         the end index
+     * @return              the index of the first non-ASCII byte, or {@code end} if there is none
+     */
+    private static int findNonASCII(byte[] bytes, int index, int end) {
+        int limit = end - 8;
+        while (index <= limit && (bytes[index] | bytes[index + 1] | bytes[index + 2] | bytes[index + 3] |
+                bytes[index + 4] | bytes[index + 5] | bytes[index + 6] | bytes[index + 7]) >= 0)
+            index += 8;
+        while (index < end && bytes[index] >= 0)
+            index++;
+        return index;
     }
 
-    private void intermediate(int i, IntConsumer nextState) {
-        if ((i & 0xC0) == 0x80) {
-            codePoint = (codePoint << 6) | (i & 0x3F);
-            state = nextState;
-        }
-        else {
-            handleError(i);
-            state = normal;
-        }
+    @Override
+    public void reset() {
+        super.reset();
+        state = UTF8DFA.ACCEPT;
+        codePoint = 0;
     }
 
-    private void terminal(int i) {
-        if ((i & 0xC0) == 0x80) {
-            int c = (codePoint << 6) | (i & 0x3F);
-            if (Character.isBmpCodePoint(c))
-                emit(c);
-            else {
-                emit(Character.highSurrogate(c));
-                emit(Character.lowSurrogate(c));
-            }
-        }
-        else
-            handleError(i);
-        state = normal;
+    @Override
+    public boolean isStageComplete() {
+        return state == UTF8DFA.ACCEPT;
     }
 
     /**
@@ -119,7 +195,9 @@ public class UTF8_UTF16<R> extends ErrorHandlingIntPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static String convert(byte[] input, ErrorStrategy errorStrategy) {
-        IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor(), errorStrategy);
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
+        IntPipeline<String> pipe = new UTF8_UTF16<>(new CompactStringAcceptor(input.length), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
         return pipe.getResult();
@@ -2,7 +2,7 @@
  * @(#) Windows1252_UTF16.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023, 2025 Peter Wall
+ * Copyright (c) 2020, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,6 +26,7 @@
 package io.jstuff.pipeline.codec;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.StringAcceptor;
 
@@ -47,12 +48,15 @@ public class Windows1252_UTF16<R> extends DecodingPipeline<R> {
                     "\u00E0\u00E1\u00E2\u00E3\u00E4\u00E5\u00E6\u00E7\u00E8\u00E9\u00EA\u00EB\u00EC\u00ED\u00EE\u00EF" +
                     "\u00F0\u00F1\u00F2\u00F3\u00F4\u00F5\u00F6\u00F7\u00F8\u00F9\u00FA\u00FB\u00FC\u00FD\u00FE\u00FF";
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new Windows1252_UTF16<>(new StringAcceptor(), ErrorStrategy.THROW_EXCEPTION));
+
     public Windows1252_UTF16(IntAcceptor<? extends R> downstream, ErrorStrategy errorStrategy) {
-        super(downstream, errorStrategy, table);
+        super(downstream, errorStrategy, SingleByteCharset.WINDOWS_1252);
     }
 
     public Windows1252_UTF16(IntAcceptor<? extends R> downstream) {
-        super(downstream, ErrorStrategy.THROW_EXCEPTION, table);
+        super(downstream, ErrorStrategy.THROW_EXCEPTION, SingleByteCharset.WINDOWS_1252);
     }
 
     /**
@@ -63,6 +67,8 @@ public class Windows1252_UTF16<R> extends DecodingPipeline<R> {
      * @return                  the converted data as a {@code String}
      */
     public static String convert(byte[] input, ErrorStrategy errorStrategy) {
+        if (errorStrategy == ErrorStrategy.THROW_EXCEPTION)
+            return pool.process(input);
         IntPipeline<String> pipe = new Windows1252_UTF16<>(new StringAcceptor(), errorStrategy);
         pipe.accept(input);
         pipe.safeClose();
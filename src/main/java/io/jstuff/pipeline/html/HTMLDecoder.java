@@ -2,7 +2,7 @@
  * @(#) HTMLDecoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2025 Peter Wall
+ * Copyright (c) 2021, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -61,6 +62,9 @@ public class HTMLDecoder<R> extends DecoderBase<R> {
         Arrays.sort(reverseTable);
     }
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new HTMLDecoder<>(new StringAcceptor()));
+
     public HTMLDecoder(IntAcceptor<? extends R> downstream) {
         super(reverseTable, downstream);
     }
@@ -72,10 +76,7 @@ public class HTMLDecoder<R> extends DecoderBase<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(String input) {
-        IntPipeline<String> pipe = new HTMLDecoder<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
     /**
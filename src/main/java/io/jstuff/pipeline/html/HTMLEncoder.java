@@ -2,7 +2,7 @@
  * @(#) HTMLEncoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2022, 2023, 2025 Peter Wall
+ * Copyright (c) 2021, 2022, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,7 @@ package io.jstuff.pipeline.html;
 import java.util.List;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -214,6 +215,9 @@ public class HTMLEncoder<R> extends EncoderBase<R> {
             new MappingEntry(0x2666, "diams")
     };
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new HTMLEncoder<>(new StringAcceptor()));
+
     public HTMLEncoder(IntAcceptor<? extends R> downstream) {
         super(downstream);
     }
@@ -268,10 +272,7 @@ public class HTMLEncoder<R> extends EncoderBase<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(String input) {
-        IntPipeline<String> pipe = new HTMLEncoder<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
     /**
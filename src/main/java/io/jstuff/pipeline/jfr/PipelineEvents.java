@@ -0,0 +1,97 @@
+/*
+ * @(#) PipelineEvents.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.jfr;
+
+import io.jstuff.pipeline.BaseAcceptor;
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.metrics.PipelineMetrics;
+
+/**
+ * Notification points for Java Flight Recorder events.  This is the Java 8 version of the class, in which all the
+ * functions are no-operations (and will be eliminated by the JIT compiler); the multi-release jar contains a Java 11
+ * version that records the notifications as JFR events, when JFR is available and the events are enabled.
+ *
+ * @author  Peter Wall
+ */
+public class PipelineEvents {
+
+    /**
+     * Notify the creation of a pipeline stage or acceptor.
+     *
+     * @param   stage           the stage
+     */
+    public static void stageCreated(BaseAcceptor<?> stage) {
+    }
+
+    /**
+     * Notify the closing of a pipeline stage or acceptor.
+     *
+     * @param   stage           the stage
+     */
+    public static void stageClosed(BaseAcceptor<?> stage) {
+    }
+
+    /**
+     * Notify the return of a result from a pipeline stage.
+     *
+     * @param   stage           the stage
+     * @param   result          the result
+     */
+    public static void resultReturned(BaseAcceptor<?> stage, Object result) {
+    }
+
+    /**
+     * Notify the detection of the character set of the input by a dynamic decoder.
+     *
+     * @param   stage           the decoder
+     * @param   charsetName     the name of the character set
+     * @param   delegate        the decoder pipeline selected
+     * @param   bytesExamined   the number of bytes examined before the character set was determined
+     */
+    public static void charsetDetected(BaseAcceptor<?> stage, String charsetName, BaseAcceptor<?> delegate,
+            long bytesExamined) {
+    }
+
+    /**
+     * Notify an error handled by substitution or by ignoring the erroneous value.
+     *
+     * @param   stage           the stage
+     * @param   errorStrategy   the {@link ErrorStrategy}
+     * @param   value           the erroneous value
+     */
+    public static void errorHandled(BaseAcceptor<?> stage, ErrorStrategy errorStrategy, int value) {
+    }
+
+    /**
+     * Notify the creation of a {@link PipelineMetrics}, so that its figures may be reported periodically.
+     *
+     * @param   metrics         the {@link PipelineMetrics}
+     */
+    public static void metricsCreated(PipelineMetrics metrics) {
+    }
+
+}
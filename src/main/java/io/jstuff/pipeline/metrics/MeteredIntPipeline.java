@@ -0,0 +1,126 @@
+/*
+ * @(#) MeteredIntPipeline.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import io.jstuff.pipeline.AbstractIntPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+
+/**
+ * A pass-through {@link io.jstuff.pipeline.IntPipeline IntPipeline} that records the values, blocks and flushes passing
+ * through it in a {@link PipelineMetrics}.  Inserted between two stages of a chain, it measures the output of the
+ * upstream stage, which is also the input of the downstream stage.  If timing is enabled, the time recorded is the time
+ * taken by the rest of the chain (from this point onwards) to process the sampled value or block.
+ *
+ * @author  Peter Wall
+ * @param   <R>     the result type
+ */
+public class MeteredIntPipeline<R> extends AbstractIntPipeline<R> {
+
+    private final PipelineMetrics metrics;
+    private int sampleCount;
+
+    public MeteredIntPipeline(IntAcceptor<? extends R> downstream, PipelineMetrics metrics) {
+        super(downstream);
+        this.metrics = metrics;
+    }
+
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void acceptInt(int value) {
+        if (metrics.isEnabled()) {
+            metrics.recordValue();
+            if (isSample()) {
+                long start = System.nanoTime();
+                emit(value);
+                metrics.recordSample(System.nanoTime() - start);
+                return;
+            }
+        }
+        emit(value);
+    }
+
+    @Override
+    public void acceptIntBlock(int[] values, int offset, int length) {
+        if (metrics.isEnabled()) {
+            metrics.recordBlock(length);
+            if (isSample()) {
+                long start = System.nanoTime();
+                emitBlock(values, offset, length);
+                metrics.recordSample(System.nanoTime() - start);
+                return;
+            }
+        }
+        emitBlock(values, offset, length);
+    }
+
+    @Override
+    public void acceptIntBlock(byte[] bytes, int offset, int length) {
+        if (metrics.isEnabled()) {
+            metrics.recordBlock(length);
+            if (isSample()) {
+                long start = System.nanoTime();
+                emitBlock(bytes, offset, length);
+                metrics.recordSample(System.nanoTime() - start);
+                return;
+            }
+        }
+        emitBlock(bytes, offset, length);
+    }
+
+    @Override
+    public void acceptIntBlock(char[] chars, int offset, int length) {
+        if (metrics.isEnabled()) {
+            metrics.recordBlock(length);
+            if (isSample()) {
+                long start = System.nanoTime();
+                emitBlock(chars, offset, length);
+                metrics.recordSample(System.nanoTime() - start);
+                return;
+            }
+        }
+        emitBlock(chars, offset, length);
+    }
+
+    @Override
+    public void flush() {
+        if (metrics.isEnabled())
+            metrics.recordFlush();
+        super.flush();
+    }
+
+    private boolean isSample() {
+        int sampleInterval = metrics.getSampleInterval();
+        if (sampleInterval == 0 || ++sampleCount < sampleInterval)
+            return false;
+        sampleCount = 0;
+        return true;
+    }
+
+}
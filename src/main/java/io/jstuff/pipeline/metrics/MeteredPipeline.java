@@ -0,0 +1,79 @@
+/*
+ * @(#) MeteredPipeline.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import io.jstuff.pipeline.AbstractPipeline;
+import io.jstuff.pipeline.Acceptor;
+
+/**
+ * A pass-through {@link io.jstuff.pipeline.Pipeline Pipeline} that records the objects and flushes passing through it
+ * in a {@link PipelineMetrics}.  Inserted between two stages of a chain, it measures the output of the upstream stage,
+ * which is also the input of the downstream stage.  If timing is enabled, the time recorded is the time taken by the
+ * rest of the chain (from this point onwards) to process the sampled object.
+ *
+ * @author  Peter Wall
+ * @param   <A>     the accepted (and emitted) value type
+ * @param   <R>     the result type
+ */
+public class MeteredPipeline<A, R> extends AbstractPipeline<A, A, R> {
+
+    private final PipelineMetrics metrics;
+    private int sampleCount;
+
+    public MeteredPipeline(Acceptor<? super A, ? extends R> downstream, PipelineMetrics metrics) {
+        super(downstream);
+        this.metrics = metrics;
+    }
+
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void acceptObject(A value) {
+        if (metrics.isEnabled()) {
+            metrics.recordValue();
+            int sampleInterval = metrics.getSampleInterval();
+            if (sampleInterval > 0 && ++sampleCount >= sampleInterval) {
+                sampleCount = 0;
+                long start = System.nanoTime();
+                emit(value);
+                metrics.recordSample(System.nanoTime() - start);
+                return;
+            }
+        }
+        emit(value);
+    }
+
+    @Override
+    public void flush() {
+        if (metrics.isEnabled())
+            metrics.recordFlush();
+        super.flush();
+    }
+
+}
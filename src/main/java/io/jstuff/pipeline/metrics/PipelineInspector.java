@@ -0,0 +1,180 @@
+/*
+ * @(#) PipelineInspector.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.jstuff.pipeline.BaseAcceptor;
+import io.jstuff.pipeline.BasePipeline;
+import io.jstuff.pipeline.ForkPipeline;
+import io.jstuff.pipeline.codec.ErrorHandlingIntPipeline;
+
+/**
+ * Utility class to describe the topology of a pipeline chain, and the metrics recorded in it.  The chain is walked
+ * using {@link BasePipeline#getDownstream()} (and {@link ForkPipeline#getDownstream2()} for a fork), and a
+ * {@link Stage} is created for each acceptor in the chain, along with the {@link PipelineMetrics} of each
+ * {@link MeteredIntPipeline} or {@link MeteredPipeline}, and the error metrics of each
+ * {@link ErrorHandlingIntPipeline}.
+ *
+ * @author  Peter Wall
+ */
+public class PipelineInspector {
+
+    /**
+     * Create a {@link Stage} tree describing the chain starting at the given acceptor.
+     *
+     * @param   acceptor    the first acceptor of the chain
+     * @return              the {@link Stage} for the first acceptor
+     */
+    public static Stage inspect(BaseAcceptor<?> acceptor) {
+        List<Stage> downstream;
+        if (acceptor instanceof ForkPipeline) {
+            ForkPipeline<?, ?> fork = (ForkPipeline<?, ?>)acceptor;
+            downstream = new ArrayList<>(2);
+            downstream.add(inspect(fork.getDownstream()));
+            downstream.add(inspect(fork.getDownstream2()));
+        }
+        else if (acceptor instanceof BasePipeline)
+            downstream = Collections.singletonList(inspect(((BasePipeline<?>)acceptor).getDownstream()));
+        else
+            downstream = Collections.emptyList();
+        return new Stage(acceptor, getMetrics(acceptor), downstream);
+    }
+
+    /**
+     * Get snapshots of all the {@link PipelineMetrics} in the chain starting at the given acceptor, in chain order
+     * (depth-first for a fork).
+     *
+     * @param   acceptor    the first acceptor of the chain
+     * @return              the list of {@link PipelineMetrics.Snapshot}s
+     */
+    public static List<PipelineMetrics.Snapshot> snapshot(BaseAcceptor<?> acceptor) {
+        List<PipelineMetrics.Snapshot> list = new ArrayList<>();
+        addSnapshots(list, inspect(acceptor));
+        return list;
+    }
+
+    /**
+     * Create a multi-line description of the chain starting at the given acceptor, with one line per stage (the
+     * branches of a fork are indented).
+     *
+     * @param   acceptor    the first acceptor of the chain
+     * @return              the description
+     */
+    public static String describe(BaseAcceptor<?> acceptor) {
+        StringBuilder sb = new StringBuilder();
+        describe(sb, inspect(acceptor), "");
+        return sb.toString();
+    }
+
+    private static void addSnapshots(List<PipelineMetrics.Snapshot> list, Stage stage) {
+        if (stage.getMetrics() != null)
+            list.add(stage.getMetrics().snapshot());
+        for (Stage downstream : stage.getDownstream())
+            addSnapshots(list, downstream);
+    }
+
+    private static void describe(StringBuilder sb, Stage stage, String indent) {
+        sb.append(indent).append(stage).append('\n');
+        List<Stage> downstream = stage.getDownstream();
+        if (downstream.size() == 1)
+            describe(sb, downstream.get(0), indent);
+        else {
+            for (Stage branch : downstream)
+                describe(sb, branch, indent + "  ");
+        }
+    }
+
+    private static PipelineMetrics getMetrics(BaseAcceptor<?> acceptor) {
+        if (acceptor instanceof MeteredIntPipeline)
+            return ((MeteredIntPipeline<?>)acceptor).getMetrics();
+        if (acceptor instanceof MeteredPipeline)
+            return ((MeteredPipeline<?, ?>)acceptor).getMetrics();
+        if (acceptor instanceof ErrorHandlingIntPipeline)
+            return ((ErrorHandlingIntPipeline<?>)acceptor).getErrorMetrics();
+        return null;
+    }
+
+    /**
+     * A stage in a pipeline chain.
+     */
+    public static class Stage {
+
+        private final BaseAcceptor<?> acceptor;
+        private final PipelineMetrics metrics;
+        private final List<Stage> downstream;
+
+        public Stage(BaseAcceptor<?> acceptor, PipelineMetrics metrics, List<Stage> downstream) {
+            this.acceptor = acceptor;
+            this.metrics = metrics;
+            this.downstream = downstream;
+        }
+
+        public BaseAcceptor<?> getAcceptor() {
+            return acceptor;
+        }
+
+        /**
+         * Get the name of the stage (the simple class name, or the full class name for an anonymous class).
+         *
+         * @return  the name
+         */
+        public String getName() {
+            Class<?> stageClass = acceptor.getClass();
+            String simpleName = stageClass.getSimpleName();
+            return simpleName.isEmpty() ? stageClass.getName() : simpleName;
+        }
+
+        /**
+         * Get the {@link PipelineMetrics} for the stage (the metrics of a metering stage, or the error metrics of an
+         * {@link ErrorHandlingIntPipeline}), if any.
+         *
+         * @return  the {@link PipelineMetrics}, or {@code null}
+         */
+        public PipelineMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Get the downstream stages (empty for a terminal acceptor; two entries for a fork).
+         *
+         * @return  the list of downstream stages
+         */
+        public List<Stage> getDownstream() {
+            return downstream;
+        }
+
+        @Override
+        public String toString() {
+            return metrics == null ? getName() : getName() + " [" + metrics + ']';
+        }
+
+    }
+
+}
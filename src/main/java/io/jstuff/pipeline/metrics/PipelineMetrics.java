@@ -0,0 +1,285 @@
+/*
+ * @(#) PipelineMetrics.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.jfr.PipelineEvents;
+
+/**
+ * A set of counters for a point in a pipeline chain, updated by a {@link MeteredIntPipeline} or
+ * {@link MeteredPipeline} (values, blocks and flushes), or by an
+ * {@link io.jstuff.pipeline.codec.ErrorHandlingIntPipeline ErrorHandlingIntPipeline} (errors handled, by
+ * {@link ErrorStrategy}).  The counters use {@link LongAdder}, so a single {@code PipelineMetrics} may be shared by
+ * chains running on different threads, to give aggregate figures.
+ *
+ * <p>When the metrics are disabled, the metering stages perform only a single test of the {@code enabled} flag before
+ * passing each value on, so they may be left in place in production chains.  Timing is optional:  if a sample interval
+ * is set, one value (or block) in every {@code sampleInterval} is timed using {@link System#nanoTime()}, and the time
+ * taken by the downstream acceptor to process it is accumulated.</p>
+ *
+ * @author  Peter Wall
+ */
+public class PipelineMetrics {
+
+    private final String name;
+    private final LongAdder values = new LongAdder();
+    private final LongAdder blocks = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder errorsThrown = new LongAdder();
+    private final LongAdder errorsSubstituted = new LongAdder();
+    private final LongAdder errorsIgnored = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private volatile boolean enabled;
+    private volatile int sampleInterval;
+
+    /**
+     * Construct a {@code PipelineMetrics} with the given name, enabled or not, and with the given sample interval.
+     *
+     * @param   name            the name (used in reports)
+     * @param   enabled         {@code true} if the metrics are to be enabled initially
+     * @param   sampleInterval  the timing sample interval (0 for no timing)
+     * @throws  IllegalArgumentException    if the sample interval is negative
+     */
+    public PipelineMetrics(String name, boolean enabled, int sampleInterval) {
+        this.name = name;
+        this.enabled = enabled;
+        setSampleInterval(sampleInterval);
+        PipelineEvents.metricsCreated(this);
+    }
+
+    /**
+     * Construct an enabled {@code PipelineMetrics} with the given name, without timing.
+     *
+     * @param   name            the name (used in reports)
+     */
+    public PipelineMetrics(String name) {
+        this(name, true, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Set the timing sample interval:  one value (or block) in every {@code sampleInterval} will be timed.  A value of
+     * zero disables timing.
+     *
+     * @param   sampleInterval  the sample interval
+     * @throws  IllegalArgumentException    if the sample interval is negative
+     */
+    public void setSampleInterval(int sampleInterval) {
+        if (sampleInterval < 0)
+            throw new IllegalArgumentException("Sample interval must not be negative");
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Record a single value.
+     */
+    public void recordValue() {
+        values.increment();
+    }
+
+    /**
+     * Record a block of values.
+     *
+     * @param   length  the number of values in the block
+     */
+    public void recordBlock(int length) {
+        blocks.increment();
+        values.add(length);
+    }
+
+    /**
+     * Record a flush operation.
+     */
+    public void recordFlush() {
+        flushes.increment();
+    }
+
+    /**
+     * Record an error handled using the given {@link ErrorStrategy}.  This is recorded whether or not the metrics are
+     * enabled, since errors are expected to be rare.
+     *
+     * @param   errorStrategy   the {@link ErrorStrategy}
+     */
+    public void recordError(ErrorStrategy errorStrategy) {
+        if (errorStrategy instanceof ErrorStrategy.ThrowException)
+            errorsThrown.increment();
+        else if (errorStrategy instanceof ErrorStrategy.Substitute)
+            errorsSubstituted.increment();
+        else
+            errorsIgnored.increment();
+    }
+
+    /**
+     * Record a timing sample.
+     *
+     * @param   nanos   the elapsed time in nanoseconds
+     */
+    public void recordSample(long nanos) {
+        samples.increment();
+        sampledNanos.add(nanos);
+    }
+
+    /**
+     * Reset all counters to zero.  Updates made concurrently with the reset may or may not be included.
+     */
+    public void reset() {
+        values.reset();
+        blocks.reset();
+        flushes.reset();
+        errorsThrown.reset();
+        errorsSubstituted.reset();
+        errorsIgnored.reset();
+        samples.reset();
+        sampledNanos.reset();
+    }
+
+    /**
+     * Get a snapshot of the current counter values.  The counters are read individually, so a snapshot taken while the
+     * pipeline is active is not an atomic view across all counters.
+     *
+     * @return  the {@link Snapshot}
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(name, values.sum(), blocks.sum(), flushes.sum(), errorsThrown.sum(),
+                errorsSubstituted.sum(), errorsIgnored.sum(), samples.sum(), sampledNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * An immutable snapshot of the counters of a {@link PipelineMetrics}.
+     */
+    public static class Snapshot {
+
+        private final String name;
+        private final long values;
+        private final long blocks;
+        private final long flushes;
+        private final long errorsThrown;
+        private final long errorsSubstituted;
+        private final long errorsIgnored;
+        private final long samples;
+        private final long sampledNanos;
+
+        public Snapshot(String name, long values, long blocks, long flushes, long errorsThrown, long errorsSubstituted,
+                long errorsIgnored, long samples, long sampledNanos) {
+            this.name = name;
+            this.values = values;
+            this.blocks = blocks;
+            this.flushes = flushes;
+            this.errorsThrown = errorsThrown;
+            this.errorsSubstituted = errorsSubstituted;
+            this.errorsIgnored = errorsIgnored;
+            this.samples = samples;
+            this.sampledNanos = sampledNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getValues() {
+            return values;
+        }
+
+        public long getBlocks() {
+            return blocks;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+
+        public long getErrorsThrown() {
+            return errorsThrown;
+        }
+
+        public long getErrorsSubstituted() {
+            return errorsSubstituted;
+        }
+
+        public long getErrorsIgnored() {
+            return errorsIgnored;
+        }
+
+        public long getErrors() {
+            return errorsThrown + errorsSubstituted + errorsIgnored;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public long getSampledNanos() {
+            return sampledNanos;
+        }
+
+        /**
+         * Get the average time in nanoseconds taken by the downstream acceptor to process a sampled value or block.
+         *
+         * @return  the average time, or 0 if no samples have been taken
+         */
+        public double getAverageNanos() {
+            return samples == 0 ? 0 : (double)sampledNanos / samples;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(name);
+            sb.append(": values=").append(values);
+            sb.append(", blocks=").append(blocks);
+            sb.append(", flushes=").append(flushes);
+            sb.append(", errors=").append(getErrors());
+            if (samples > 0)
+                sb.append(", averageNanos=").append(Math.round(getAverageNanos()));
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * @(#) package-info.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+/**
+ * <h1>Pipeline metrics</h1>
+ *
+ * <p>Classes to record the volume of data passing through a pipeline chain, the errors handled, and optionally the
+ * time taken, and to describe the chain along with its metrics.</p>
+ *
+ * <p>A {@link io.jstuff.pipeline.metrics.MeteredIntPipeline MeteredIntPipeline} or
+ * {@link io.jstuff.pipeline.metrics.MeteredPipeline MeteredPipeline} may be inserted at any point in a chain, and an
+ * {@link io.jstuff.pipeline.codec.ErrorHandlingIntPipeline ErrorHandlingIntPipeline} may be given a
+ * {@link io.jstuff.pipeline.metrics.PipelineMetrics PipelineMetrics} to record errors;
+ * {@link io.jstuff.pipeline.metrics.PipelineInspector PipelineInspector} walks the chain to report them.</p>
+ *
+ * @author  Peter Wall
+ */
+
+package io.jstuff.pipeline.metrics;
@@ -2,7 +2,7 @@
  * @(#) FullURIEncoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2022, 2023, 2025 Peter Wall
+ * Copyright (c) 2022, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,6 +30,7 @@ import java.util.List;
 import static io.jstuff.util.IntOutput.output2Hex;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -47,6 +48,9 @@ import io.jstuff.pipeline.codec.EncoderBase;
  */
 public class FullURIEncoder<R> extends EncoderBase<R> {
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new FullURIEncoder<>(new StringAcceptor()));
+
     private final boolean encodeSpaceAsPlus;
 
     public FullURIEncoder(IntAcceptor<? extends R> downstream, boolean encodeSpaceAsPlus) {
@@ -82,10 +86,7 @@ public class FullURIEncoder<R> extends EncoderBase<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(String input) {
-        IntPipeline<String> pipe = new FullURIEncoder<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
     /**
@@ -2,7 +2,7 @@
  * @(#) URIDecoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023, 2025 Peter Wall
+ * Copyright (c) 2021, 2023, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,7 @@ package io.jstuff.pipeline.uri;
 import java.util.List;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -44,6 +45,9 @@ public class URIDecoder<R> extends ErrorHandlingIntPipeline<R> {
 
     enum State { NORMAL, FIRST, SECOND }
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new URIDecoder<>(new StringAcceptor()));
+
     private State state;
     private int character;
 
@@ -88,6 +92,13 @@ public class URIDecoder<R> extends ErrorHandlingIntPipeline<R> {
         throw new IllegalArgumentException("Illegal hex character - " + (char)ch);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        state = State.NORMAL;
+        character = 0;
+    }
+
     /**
      * Convert a {@code String} using the {@code URIDecoder} converter.
      *
@@ -95,10 +106,7 @@ public class URIDecoder<R> extends ErrorHandlingIntPipeline<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(String input) {
-        IntPipeline<String> pipe = new URIDecoder<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
     /**
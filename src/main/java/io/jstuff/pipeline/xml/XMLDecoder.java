@@ -2,7 +2,7 @@
  * @(#) XMLDecoder.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2025 Peter Wall
+ * Copyright (c) 2021, 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,6 +28,7 @@ package io.jstuff.pipeline.xml;
 import java.util.List;
 
 import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntAcceptorPool;
 import io.jstuff.pipeline.IntPipeline;
 import io.jstuff.pipeline.ListIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
@@ -50,6 +51,9 @@ public class XMLDecoder<R> extends DecoderBase<R> {
             new MappingEntry('"', "quot")
     };
 
+    private static final IntAcceptorPool<String> pool =
+            new IntAcceptorPool<>(() -> new XMLDecoder<>(new StringAcceptor()));
+
     public XMLDecoder(IntAcceptor<? extends R> downstream) {
         super(table, downstream);
     }
@@ -61,10 +65,7 @@ public class XMLDecoder<R> extends DecoderBase<R> {
      * @return          the converted data as a {@code String}
      */
     public static String convert(String input) {
-        IntPipeline<String> pipe = new XMLDecoder<>(new StringAcceptor());
-        pipe.accept(input);
-        pipe.safeClose();
-        return pipe.getResult();
+        return pool.process(input);
     }
 
     /**
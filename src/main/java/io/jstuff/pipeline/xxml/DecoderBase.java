@@ -2,7 +2,7 @@
  * @(#) DecoderBase.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -31,6 +31,10 @@ import io.jstuff.pipeline.IntAcceptor;
 /**
  * Base class for XML and HTML decoders.
  *
+ * <p>Allocation budget:  in steady state, the only allocation is the {@link String} created to look up each named
+ * entity reference (e.g. {@code &amp;amp;}); numeric character references and unescaped characters are decoded without
+ * allocation.</p>
+ *
  * @author  Peter Wall
  * @param   <R>     the pipeline result type
  */
@@ -137,4 +141,12 @@ public class DecoderBase<R> extends AbstractIntPipeline<R> {
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        sb.setLength(0);
+        number = 0;
+        state = State.NORMAL;
+    }
+
 }
@@ -0,0 +1,60 @@
+/*
+ * @(#) ErrorHandledEvent.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording an error handled by an encoder or decoder, by substituting a value or by ignoring the erroneous
+ * value.
+ *
+ * @author  Peter Wall
+ */
+@Name("io.jstuff.pipeline.ErrorHandled")
+@Label("Pipeline Error Handled")
+@Description("An invalid value has been substituted or ignored")
+@Category("Pipelines")
+class ErrorHandledEvent extends Event {
+
+    @Label("Stage Class")
+    Class<?> stageClass;
+
+    @Label("Error Strategy")
+    String strategy;
+
+    @Label("Value")
+    int value;
+
+    @Label("Substitute")
+    @Description("The substitute value, or -1 if the value was ignored")
+    int substitute;
+
+}
@@ -0,0 +1,176 @@
+/*
+ * @(#) JFRSupport.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.jfr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jdk.jfr.FlightRecorder;
+
+import io.jstuff.pipeline.BaseAcceptor;
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.metrics.PipelineMetrics;
+
+/**
+ * Implementation of the {@link PipelineEvents} notifications using JFR.  This class is loaded only if the
+ * {@code jdk.jfr} module is present.
+ *
+ * <p>Loading an event class, or registering a periodic event, initialises the JFR infrastructure, which takes a
+ * significant time.  To avoid imposing that on applications that do not use JFR, event objects are created only after
+ * the Flight Recorder has been initialised (that is, a recording has been started), and the periodic "Pipeline
+ * Throughput" event is registered only when the first {@link PipelineMetrics} is created.</p>
+ *
+ * @author  Peter Wall
+ */
+class JFRSupport {
+
+    private static final Map<PipelineMetrics, long[]> registeredMetrics = new WeakHashMap<>();
+    private static volatile boolean recorderInitialised;
+    private static boolean periodicEventAdded;
+
+    static boolean initialise() {
+        isRecorderInitialised(); // check that the JFR classes can be linked
+        return true;
+    }
+
+    /**
+     * Test whether the Flight Recorder has been initialised.  Once it has, it remains so, and the result is cached to
+     * avoid the synchronisation in {@link FlightRecorder#isInitialized()}.
+     *
+     * @return  {@code true} if the Flight Recorder has been initialised
+     */
+    private static boolean isRecorderInitialised() {
+        if (!recorderInitialised && FlightRecorder.isInitialized())
+            recorderInitialised = true;
+        return recorderInitialised;
+    }
+
+    static void stageCreated(BaseAcceptor<?> stage) {
+        if (!isRecorderInitialised())
+            return;
+        StageCreatedEvent event = new StageCreatedEvent();
+        if (event.shouldCommit()) {
+            event.stageClass = stage.getClass();
+            event.commit();
+        }
+    }
+
+    static void stageClosed(BaseAcceptor<?> stage) {
+        if (!isRecorderInitialised())
+            return;
+        StageClosedEvent event = new StageClosedEvent();
+        if (event.shouldCommit()) {
+            event.stageClass = stage.getClass();
+            event.commit();
+        }
+    }
+
+    static void resultReturned(BaseAcceptor<?> stage, Object result) {
+        if (!isRecorderInitialised())
+            return;
+        ResultEvent event = new ResultEvent();
+        if (event.shouldCommit()) {
+            event.stageClass = stage.getClass();
+            event.resultClass = result == null ? null : result.getClass();
+            event.commit();
+        }
+    }
+
+    static void charsetDetected(BaseAcceptor<?> stage, String charsetName, BaseAcceptor<?> delegate,
+            long bytesExamined) {
+        if (!isRecorderInitialised())
+            return;
+        CharsetDetectedEvent event = new CharsetDetectedEvent();
+        if (event.shouldCommit()) {
+            event.stageClass = stage.getClass();
+            event.charset = charsetName;
+            event.decoderClass = delegate.getClass();
+            event.bytesExamined = bytesExamined;
+            event.commit();
+        }
+    }
+
+    static void errorHandled(BaseAcceptor<?> stage, ErrorStrategy errorStrategy, int value) {
+        if (!isRecorderInitialised())
+            return;
+        ErrorHandledEvent event = new ErrorHandledEvent();
+        if (event.shouldCommit()) {
+            event.stageClass = stage.getClass();
+            if (errorStrategy instanceof ErrorStrategy.Substitute) {
+                event.strategy = "Substitute";
+                event.substitute = ((ErrorStrategy.Substitute)errorStrategy).getSubstitute();
+            }
+            else {
+                event.strategy = "Ignore";
+                event.substitute = -1;
+            }
+            event.value = value;
+            event.commit();
+        }
+    }
+
+    static void metricsCreated(PipelineMetrics metrics) {
+        boolean addPeriodicEvent;
+        synchronized (registeredMetrics) {
+            registeredMetrics.put(metrics, new long[1]);
+            addPeriodicEvent = !periodicEventAdded;
+            periodicEventAdded = true;
+        }
+        if (addPeriodicEvent)
+            FlightRecorder.addPeriodicEvent(ThroughputEvent.class, JFRSupport::emitThroughput);
+    }
+
+    private static void emitThroughput() {
+        List<PipelineMetrics> metricsList;
+        synchronized (registeredMetrics) {
+            metricsList = new ArrayList<>(registeredMetrics.keySet());
+        }
+        for (PipelineMetrics metrics : metricsList) {
+            long[] previous;
+            synchronized (registeredMetrics) {
+                previous = registeredMetrics.get(metrics);
+            }
+            if (previous == null)
+                continue;
+            PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+            ThroughputEvent event = new ThroughputEvent();
+            event.name = snapshot.getName();
+            event.enabled = metrics.isEnabled();
+            event.values = snapshot.getValues();
+            event.valuesSinceLast = snapshot.getValues() - previous[0];
+            event.blocks = snapshot.getBlocks();
+            event.flushes = snapshot.getFlushes();
+            event.errors = snapshot.getErrors();
+            event.averageNanos = Math.round(snapshot.getAverageNanos());
+            event.commit();
+            previous[0] = snapshot.getValues();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * @(#) ThroughputEvent.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event reporting the figures recorded by a {@link io.jstuff.pipeline.metrics.PipelineMetrics
+ * PipelineMetrics}.
+ *
+ * @author  Peter Wall
+ */
+@Name("io.jstuff.pipeline.Throughput")
+@Label("Pipeline Throughput")
+@Description("The figures recorded by a pipeline metrics object")
+@Category("Pipelines")
+@Period("10 s")
+@StackTrace(false)
+class ThroughputEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Enabled")
+    boolean enabled;
+
+    @Label("Values")
+    long values;
+
+    @Label("Values Since Last Sample")
+    long valuesSinceLast;
+
+    @Label("Blocks")
+    long blocks;
+
+    @Label("Flushes")
+    long flushes;
+
+    @Label("Errors")
+    long errors;
+
+    @Label("Average Sampled Time")
+    @Description("The average time taken by the downstream stages to process a sampled value or block")
+    @Timespan(Timespan.NANOSECONDS)
+    long averageNanos;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * @(#) AllocationMeter.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Test utility to measure heap allocation by the current thread, using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.  The operation being measured is run through
+ * a warm-up phase (to allow the JIT compiler to optimise it), and then measured over several trials; the smallest
+ * figure is taken, to exclude allocations caused by transient effects such as deoptimisation.
+ *
+ * @author  Peter Wall
+ */
+public class AllocationMeter {
+
+    public static final int DEFAULT_WARMUP_ITERATIONS = 5000;
+    public static final int DEFAULT_ITERATIONS = 1000;
+    public static final int TRIALS = 5;
+
+    private static final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean)bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled())
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        }
+        catch (LinkageError | UnsupportedOperationException ignore) {
+        }
+        return null;
+    }
+
+    /**
+     * Test whether allocation measurement is supported by the current JVM.
+     *
+     * @return      {@code true} if allocation can be measured
+     */
+    public static boolean isSupported() {
+        return threadMXBean != null;
+    }
+
+    /**
+     * Measure the number of bytes allocated by the current thread in each iteration of an operation, in steady state.
+     *
+     * @param   operation           the operation
+     * @param   warmupIterations    the number of iterations in the warm-up phase
+     * @param   iterations          the number of iterations in each trial
+     * @return                      the number of bytes allocated per iteration (rounded up)
+     * @throws  IllegalStateException   if allocation measurement is not supported
+     */
+    public static long bytesPerIteration(Runnable operation, int warmupIterations, int iterations) {
+        for (int i = 0; i < warmupIterations; i++)
+            operation.run();
+        long threadId = Thread.currentThread().getId();
+        long minimum = Long.MAX_VALUE;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long start = allocatedBytes(threadId);
+            long overhead = allocatedBytes(threadId) - start; // the measurement itself may allocate
+            long before = allocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++)
+                operation.run();
+            long allocated = allocatedBytes(threadId) - before - overhead;
+            minimum = Math.min(minimum, Math.max(allocated, 0));
+        }
+        return (minimum + iterations - 1) / iterations;
+    }
+
+    /**
+     * Measure the number of bytes allocated by the current thread in each iteration of an operation, in steady state,
+     * using the default numbers of iterations.
+     *
+     * @param   operation   the operation
+     * @return              the number of bytes allocated per iteration (rounded up)
+     * @throws  IllegalStateException   if allocation measurement is not supported
+     */
+    public static long bytesPerIteration(Runnable operation) {
+        return bytesPerIteration(operation, DEFAULT_WARMUP_ITERATIONS, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Test whether the JVM uses the object layout assumed by footprint budgets expressed in bytes:  64-bit HotSpot
+     * with compressed object pointers and compressed class pointers (the default for heaps below 32GB).  Budgets
+     * checked under a different layout would fail (or pass) for reasons unrelated to the code under test.
+     *
+     * @return      {@code true} if compressed object and class pointers are in use
+     */
+    public static boolean isCompressedLayout() {
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean bean =
+                    ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            return bean != null && "true".equals(bean.getVMOption("UseCompressedOops").getValue()) &&
+                    "true".equals(bean.getVMOption("UseCompressedClassPointers").getValue());
+        }
+        catch (LinkageError | IllegalArgumentException ignore) {
+            return false;
+        }
+    }
+
+    /**
+     * Measure the retained footprint of an object after one use.  The object is created and used once (so that any
+     * lazily-allocated buffers are included), and the allocation involved is reduced by the steady-state allocation of
+     * a further use of the same object (the transient allocation, such as a result, which is not retained).  For a
+     * pipeline stage, this is the memory retained by the stage itself (the stage object and its buffers, tables
+     * excepted).  The object must not be shared with, or registered in, any other object.
+     *
+     * @param   factory     a {@link Supplier} that creates a new instance of the object
+     * @param   use         a {@link Consumer} to exercise the object (it will be called repeatedly on the same
+     *                      instance, so it must reset the object if necessary)
+     * @param   <T>         the object type
+     * @return              the number of bytes retained by one instance after use
+     * @throws  IllegalStateException   if allocation measurement is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long footprint(Supplier<? extends T> factory, Consumer<? super T> use) {
+        Object[] holder = new Object[1];
+        long initial = bytesPerIteration(() -> {
+            T instance = factory.get();
+            use.accept(instance);
+            holder[0] = instance;
+        }, DEFAULT_WARMUP_ITERATIONS, 1);
+        T instance = (T)holder[0];
+        long transientBytes = bytesPerIteration(() -> use.accept(instance), DEFAULT_WARMUP_ITERATIONS, 1);
+        return Math.max(initial - transientBytes, 0);
+    }
+
+    /**
+     * Measure the footprint of an object, as the number of bytes allocated in its construction.  This does not include
+     * buffers allocated on first use; see {@link #footprint(Supplier, Consumer)}.
+     *
+     * @param   factory     a {@link Supplier} that creates a new instance of the object
+     * @return              the number of bytes allocated in the construction of one instance
+     * @throws  IllegalStateException   if allocation measurement is not supported
+     */
+    public static long footprint(Supplier<?> factory) {
+        return footprint(factory, instance -> {});
+    }
+
+    private static long allocatedBytes(long threadId) {
+        if (threadMXBean == null)
+            throw new IllegalStateException("Allocation measurement not supported");
+        return threadMXBean.getThreadAllocatedBytes(threadId);
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * @(#) AllocationTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import io.jstuff.pipeline.base64.Base64Decoder;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+import io.jstuff.pipeline.codec.Windows1252_UTF16;
+import io.jstuff.pipeline.html.HTMLDecoder;
+import io.jstuff.pipeline.html.HTMLEncoder;
+
+public class AllocationTest {
+
+    private static final String line = "The quick brown fox \u2014 jumps over the lazy dog";
+
+    @Test
+    public void shouldNotAllocateInSteadyStateBase64DecoderToByteArray() {
+        assumeTrue(AllocationMeter.isSupported());
+        byte[] data = new byte[1024];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte)(i * 7);
+        byte[] input = Base64.getEncoder().encode(data);
+        IntPipeline<byte[]> pipeline = new Base64Decoder<>(new ByteArrayAcceptor());
+        assertEquals(0, AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            for (byte b : input)
+                pipeline.accept(b & 0xFF);
+            pipeline.safeClose();
+        }));
+    }
+
+    @Test
+    public void shouldNotAllocateInSteadyStateHTMLEncoderToString() {
+        assumeTrue(AllocationMeter.isSupported());
+        String input = repeat("<p class=\"x\">Caf\u00E9 &amp; \u03B1\u03B2 \u2014 \u263A</p>\n", 32);
+        IntPipeline<String> pipeline = new HTMLEncoder<>(new StringAcceptor());
+        assertEquals(0, AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            pipeline.accept(input);
+            pipeline.safeClose();
+        }));
+    }
+
+    @Test
+    public void shouldNotAllocateInSteadyStateUTF8ToLinePipelineWithinLine() {
+        assumeTrue(AllocationMeter.isSupported());
+        byte[] input = line.getBytes(StandardCharsets.UTF_8);
+        IntPipeline<Integer> pipeline = new UTF8_UTF16<>(new LinePipeline<>(new Counter<>()));
+        assertEquals(0, AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            pipeline.accept(input);
+        }));
+    }
+
+    @Test
+    public void shouldAllocateOnlyOneStringPerLineInUTF8ToLinePipeline() {
+        assumeTrue(AllocationMeter.isSupported());
+        int lines = 32;
+        byte[] input = repeat(line + "\r\n\n", lines).getBytes(StandardCharsets.UTF_8);
+        IntPipeline<Integer> pipeline = new UTF8_UTF16<>(new LinePipeline<>(new Counter<>()));
+        long perIteration = AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            pipeline.accept(input);
+            pipeline.safeClose();
+        });
+        assertEquals(lines * 2, (int)pipeline.getResult());
+        long budget = lines * stringCost(line);
+        assertTrue("UTF8_UTF16 -> LinePipeline allocated " + perIteration + " bytes, budget " + budget,
+                perIteration <= budget);
+    }
+
+    @Test
+    public void shouldNotAllocateInSteadyStateHTMLDecoderForNumericReferences() {
+        assumeTrue(AllocationMeter.isSupported());
+        String input = repeat("a &#x263A; b &#8212; c\n", 32);
+        IntPipeline<String> pipeline = new HTMLDecoder<>(new StringAcceptor());
+        assertEquals(0, AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            pipeline.accept(input);
+            pipeline.safeClose();
+        }));
+    }
+
+    @Test
+    public void shouldAllocateOnlyOneStringPerNamedEntityInHTMLDecoder() {
+        assumeTrue(AllocationMeter.isSupported());
+        int entities = 32 * 4;
+        String input = repeat("a &amp; b &#x263A; &lt;p&gt; caf&eacute;\n", 32);
+        IntPipeline<String> pipeline = new HTMLDecoder<>(new StringAcceptor());
+        long perIteration = AllocationMeter.bytesPerIteration(() -> {
+            pipeline.reset();
+            pipeline.accept(input);
+            pipeline.safeClose();
+        });
+        long budget = entities * stringCost("eacute");
+        assertTrue("HTMLDecoder allocated " + perIteration + " bytes, budget " + budget, perIteration <= budget);
+    }
+
+    @Test
+    public void shouldKeepStageFootprintsWithinBudget() {
+        assumeTrue(AllocationMeter.isSupported());
+        // stage budgets are in bytes, so depend on the object layout; buffer budgets are measured on this JVM
+        assumeTrue(AllocationMeter.isCompressedLayout());
+        IntCounter intCounter = new IntCounter();
+        Counter<String> counter = new Counter<>();
+        byte[] bytes = "abc\u00E9".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        long charBuffer = AllocationMeter.footprint(() -> new char[1024]);
+        assertFootprint("UTF8_UTF16", 96 + charBuffer, () -> new UTF8_UTF16<>(intCounter), stage -> {
+            stage.reset();
+            stage.accept(direct.duplicate());
+        });
+        assertFootprint("Windows1252_UTF16", 96 + charBuffer, () -> new Windows1252_UTF16<>(intCounter), stage -> {
+            stage.reset();
+            stage.acceptBlock(bytes, 0, bytes.length);
+        });
+        assertFootprint("LinePipeline", 192, () -> new LinePipeline<>(counter), stage -> {
+            stage.reset();
+            stage.accept("abc\ndef");
+        });
+        assertFootprint("Base64Decoder", 96, () -> new Base64Decoder<>(intCounter), stage -> {
+            stage.reset();
+            stage.accept("QUJD");
+        });
+        assertFootprint("HTMLEncoder", 64, () -> new HTMLEncoder<>(intCounter), stage -> {
+            stage.reset();
+            stage.accept("<a>&\u00E9");
+        });
+        assertFootprint("HTMLDecoder", 192, () -> new HTMLDecoder<>(intCounter), stage -> {
+            stage.reset();
+            stage.accept("a &amp; &eacute; &#x41;");
+        });
+        assertFootprint("ByteArrayAcceptor", 128, ByteArrayAcceptor::new, acceptor -> {
+            acceptor.reset();
+            acceptor.accept(1);
+        });
+        assertFootprint("StringAcceptor", 192, StringAcceptor::new, acceptor -> {
+            acceptor.reset();
+            acceptor.accept('x');
+        });
+    }
+
+    private static <T> void assertFootprint(String name, long budget, Supplier<T> factory, Consumer<T> use) {
+        long footprint = AllocationMeter.footprint(factory, use);
+        assertTrue(name + " footprint " + footprint + " bytes, budget " + budget, footprint <= budget);
+    }
+
+    private static long stringCost(String string) {
+        StringBuilder sb = new StringBuilder(string);
+        Object[] holder = new Object[1];
+        return AllocationMeter.bytesPerIteration(() -> holder[0] = sb.toString());
+    }
+
+    private static String repeat(String s, int n) {
+        StringBuilder sb = new StringBuilder(s.length() * n);
+        for (int i = 0; i < n; i++)
+            sb.append(s);
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * @(#) ChannelAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class ChannelAcceptorTest {
+
+    @Test
+    public void shouldWriteBytesToChannel() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ChannelAcceptor<Void> acceptor = new ChannelAcceptor<>(Channels.newChannel(baos), 4, true);
+        acceptor.accept(1, 2, 3, 4);
+        assertEquals(0, baos.size());
+        acceptor.accept(5);
+        assertEquals(4, baos.size());
+        acceptor.acceptBlock(new byte[] { 6, 7, 8, 9, 10 }, 0, 5);
+        assertEquals(10, baos.size());
+        acceptor.accept(ByteBuffer.wrap(new byte[] { 11, 12 }));
+        acceptor.flush();
+        assertEquals(12, baos.size());
+        acceptor.accept(13);
+        acceptor.safeClose();
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13 }, baos.toByteArray());
+    }
+
+    @Test
+    public void shouldRejectNonBlockingChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.sink().configureBlocking(false);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> new ChannelAcceptor<Void>(pipe.sink()));
+            assertEquals("Channel is in non-blocking mode", e.getMessage());
+        }
+        finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    @Test
+    public void shouldFailRatherThanSpinWhenChannelBecomesNonBlocking() throws Exception {
+        Pipe pipe = Pipe.open();
+        try {
+            ChannelAcceptor<Void> acceptor = new ChannelAcceptor<>(pipe.sink(), 16);
+            pipe.sink().configureBlocking(false);
+            byte[] block = new byte[1 << 20];
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> acceptor.acceptBlock(block, 0, block.length));
+            assertEquals("Channel is in non-blocking mode", e.getMessage());
+        }
+        finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+}
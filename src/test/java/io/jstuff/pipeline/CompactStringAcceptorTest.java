@@ -0,0 +1,99 @@
+/*
+ * @(#) CompactStringAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class CompactStringAcceptorTest {
+
+    @Test
+    public void shouldAccumulateLatin1Characters() {
+        CompactStringAcceptor acceptor = new CompactStringAcceptor(2);
+        acceptor.accept("Caf\u00E9 ");
+        acceptor.acceptBlock(new byte[] { 'a', (byte)0xFF }, 0, 2);
+        acceptor.acceptBlock(new char[] { 'x', 'y', 'z' }, 1, 2);
+        acceptor.safeClose();
+        assertTrue(acceptor.isLatin1());
+        assertEquals(9, acceptor.length());
+        assertEquals("Caf\u00E9 a\u00FFyz", acceptor.getResult());
+    }
+
+    @Test
+    public void shouldSwitchToCharsOnWideCharacter() {
+        CompactStringAcceptor acceptor = new CompactStringAcceptor();
+        acceptor.accept("abc");
+        acceptor.acceptBlock(new char[] { 'd', '\u20AC', 'e' }, 0, 3);
+        assertFalse(acceptor.isLatin1());
+        acceptor.acceptBlock(new byte[] { 'f', (byte)0xE9 }, 0, 2);
+        acceptor.accept('g');
+        acceptor.safeClose();
+        assertEquals("abcd\u20ACef\u00E9g", acceptor.getResult());
+    }
+
+    @Test
+    public void shouldReturnCharSequenceView() {
+        CompactStringAcceptor acceptor = new CompactStringAcceptor();
+        acceptor.accept("Hello, \u00E9t\u00E9");
+        CharSequence cs = acceptor.getCharSequence();
+        assertEquals(10, cs.length());
+        assertEquals('\u00E9', cs.charAt(7));
+        assertEquals("Hello", cs.subSequence(0, 5).toString());
+        acceptor.accept('\u0100');
+        cs = acceptor.getCharSequence();
+        assertEquals('\u0100', cs.charAt(10));
+        assertEquals("\u00E9t\u00E9\u0100", cs.subSequence(7, 11).toString());
+    }
+
+    @Test
+    public void shouldResetToLatin1() {
+        CompactStringAcceptor acceptor = new CompactStringAcceptor();
+        acceptor.accept("\u0394");
+        acceptor.safeClose();
+        assertFalse(acceptor.isLatin1());
+        acceptor.reset();
+        assertTrue(acceptor.isLatin1());
+        acceptor.accept("abc");
+        acceptor.safeClose();
+        assertEquals("abc", acceptor.getResult());
+    }
+
+    @Test
+    public void shouldReceiveBlocksFromDecoder() {
+        byte[] input = new byte[] { '{', '"', 'a', '"', ':', (byte)0xE2, (byte)0x82, (byte)0xAC, '}' };
+        IntPipeline<String> pipeline = new UTF8_UTF16<>(new CompactStringAcceptor(input.length));
+        pipeline.accept(input);
+        pipeline.safeClose();
+        assertEquals("{\"a\":\u20AC}", pipeline.getResult());
+        assertEquals("{\"a\":\u20AC}", UTF8_UTF16.convert(input));
+    }
+
+}
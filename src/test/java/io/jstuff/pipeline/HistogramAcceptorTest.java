@@ -0,0 +1,81 @@
+/*
+ * @(#) HistogramAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.util.SortedMap;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import io.jstuff.pipeline.codec.UTF16_CodePoint;
+
+public class HistogramAcceptorTest {
+
+    @Test
+    public void shouldCountOccurrences() {
+        HistogramAcceptor acceptor = new HistogramAcceptor();
+        acceptor.accept("abracadabra");
+        acceptor.safeClose();
+        assertEquals(11, acceptor.getTotal());
+        assertEquals(5, acceptor.getCount('a'));
+        assertEquals(2, acceptor.getCount('b'));
+        assertEquals(0, acceptor.getCount('z'));
+        SortedMap<Integer, Long> result = acceptor.getResult();
+        assertEquals(5, result.size());
+        assertEquals((Integer)(int)'a', result.firstKey());
+        assertEquals(Long.valueOf(1), result.get((int)'d'));
+    }
+
+    @Test
+    public void shouldCountSupplementaryCodePointsSeparately() {
+        HistogramAcceptor histogram = new HistogramAcceptor();
+        IntPipeline<SortedMap<Integer, Long>> pipeline = new UTF16_CodePoint<>(histogram);
+        pipeline.accept("x\uD83D\uDE00y\uD83D\uDE00");
+        pipeline.safeClose();
+        assertEquals(4, histogram.getTotal());
+        assertEquals(2, histogram.getCount(0x1F600));
+        assertEquals(1, histogram.getCount('x'));
+        SortedMap<Integer, Long> result = pipeline.getResult();
+        assertEquals(3, result.size());
+        assertEquals((Integer)0x1F600, result.lastKey());
+    }
+
+    @Test
+    public void shouldCountBlocks() {
+        HistogramAcceptor acceptor = new HistogramAcceptor();
+        acceptor.acceptBlock(new byte[] { 1, 1, (byte)0xFF }, 0, 3);
+        acceptor.acceptBlock(new char[] { '\u00FF', 'q' }, 0, 2);
+        acceptor.safeClose();
+        assertEquals(5, acceptor.getTotal());
+        assertEquals(2, acceptor.getCount(1));
+        assertEquals(2, acceptor.getCount(0xFF));
+        acceptor.reset();
+        assertEquals(0, acceptor.getTotal());
+        assertEquals(0, acceptor.getCount(1));
+    }
+
+}
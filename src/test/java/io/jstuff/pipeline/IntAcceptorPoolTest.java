@@ -0,0 +1,103 @@
+/*
+ * @(#) IntAcceptorPoolTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.codec.EncoderException;
+import io.jstuff.pipeline.codec.UTF16_ISO8859_1;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class IntAcceptorPoolTest {
+
+    @Test
+    public void shouldResetStringAcceptor() {
+        StringAcceptor acceptor = new StringAcceptor();
+        acceptor.accept("abc");
+        acceptor.safeClose();
+        assertEquals("abc", acceptor.getResult());
+        acceptor.reset();
+        assertFalse(acceptor.isClosed());
+        acceptor.accept("xyz");
+        acceptor.safeClose();
+        assertEquals("xyz", acceptor.getResult());
+    }
+
+    @Test
+    public void shouldResetByteArrayAcceptor() {
+        ByteArrayAcceptor acceptor = new ByteArrayAcceptor();
+        acceptor.accept(1, 2, 3);
+        acceptor.safeClose();
+        assertArrayEquals(new byte[] { 1, 2, 3 }, acceptor.getResult());
+        acceptor.reset();
+        acceptor.accept(4);
+        acceptor.safeClose();
+        assertArrayEquals(new byte[] { 4 }, acceptor.getResult());
+    }
+
+    @Test
+    public void shouldResetPipelineIncludingPartialState() {
+        IntPipeline<String> pipeline = new UTF8_UTF16<>(new StringAcceptor());
+        pipeline.accept(0xE2);
+        pipeline.accept(0x82);
+        pipeline.reset();
+        pipeline.accept(new byte[] { 'a', (byte)0xE2, (byte)0x82, (byte)0xAC });
+        pipeline.safeClose();
+        assertEquals("a\u20AC", pipeline.getResult());
+    }
+
+    @Test
+    public void shouldReuseAcceptorFromPool() {
+        IntAcceptorPool<String> pool = new IntAcceptorPool<>(() -> new UTF8_UTF16<>(new StringAcceptor()));
+        IntAcceptor<String> first = pool.take();
+        pool.release(first);
+        IntAcceptor<String> second = pool.take();
+        assertSame(first, second);
+        assertEquals("abc", pool.process("abc"));
+        assertEquals("def", pool.process("def"));
+    }
+
+    @Test
+    public void shouldGiveCorrectResultsFromPooledConvertAfterException() {
+        assertEquals("abc", UTF8_UTF16.convert(new byte[] { 'a', 'b', 'c' }));
+        try {
+            UTF16_ISO8859_1.convert("a\u0101");
+            fail("Should throw exception");
+        }
+        catch (EncoderException e) {
+            assertEquals(0x101, e.getErrorValue());
+        }
+        assertArrayEquals(new byte[] { 'x', 'y' }, UTF16_ISO8859_1.convert("xy"));
+        assertEquals("def", UTF8_UTF16.convert(new byte[] { 'd', 'e', 'f' }));
+    }
+
+}
@@ -2,7 +2,7 @@
  * @(#) IntAcceptorTest.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2025 Peter Wall
+ * Copyright (c) 2025, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,11 +25,17 @@
 
 package io.jstuff.pipeline;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 
 public class IntAcceptorTest {
 
@@ -72,4 +78,132 @@ public class IntAcceptorTest {
         assertEquals(789, (int)list.get(2));
     }
 
+    @Test
+    public void shouldAcceptBlockOfInt() {
+        int[] array = new int[] { 111, 123, 456, 789, 999 };
+        ListIntAcceptor listIntAcceptor = new ListIntAcceptor();
+        listIntAcceptor.acceptBlock(array, 1, 3);
+        listIntAcceptor.safeClose();
+        List<Integer> list = listIntAcceptor.getResult();
+        assertEquals(3, list.size());
+        assertEquals(123, (int)list.get(0));
+        assertEquals(456, (int)list.get(1));
+        assertEquals(789, (int)list.get(2));
+    }
+
+    @Test
+    public void shouldAcceptBlockOfCharsIntoStringAcceptor() {
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        stringAcceptor.acceptBlock("The quick brown fox".toCharArray(), 4, 5);
+        stringAcceptor.accept('!');
+        assertEquals("quick!", stringAcceptor.getResult());
+    }
+
+    @Test
+    public void shouldAcceptBlockOfBytesIntoByteArrayAcceptor() {
+        ByteArrayAcceptor byteArrayAcceptor = new ByteArrayAcceptor(2);
+        byteArrayAcceptor.accept(0x01);
+        byteArrayAcceptor.acceptBlock(new byte[] { 0x02, (byte)0x83, 0x04, 0x05 }, 1, 3);
+        assertArrayEquals(new byte[] { 0x01, (byte)0x83, 0x04, 0x05 }, byteArrayAcceptor.getResult());
+    }
+
+    @Test
+    public void shouldPassBlockThroughPipelineUsingEmitBlock() {
+        IntCounter intCounter = new IntCounter();
+        AbstractIntPipeline<Integer> pipeline = new AbstractIntPipeline<Integer>(intCounter) {
+            @Override
+            public void acceptInt(int value) {
+                emit(value);
+            }
+            @Override
+            public void acceptIntBlock(byte[] bytes, int offset, int length) {
+                emitBlock(bytes, offset, length);
+            }
+        };
+        pipeline.accept(new byte[100]);
+        pipeline.accept('X');
+        assertEquals(101, (int)pipeline.getResult());
+    }
+
+    @Test
+    public void shouldAcceptByteBufferAsBlock() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[] { 'a', 'b', 'c', 'd', (byte)0xE9 });
+        byteBuffer.position(1);
+        ListIntAcceptor listIntAcceptor = new ListIntAcceptor();
+        listIntAcceptor.accept(byteBuffer);
+        assertEquals(5, byteBuffer.position());
+        List<Integer> list = listIntAcceptor.getResult();
+        assertEquals(4, list.size());
+        assertEquals('b', (int)list.get(0));
+        assertEquals(0xE9, (int)list.get(3));
+    }
+
+    @Test
+    public void shouldAcceptDirectByteBufferInBlocks() {
+        List<Integer> blockLengths = new ArrayList<>();
+        StringAcceptor stringAcceptor = new StringAcceptor() {
+            @Override
+            public void acceptIntBlock(byte[] bytes, int offset, int length) {
+                blockLengths.add(length);
+                super.acceptIntBlock(bytes, offset, length);
+            }
+        };
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(IntAcceptor.DEFAULT_BUFFER_SIZE + 10);
+        while (byteBuffer.hasRemaining())
+            byteBuffer.put((byte)('a' + byteBuffer.position() % 26));
+        byteBuffer.flip();
+        byteBuffer.position(4);
+        stringAcceptor.accept(byteBuffer);
+        assertEquals(IntAcceptor.DEFAULT_BUFFER_SIZE + 10, byteBuffer.position());
+        assertEquals(2, blockLengths.size());
+        assertEquals(IntAcceptor.DEFAULT_BUFFER_SIZE, (int)blockLengths.get(0));
+        assertEquals(6, (int)blockLengths.get(1));
+        String result = stringAcceptor.getResult();
+        assertEquals(IntAcceptor.DEFAULT_BUFFER_SIZE + 6, result.length());
+        assertEquals("efgh", result.substring(0, 4));
+    }
+
+    @Test
+    public void shouldAcceptCharBufferAsBlock() {
+        CharBuffer charBuffer = CharBuffer.wrap("Hello, world".toCharArray(), 7, 5);
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        stringAcceptor.accept(charBuffer);
+        assertEquals(12, charBuffer.position());
+        assertEquals("world", stringAcceptor.getResult());
+    }
+
+    @Test
+    public void shouldRejectBlockAfterClose() {
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        stringAcceptor.safeClose();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> stringAcceptor.acceptBlock(new char[] { 'a' }, 0, 1));
+        assertEquals("Acceptor is closed", e.getMessage());
+    }
+
+    @Test
+    public void shouldReadInputStreamInBlocksOfSpecifiedSize() throws Exception {
+        List<Integer> blockLengths = new ArrayList<>();
+        StringAcceptor stringAcceptor = new StringAcceptor() {
+            @Override
+            public void acceptIntBlock(byte[] bytes, int offset, int length) {
+                blockLengths.add(length);
+                super.acceptIntBlock(bytes, offset, length);
+            }
+        };
+        stringAcceptor.accept(new ByteArrayInputStream(new byte[] { 'a', 'b', 'c', 'd', 'e', 'f', 'g' }), 3);
+        assertEquals("abcdefg", stringAcceptor.getResult());
+        assertEquals(3, blockLengths.size());
+        assertEquals(3, (int)blockLengths.get(0));
+        assertEquals(1, (int)blockLengths.get(2));
+    }
+
+    @Test
+    public void shouldRejectInvalidBufferSize() {
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> stringAcceptor.accept(new StringReader("abc"), 0));
+        assertEquals("Illegal buffer size 0", e.getMessage());
+    }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * @(#) IntArrayAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.nio.IntBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntArrayAcceptorTest {
+
+    @Test
+    public void shouldBuildArrayFromSequence() {
+        IntArrayAcceptor acceptor = new IntArrayAcceptor(2);
+        acceptor.accept(123, 456, 789);
+        acceptor.acceptBlock(new int[] { 1, 2, 3, 4 }, 1, 2);
+        acceptor.acceptBlock(new byte[] { (byte)0xFF }, 0, 1);
+        acceptor.acceptBlock(new char[] { '\uFFFF' }, 0, 1);
+        acceptor.safeClose();
+        assertEquals(7, acceptor.length());
+        assertEquals(456, acceptor.get(1));
+        assertArrayEquals(new int[] { 123, 456, 789, 2, 3, 0xFF, 0xFFFF }, acceptor.getResult());
+    }
+
+    @Test
+    public void shouldReturnIntBufferView() {
+        IntArrayAcceptor acceptor = new IntArrayAcceptor();
+        acceptor.accept("abc");
+        IntBuffer intBuffer = acceptor.getIntBuffer();
+        assertTrue(intBuffer.isReadOnly());
+        assertEquals(3, intBuffer.remaining());
+        assertEquals('a', intBuffer.get());
+        assertEquals('b', intBuffer.get());
+        assertEquals('c', intBuffer.get());
+    }
+
+    @Test
+    public void shouldResetArray() {
+        IntArrayAcceptor acceptor = new IntArrayAcceptor();
+        acceptor.accept(1, 2);
+        acceptor.safeClose();
+        acceptor.reset();
+        acceptor.accept(3);
+        acceptor.safeClose();
+        assertArrayEquals(new int[] { 3 }, acceptor.getResult());
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * @(#) IntHashSetAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class IntHashSetAcceptorTest {
+
+    @Test
+    public void shouldBuildSetOfDistinctValues() {
+        IntHashSetAcceptor acceptor = new IntHashSetAcceptor();
+        acceptor.accept(5, 0, 3, 5, -7, 0, 3, Integer.MAX_VALUE);
+        acceptor.safeClose();
+        assertEquals(5, acceptor.getSize());
+        assertTrue(acceptor.contains(0));
+        assertTrue(acceptor.contains(-7));
+        assertFalse(acceptor.contains(4));
+        assertArrayEquals(new int[] { -7, 0, 3, 5, Integer.MAX_VALUE }, acceptor.getResult());
+    }
+
+    @Test
+    public void shouldGrowTable() {
+        IntHashSetAcceptor acceptor = new IntHashSetAcceptor(2);
+        for (int i = 0; i < 10000; i++)
+            acceptor.accept(i * 31);
+        for (int i = 0; i < 10000; i++)
+            acceptor.accept(i * 31);
+        acceptor.safeClose();
+        assertEquals(10000, acceptor.getSize());
+        for (int i = 0; i < 10000; i++)
+            assertTrue(acceptor.contains(i * 31));
+        int[] result = acceptor.getResult();
+        assertEquals(10000, result.length);
+        assertEquals(9999 * 31, result[9999]);
+    }
+
+    @Test
+    public void shouldCollectDistinctCharacters() {
+        IntPipeline<int[]> pipeline = new UTF8_UTF16<>(new IntHashSetAcceptor());
+        pipeline.accept(new byte[] { 'b', 'a', 'b', 'c', 'a' });
+        pipeline.safeClose();
+        assertArrayEquals(new int[] { 'a', 'b', 'c' }, pipeline.getResult());
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * @(#) OutputStreamAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import io.jstuff.pipeline.codec.UTF16_UTF8;
+
+public class OutputStreamAcceptorTest {
+
+    @Test
+    public void shouldWriteBytesInBlocks() {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        OutputStreamAcceptor<Void> acceptor = new OutputStreamAcceptor<>(outputStream, 4);
+        acceptor.accept(1, 2, 3);
+        assertEquals(0, outputStream.writes);
+        acceptor.accept(4, 5);
+        assertEquals(1, outputStream.writes);
+        acceptor.acceptBlock(new byte[] { 6, 7, 8, 9, 10, 11 }, 0, 6);
+        assertEquals(3, outputStream.writes);
+        acceptor.safeClose();
+        assertEquals(3, outputStream.writes);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 }, outputStream.baos.toByteArray());
+    }
+
+    @Test
+    public void shouldFlushThroughPipeline() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        IntPipeline<Void> pipeline = new UTF16_UTF8<>(new OutputStreamAcceptor<>(baos));
+        pipeline.accept("Caf\u00E9");
+        assertEquals(0, baos.size());
+        pipeline.flush();
+        assertArrayEquals(new byte[] { 'C', 'a', 'f', (byte)0xC3, (byte)0xA9 }, baos.toByteArray());
+        pipeline.accept('!');
+        pipeline.safeClose();
+        assertEquals(6, baos.size());
+    }
+
+    static class CountingOutputStream extends FilterOutputStream {
+
+        final ByteArrayOutputStream baos;
+        int writes;
+
+        CountingOutputStream() {
+            this(new ByteArrayOutputStream());
+        }
+
+        private CountingOutputStream(ByteArrayOutputStream baos) {
+            super(baos);
+            this.baos = baos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writes++;
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writes++;
+            out.write(b, off, len);
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * @(#) PipelineBufferTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.StringReader;
+import java.util.function.Function;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PipelineBufferTest {
+
+    @Test
+    public void shouldWrapAndEnlargeByteRing() {
+        PipelineBuffer<byte[]> buffer = PipelineBuffer.ofBytes(null, new StringReader(""), Function.identity(), 4);
+        buffer.acceptBlock(new byte[] { 1, 2, 3 }, 0, 3);
+        assertEquals(1, buffer.read());
+        assertEquals(1, buffer.skip(1));
+        buffer.acceptBlock(new byte[] { 4, 5, 6 }, 0, 3);
+        buffer.accept(0xFF);
+        buffer.acceptBlock(new byte[] { 7, 8 }, 0, 2);
+        assertEquals(7, buffer.count());
+        byte[] result = new byte[10];
+        assertEquals(7, buffer.read(result, 1, 9));
+        assertArrayEquals(new byte[] { 0, 3, 4, 5, 6, (byte)0xFF, 7, 8, 0, 0 }, result);
+        assertEquals(0, buffer.count());
+    }
+
+    @Test
+    public void shouldFillCharRingFromSource() throws Exception {
+        PipelineBuffer<char[]> buffer = PipelineBuffer.ofChars(null, new StringReader("abcdefghij"),
+                Function.identity(), 4);
+        char[] chars = new char[3];
+        assertEquals(3, buffer.fill() ? buffer.read(chars, 0, 3) : -1);
+        assertEquals("abc", new String(chars));
+        buffer.acceptBlock("XYZxyz".toCharArray(), 0, 6);
+        assertEquals(7, buffer.count());
+        StringBuilder sb = new StringBuilder();
+        while (buffer.fill())
+            sb.append((char)buffer.read());
+        assertFalse(buffer.fill());
+        assertEquals("dXYZxyzefghij", sb.toString());
+    }
+
+}
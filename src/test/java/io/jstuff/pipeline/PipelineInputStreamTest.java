@@ -0,0 +1,114 @@
+/*
+ * @(#) PipelineInputStreamTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.base64.Base64Encoder;
+import io.jstuff.pipeline.codec.UTF16_UTF8;
+import io.jstuff.pipeline.codec.Windows1252_UTF16;
+
+public class PipelineInputStreamTest {
+
+    private static byte[] readAll(InputStream inputStream, int blockSize) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[blockSize];
+        int n;
+        while ((n = inputStream.read(buffer)) >= 0)
+            baos.write(buffer, 0, n);
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void shouldTranscodeWindows1252ToUTF8() throws IOException {
+        byte[] input = new byte[] { 'E', 'u', 'r', 'o', ' ', (byte)0x80, (byte)0xE9 };
+        InputStream inputStream = new PipelineInputStream(new ByteArrayInputStream(input),
+                downstream -> new Windows1252_UTF16<>(new UTF16_UTF8<>(downstream)), 2);
+        byte[] expected = new byte[] { 'E', 'u', 'r', 'o', ' ', (byte)0xE2, (byte)0x82, (byte)0xAC, (byte)0xC3,
+                (byte)0xA9 };
+        assertArrayEquals(expected, readAll(inputStream, 3));
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void shouldReadSingleBytesAndSkip() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            sb.append((char)('A' + i % 26));
+        String text = sb.toString();
+        InputStream inputStream = new PipelineInputStream(new ByteArrayInputStream(text.getBytes("UTF-8")),
+                downstream -> new Windows1252_UTF16<>(new UTF16_UTF8<>(downstream)), 64);
+        assertEquals('A', inputStream.read());
+        assertEquals('B', inputStream.read());
+        assertEquals(500, inputStream.skip(500));
+        assertEquals(text.charAt(502), inputStream.read());
+        assertEquals(text.substring(503), new String(readAll(inputStream, 100), "UTF-8"));
+    }
+
+    @Test
+    public void shouldEncodeFromReaderAndFlushOnClose() throws IOException {
+        InputStream inputStream = new PipelineInputStream(new StringReader("Mary"),
+                downstream -> new UTF16_UTF8<>(new Base64Encoder<>(new UTF16_UTF8<>(downstream))));
+        assertEquals("TWFyeQ==", new String(readAll(inputStream, 100), "UTF-8"));
+    }
+
+    @Test
+    public void shouldEnlargeRingBufferForExpandingPipeline() throws IOException {
+        char[] chars = new char[100];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = '\u20AC';
+        InputStream inputStream = new PipelineInputStream(new StringReader(new String(chars)),
+                UTF16_UTF8::new, 16);
+        byte[] result = readAll(inputStream, 7);
+        assertEquals(300, result.length);
+        assertEquals(new String(chars), new String(result, "UTF-8"));
+    }
+
+    @Test
+    public void shouldThrowExceptionAfterClose() throws IOException {
+        InputStream inputStream = new PipelineInputStream(new ByteArrayInputStream(new byte[] { 'a' }),
+                UTF16_UTF8::new);
+        inputStream.close();
+        try {
+            inputStream.read();
+            fail("Should throw exception");
+        }
+        catch (IOException e) {
+            assertEquals("Stream closed", e.getMessage());
+        }
+    }
+
+}
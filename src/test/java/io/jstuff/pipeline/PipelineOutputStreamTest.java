@@ -0,0 +1,85 @@
+/*
+ * @(#) PipelineOutputStreamTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.base64.Base64Encoder;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class PipelineOutputStreamTest {
+
+    @Test
+    public void shouldForwardBytesToPipeline() throws IOException {
+        PipelineOutputStream<String> outputStream =
+                new PipelineOutputStream<>(new Base64Encoder<>(new StringAcceptor()));
+        outputStream.write('M');
+        outputStream.write(new byte[] { 'x', 'a', 'r', 'y', 'z' }, 1, 3);
+        outputStream.close();
+        assertEquals("TWFyeQ==", outputStream.getResult());
+    }
+
+    @Test
+    public void shouldAllowLibraryCodeToWriteToPipeline() {
+        PipelineOutputStream<String> outputStream = new PipelineOutputStream<>(new UTF8_UTF16<>(new StringAcceptor()));
+        try (PrintStream printStream = new PrintStream(outputStream, false, "UTF-8")) {
+            printStream.print("Price: \u20AC100");
+        }
+        catch (IOException e) {
+            fail("Unexpected exception");
+        }
+        assertEquals("Price: \u20AC100", outputStream.getResult());
+    }
+
+    @Test
+    public void shouldFlushToDownstreamAcceptor() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        OutputStream outputStream = new PipelineOutputStream<>(new OutputStreamAcceptor<Void>(baos));
+        outputStream.write(new byte[] { 1, 2, 3 });
+        assertEquals(0, baos.size());
+        outputStream.flush();
+        assertArrayEquals(new byte[] { 1, 2, 3 }, baos.toByteArray());
+        outputStream.close();
+        outputStream.close();
+        try {
+            outputStream.write(4);
+            fail("Should throw exception");
+        }
+        catch (IOException e) {
+            assertEquals("Stream closed", e.getMessage());
+        }
+    }
+
+}
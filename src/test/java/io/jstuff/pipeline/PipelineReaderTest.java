@@ -0,0 +1,73 @@
+/*
+ * @(#) PipelineReaderTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+import io.jstuff.pipeline.html.HTMLEncoder;
+
+public class PipelineReaderTest {
+
+    private static String readAll(Reader reader, int blockSize) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[blockSize];
+        int n;
+        while ((n = reader.read(buffer)) >= 0)
+            sb.append(buffer, 0, n);
+        return sb.toString();
+    }
+
+    @Test
+    public void shouldDecodeAndEscapeInputStream() throws IOException {
+        byte[] input = new byte[] { '<', 'p', '>', (byte)0xE2, (byte)0x82, (byte)0xAC, '&', '<', '/', 'p', '>' };
+        Reader reader = new PipelineReader(new ByteArrayInputStream(input),
+                downstream -> new UTF8_UTF16<>(new HTMLEncoder<>(downstream)), 4);
+        assertEquals("&lt;p&gt;&euro;&amp;&lt;/p&gt;", readAll(reader, 5));
+    }
+
+    @Test
+    public void shouldTransformReader() throws IOException {
+        Reader reader = new PipelineReader(new StringReader("a<b"), HTMLEncoder::new);
+        assertFalse(reader.ready());
+        assertEquals('a', reader.read());
+        assertTrue(reader.ready());
+        assertEquals(4, reader.skip(4));
+        assertEquals('b', reader.read());
+        assertEquals(-1, reader.read());
+        reader.close();
+    }
+
+}
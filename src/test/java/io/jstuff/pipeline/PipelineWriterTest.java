@@ -0,0 +1,81 @@
+/*
+ * @(#) PipelineWriterTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.codec.UTF16_UTF8;
+import io.jstuff.pipeline.html.HTMLEncoder;
+
+public class PipelineWriterTest {
+
+    @Test
+    public void shouldForwardCharactersToPipeline() throws IOException {
+        PipelineWriter<String> writer = new PipelineWriter<>(new HTMLEncoder<>(new StringAcceptor()));
+        writer.write('<');
+        writer.write("xa&bx", 1, 3);
+        writer.write(new char[] { '>' });
+        writer.close();
+        assertEquals("&lt;a&amp;b&gt;", writer.getResult());
+    }
+
+    @Test
+    public void shouldWriteLongStringInBlocks() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++)
+            sb.append((char)('a' + i % 26));
+        String text = sb.toString();
+        PipelineWriter<String> writer = new PipelineWriter<>(new StringAcceptor());
+        writer.write(text);
+        writer.close();
+        assertEquals(text, writer.getResult());
+    }
+
+    @Test
+    public void shouldAllowLibraryCodeToWriteToPipeline() {
+        PipelineWriter<byte[]> writer = new PipelineWriter<>(new UTF16_UTF8<>(new ByteArrayAcceptor()));
+        try (PrintWriter printWriter = new PrintWriter(writer)) {
+            printWriter.print("\u00E9=");
+            printWriter.print(1);
+        }
+        assertArrayEquals(new byte[] { (byte)0xC3, (byte)0xA9, '=', '1' }, writer.getResult());
+        try {
+            writer.write('x');
+            fail("Should throw exception");
+        }
+        catch (IOException e) {
+            assertEquals("Writer closed", e.getMessage());
+        }
+    }
+
+}
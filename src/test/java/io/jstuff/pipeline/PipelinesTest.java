@@ -2,7 +2,7 @@
  * @(#) PipelinesTest.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2023 Peter Wall
+ * Copyright (c) 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,8 +25,20 @@
 
 package io.jstuff.pipeline;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.codec.UTF8_UTF16;
 
 public class PipelinesTest {
 
@@ -40,4 +52,70 @@ public class PipelinesTest {
         assertEquals("-22334455", stringAcceptor.getResult());
     }
 
+    @Test
+    public void shouldProcessInputStreamInBlocks() throws Exception {
+        String str = "Caf\u00E9 \u2014 \uD83D\uDE00 d\u00E9j\u00E0 vu";
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+            UTF8_UTF16<String> pipeline = new UTF8_UTF16<>(new StringAcceptor());
+            assertEquals(str, Pipelines.process(new ByteArrayInputStream(bytes), pipeline, bufferSize));
+            assertTrue(pipeline.isClosed());
+        }
+    }
+
+    @Test
+    public void shouldProcessReaderInBlocks() throws Exception {
+        String str = "The quick brown fox jumps over the lazy dog";
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        assertEquals(str, Pipelines.process(new StringReader(str), stringAcceptor, 5));
+        assertTrue(stringAcceptor.isClosed());
+    }
+
+    @Test
+    public void shouldProcessFile() throws Exception {
+        File file = new File(PipelinesTest.class.getResource("/test1.txt").toURI());
+        IntCounter intCounter = new IntCounter();
+        assertEquals((int)file.length(), (int)Pipelines.process(file, intCounter, 16));
+    }
+
+    @Test
+    public void shouldProcessMappedFile() throws Exception {
+        Path path = new File(PipelinesTest.class.getResource("/test1.txt").toURI()).toPath();
+        String expected = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        for (int mappingSize : new int[] { 1, 7, 64, Pipelines.DEFAULT_MAPPING_SIZE })
+            assertEquals(expected, Pipelines.process(path, new UTF8_UTF16<>(new StringAcceptor()), mappingSize));
+    }
+
+    @Test
+    public void shouldCopyMappedFileToByteArray() throws Exception {
+        Path path = new File(PipelinesTest.class.getResource("/test1.txt").toURI()).toPath();
+        assertArrayEquals(Files.readAllBytes(path), Pipelines.process(path, new ByteArrayAcceptor(), 10));
+    }
+
+    @Test
+    public void shouldRejectInvalidBufferSize() throws Exception {
+        try {
+            Pipelines.process(new StringReader("abc"), new StringAcceptor(), 0);
+            fail("Should throw exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Illegal buffer size 0", e.getMessage());
+        }
+        try {
+            Pipelines.process(new ByteArrayInputStream(new byte[] { 'a' }), new StringAcceptor(), -1);
+            fail("Should throw exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Illegal buffer size -1", e.getMessage());
+        }
+        Path path = new File(PipelinesTest.class.getResource("/test1.txt").toURI()).toPath();
+        try {
+            Pipelines.process(path, new ByteArrayAcceptor(), 0);
+            fail("Should throw exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Illegal mapping size 0", e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * @(#) SegmentedByteArrayAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.base64.Base64Decoder;
+
+public class SegmentedByteArrayAcceptorTest {
+
+    private static byte[] testData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++)
+            data[i] = (byte)(i * 7);
+        return data;
+    }
+
+    @Test
+    public void shouldAccumulateBytesInSegments() {
+        byte[] data = testData(1000);
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor(16);
+        for (int i = 0; i < 100; i++)
+            acceptor.accept(data[i] & 0xFF);
+        acceptor.acceptBlock(data, 100, 900);
+        acceptor.safeClose();
+        assertEquals(1000, acceptor.length());
+        assertEquals(6, acceptor.getSegmentCount());
+        assertArrayEquals(data, acceptor.getResult());
+    }
+
+    @Test
+    public void shouldReturnReadOnlyByteBuffers() {
+        byte[] data = testData(100);
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor(16);
+        acceptor.accept(ByteBuffer.wrap(data));
+        ByteBuffer[] buffers = acceptor.getByteBuffers();
+        assertEquals(3, buffers.length);
+        assertEquals(16, buffers[0].remaining());
+        assertEquals(32, buffers[1].remaining());
+        assertEquals(52, buffers[2].remaining());
+        assertTrue(buffers[2].isReadOnly());
+        assertEquals(data[48], buffers[2].get());
+    }
+
+    @Test
+    public void shouldWriteToOutputStreamAndChannel() throws Exception {
+        byte[] data = testData(5000);
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor();
+        acceptor.acceptBlock(data, 0, data.length);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        acceptor.writeTo(baos);
+        assertArrayEquals(data, baos.toByteArray());
+        baos.reset();
+        acceptor.writeTo(Channels.newChannel(baos));
+        assertArrayEquals(data, baos.toByteArray());
+    }
+
+    @Test
+    public void shouldReadContentUsingInputStream() throws Exception {
+        byte[] data = testData(3000);
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor(100);
+        acceptor.acceptBlock(data, 0, data.length);
+        InputStream inputStream = acceptor.getInputStream();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[77];
+        int n;
+        while ((n = inputStream.read(buffer)) >= 0)
+            baos.write(buffer, 0, n);
+        assertArrayEquals(data, baos.toByteArray());
+    }
+
+    @Test
+    public void shouldResetToFirstSegment() {
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor(16);
+        acceptor.acceptBlock(testData(100), 0, 100);
+        acceptor.safeClose();
+        acceptor.reset();
+        assertEquals(0, acceptor.length());
+        assertEquals(1, acceptor.getSegmentCount());
+        acceptor.accept(1, 2, 3);
+        acceptor.safeClose();
+        assertArrayEquals(new byte[] { 1, 2, 3 }, acceptor.getResult());
+    }
+
+    @Test
+    public void shouldReceiveOutputOfBase64Decoder() {
+        SegmentedByteArrayAcceptor acceptor = new SegmentedByteArrayAcceptor(16);
+        IntPipeline<byte[]> pipeline = new Base64Decoder<>(acceptor);
+        pipeline.accept("TWFyeSBoYWQgYSBsaXR0bGUgbGFtYiwgaXRzIGZsZWVjZSB3YXMgd2hpdGUgYXMgc25vdw==");
+        pipeline.safeClose();
+        assertEquals("Mary had a little lamb, its fleece was white as snow", new String(pipeline.getResult()));
+        assertEquals(3, acceptor.getSegmentCount());
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * @(#) TrustedChainTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.codec.CodePoint_UTF16;
+import io.jstuff.pipeline.codec.UTF8_CodePoint;
+
+public class TrustedChainTest {
+
+    @Test
+    public void shouldProduceSameResultInTrustedChainMode() throws Exception {
+        IntPipeline<String> pipeline = new UTF8_CodePoint<>(new CodePoint_UTF16<>(new StringAcceptor()));
+        pipeline.setTrustedChain(true);
+        pipeline.accept(new byte[] { 'a', (byte)0xE2, (byte)0x82, (byte)0xAC, 'b' });
+        pipeline.accept('c');
+        pipeline.close();
+        assertEquals("a\u20ACbc", pipeline.getResult());
+        assertTrue(pipeline.getDownstream().isClosed());
+    }
+
+    @Test
+    public void shouldStillCheckClosedAtEntryPoint() {
+        IntPipeline<String> pipeline = new UTF8_CodePoint<>(new CodePoint_UTF16<>(new StringAcceptor()));
+        pipeline.setTrustedChain(true);
+        pipeline.accept('a');
+        pipeline.accept(-1);
+        assertEquals("a", pipeline.getResult());
+        try {
+            pipeline.accept('b');
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Acceptor is closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldBypassDownstreamChecksOnlyInTrustedChainMode() throws Exception {
+        StringAcceptor stringAcceptor = new StringAcceptor();
+        IntPipeline<String> pipeline = new CodePoint_UTF16<>(stringAcceptor);
+        stringAcceptor.close();
+        try {
+            pipeline.accept('a');
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Acceptor is closed", e.getMessage());
+        }
+        pipeline.setTrustedChain(true);
+        pipeline.accept('a');
+        assertEquals("a", stringAcceptor.getResult());
+        pipeline.setTrustedChain(false);
+        try {
+            pipeline.accept('b');
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Acceptor is closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldPropagateTrustedChainModeThroughObjectPipelines() {
+        IntObjectPipeline<String, List<String>> pipeline = new LinePipeline<>(new ListAcceptor<>());
+        pipeline.setTrustedChain(true);
+        pipeline.accept("abc\ndef\n");
+        pipeline.accept(-1);
+        List<String> result = pipeline.getResult();
+        assertEquals(2, result.size());
+        assertEquals("abc", result.get(0));
+        assertEquals("def", result.get(1));
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * @(#) WriterAcceptorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class WriterAcceptorTest {
+
+    @Test
+    public void shouldWriteCharactersInBlocks() {
+        StringWriter stringWriter = new StringWriter();
+        WriterAcceptor<Void> acceptor = new WriterAcceptor<>(stringWriter, 4);
+        acceptor.accept("abc");
+        assertEquals("", stringWriter.toString());
+        acceptor.accept("de");
+        assertEquals("abcd", stringWriter.toString());
+        acceptor.acceptBlock("fghijk".toCharArray(), 0, 6);
+        assertEquals("abcdefghijk", stringWriter.toString());
+        acceptor.accept('l');
+        acceptor.safeClose();
+        assertEquals("abcdefghijkl", stringWriter.toString());
+    }
+
+    @Test
+    public void shouldReceiveOutputOfDecoder() {
+        StringWriter stringWriter = new StringWriter();
+        IntPipeline<Void> pipeline = new UTF8_UTF16<>(new WriterAcceptor<>(stringWriter));
+        pipeline.accept(new byte[] { 'x', (byte)0xE2, (byte)0x82, (byte)0xAC, 'y' });
+        pipeline.safeClose();
+        assertEquals("x\u20ACy", stringWriter.toString());
+    }
+
+}
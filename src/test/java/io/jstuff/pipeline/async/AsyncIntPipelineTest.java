@@ -0,0 +1,381 @@
+/*
+ * @(#) AsyncIntPipelineTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.AbstractIntAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+
+public class AsyncIntPipelineTest {
+
+    @Test
+    public void shouldPassDataToDownstreamOnConsumerThread() throws Exception {
+        TestAcceptor acceptor = new TestAcceptor();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor);
+        pipeline.accept(1);
+        pipeline.accept(2);
+        pipeline.accept(3);
+        pipeline.close();
+        assertEquals(6, pipeline.getResult().intValue());
+        assertTrue(acceptor.isClosed());
+        assertNotSame(Thread.currentThread(), acceptor.thread);
+    }
+
+    @Test
+    public void shouldTransferLargeVolumeThroughSmallRingWithEachWaitStrategy() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            sb.append((char)('A' + i % 26));
+        String expected = sb.toString();
+        for (WaitStrategy waitStrategy : new WaitStrategy[] { WaitStrategy.SPIN, WaitStrategy.YIELD,
+                WaitStrategy.PARK }) {
+            IntPipeline<String> pipeline = new AsyncIntPipeline<>(new StringAcceptor(), 16, waitStrategy);
+            pipeline.accept(expected.substring(0, 5000));
+            char[] chars = expected.substring(5000, 10000).toCharArray();
+            pipeline.acceptBlock(chars, 0, chars.length);
+            byte[] bytes = expected.substring(10000, 15000).getBytes("US-ASCII");
+            pipeline.acceptBlock(bytes, 0, bytes.length);
+            int[] ints = expected.substring(15000).chars().toArray();
+            pipeline.acceptBlock(ints, 0, ints.length);
+            pipeline.close();
+            assertEquals(expected, pipeline.getResult());
+        }
+    }
+
+    @Test
+    public void shouldRoundCapacityToPowerOfTwo() {
+        AsyncIntPipeline<String> pipeline = new AsyncIntPipeline<>(new StringAcceptor(), 100, WaitStrategy.DEFAULT);
+        assertEquals(128, pipeline.getCapacity());
+        pipeline.safeClose();
+    }
+
+    @Test
+    public void shouldPropagateFlushAfterPrecedingValues() throws Exception {
+        TestAcceptor acceptor = new TestAcceptor();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor, 4, WaitStrategy.YIELD);
+        for (int i = 1; i <= 10; i++)
+            pipeline.accept(i);
+        pipeline.flush();
+        pipeline.close();
+        assertEquals(1, acceptor.flushes.get());
+        assertEquals(55, acceptor.totalAtFlush);
+        assertEquals(55, pipeline.getResult().intValue());
+    }
+
+    @Test
+    public void shouldCompleteFutureOnCloseAsync() throws Exception {
+        AsyncIntPipeline<String> pipeline = new AsyncIntPipeline<>(new StringAcceptor());
+        pipeline.accept("hello");
+        CompletableFuture<String> future = pipeline.closeAsync();
+        assertSame(future, pipeline.getFuture());
+        assertTrue(pipeline.isClosed());
+        assertEquals("hello", future.get(10, TimeUnit.SECONDS));
+        assertEquals("hello", pipeline.getResult());
+    }
+
+    @Test
+    public void shouldRejectValuesAfterClose() {
+        AsyncIntPipeline<String> pipeline = new AsyncIntPipeline<>(new StringAcceptor());
+        pipeline.safeClose();
+        try {
+            pipeline.accept('a');
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Acceptor is closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectGetResultBeforeClose() {
+        AsyncIntPipeline<String> pipeline = new AsyncIntPipeline<>(new StringAcceptor());
+        try {
+            pipeline.getResult();
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Pipeline is not closed", e.getMessage());
+        }
+        pipeline.safeClose();
+    }
+
+    @Test
+    public void shouldReportExceptionInConsumerOnClose() {
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(new TestAcceptor(), 4, WaitStrategy.PARK);
+        pipeline.accept(1);
+        pipeline.accept(-99);
+        try {
+            pipeline.close();
+            fail("Should throw exception");
+        }
+        catch (RuntimeException e) {
+            assertEquals("Exception in consumer thread", e.getMessage());
+            assertEquals("Bad value", e.getCause().getMessage());
+        }
+        assertTrue(pipeline.getFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldReportExceptionInConsumerToBlockedProducer() {
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(new TestAcceptor(), 4, WaitStrategy.PARK);
+        try {
+            pipeline.accept(-99);
+            for (int i = 0; i < 100; i++)
+                pipeline.accept(1);
+            fail("Should throw exception");
+        }
+        catch (RuntimeException e) {
+            assertEquals("Exception in consumer thread", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldResetAndReuse() throws Exception {
+        TestAcceptor acceptor = new TestAcceptor();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor);
+        pipeline.accept(5);
+        pipeline.reset();
+        assertFalse(pipeline.isClosed());
+        pipeline.accept(7);
+        pipeline.close();
+        assertEquals(7, pipeline.getResult().intValue());
+        pipeline.reset();
+        pipeline.accept(8);
+        pipeline.close();
+        assertEquals(8, pipeline.getResult().intValue());
+    }
+
+    @Test
+    public void shouldRunConsumerOnSuppliedExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TestAcceptor acceptor = new TestAcceptor();
+            AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor, 64, WaitStrategy.DEFAULT, executor);
+            pipeline.accept(42);
+            pipeline.close();
+            assertEquals(42, pipeline.getResult().intValue());
+            Thread executorThread = executor.submit(Thread::currentThread).get();
+            assertSame(executorThread, acceptor.thread);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotStartConsumerUntilFirstValue() throws Exception {
+        AtomicInteger starts = new AtomicInteger();
+        Executor executor = task -> {
+            starts.incrementAndGet();
+            new Thread(task).start();
+        };
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(new TestAcceptor(), 64, WaitStrategy.PARK,
+                executor);
+        assertEquals(0, starts.get());
+        pipeline.accept(3);
+        pipeline.accept(4);
+        assertEquals(1, starts.get());
+        pipeline.close();
+        assertEquals(7, pipeline.getResult().intValue());
+        assertEquals(1, starts.get());
+    }
+
+    @Test
+    public void shouldKeepIdleConsumerParkedUntilUnparkedByProducer() throws Exception {
+        TestAcceptor acceptor = new TestAcceptor();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor, 64, WaitStrategy.PARK);
+        pipeline.accept(1);
+        Thread consumer = awaitConsumerThread(acceptor);
+        awaitState(consumer, Thread.State.WAITING);
+        pipeline.accept(2);
+        pipeline.flush();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (acceptor.flushes.get() == 0 && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertEquals(1, acceptor.flushes.get());
+        assertEquals(3, acceptor.totalAtFlush);
+        awaitState(consumer, Thread.State.WAITING);
+        pipeline.close();
+        assertEquals(3, pipeline.getResult().intValue());
+    }
+
+    @Test
+    public void shouldStopConsumerOnCancel() throws Exception {
+        TestAcceptor acceptor = new TestAcceptor();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(acceptor, 64, WaitStrategy.PARK);
+        pipeline.accept(1);
+        Thread consumer = awaitConsumerThread(acceptor);
+        pipeline.cancel();
+        consumer.join(10_000);
+        assertFalse(consumer.isAlive());
+        assertTrue(pipeline.isClosed());
+        assertTrue(pipeline.getFuture().isCancelled());
+        assertFalse(acceptor.isClosed());
+        try {
+            pipeline.accept(2);
+            fail("Should throw exception");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Acceptor is closed", e.getMessage());
+        }
+        try {
+            pipeline.getResult();
+            fail("Should throw exception");
+        }
+        catch (CancellationException expected) {
+            // expected
+        }
+        pipeline.reset();
+        pipeline.accept(5);
+        pipeline.close();
+        assertEquals(5, pipeline.getResult().intValue());
+    }
+
+    @Test
+    public void shouldReleaseBlockedProducerOnCancel() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AsyncIntPipeline<Void> pipeline = new AsyncIntPipeline<>(new BlockingAcceptor(latch), 16,
+                WaitStrategy.PARK);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                pipeline.acceptBlock(new int[1000], 0, 1000);
+            }
+            catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        producer.start();
+        awaitState(producer, Thread.State.TIMED_WAITING);
+        pipeline.cancel();
+        producer.join(10_000);
+        latch.countDown();
+        assertFalse(producer.isAlive());
+        assertTrue(thrown.get() instanceof CancellationException);
+        assertEquals("Pipeline cancelled", thrown.get().getMessage());
+    }
+
+    @Test
+    public void shouldCancelBeforeConsumerStarted() {
+        AtomicInteger starts = new AtomicInteger();
+        AsyncIntPipeline<Integer> pipeline = new AsyncIntPipeline<>(new TestAcceptor(), 64, WaitStrategy.PARK,
+                task -> starts.incrementAndGet());
+        pipeline.cancel();
+        assertTrue(pipeline.getFuture().isCancelled());
+        pipeline.close();
+        assertEquals(0, starts.get());
+    }
+
+    private static Thread awaitConsumerThread(TestAcceptor acceptor) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (acceptor.thread == null && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertNotNull(acceptor.thread);
+        return acceptor.thread;
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != state && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertEquals(state, thread.getState());
+    }
+
+    public static class BlockingAcceptor extends AbstractIntAcceptor<Void> {
+
+        private final CountDownLatch latch;
+
+        public BlockingAcceptor(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void acceptInt(int value) {
+            try {
+                latch.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+    public static class TestAcceptor extends AbstractIntAcceptor<Integer> {
+
+        private final AtomicInteger flushes = new AtomicInteger();
+        private volatile Thread thread;
+        private int total;
+        private int totalAtFlush;
+
+        @Override
+        public void acceptInt(int value) {
+            thread = Thread.currentThread();
+            if (value < 0)
+                throw new IllegalArgumentException("Bad value");
+            total += value;
+        }
+
+        @Override
+        public void flush() {
+            totalAtFlush = total;
+            flushes.incrementAndGet();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            total = 0;
+        }
+
+        @Override
+        public Integer getResult() {
+            return total;
+        }
+
+    }
+
+}
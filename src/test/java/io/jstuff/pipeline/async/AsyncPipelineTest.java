@@ -0,0 +1,99 @@
+/*
+ * @(#) AsyncPipelineTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.async;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.jstuff.pipeline.ListAcceptor;
+
+public class AsyncPipelineTest {
+
+    @Test
+    public void shouldPassObjectsToDownstreamInOrder() throws Exception {
+        AsyncPipeline<String, List<String>> pipeline = new AsyncPipeline<>(new ListAcceptor<>(), 8, WaitStrategy.YIELD);
+        for (int i = 0; i < 1000; i++)
+            pipeline.accept("v" + i);
+        pipeline.close();
+        List<String> result = pipeline.getResult();
+        assertEquals(1000, result.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals("v" + i, result.get(i));
+    }
+
+    @Test
+    public void shouldCloseOnNullAndCompleteFuture() throws Exception {
+        AsyncPipeline<String, List<String>> pipeline = new AsyncPipeline<>(new ListAcceptor<>());
+        pipeline.accept("alpha");
+        pipeline.accept("beta");
+        pipeline.accept((String)null);
+        assertTrue(pipeline.isClosed());
+        List<String> result = pipeline.getFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(2, result.size());
+        assertEquals("alpha", result.get(0));
+        assertEquals("beta", result.get(1));
+    }
+
+    @Test
+    public void shouldResetAndReuse() throws Exception {
+        AsyncPipeline<String, List<String>> pipeline = new AsyncPipeline<>(new ListAcceptor<>());
+        pipeline.accept("first");
+        pipeline.close();
+        assertEquals(1, pipeline.getResult().size());
+        pipeline.reset();
+        pipeline.accept("second");
+        pipeline.close();
+        List<String> result = pipeline.getResult();
+        assertEquals(1, result.size());
+        assertEquals("second", result.get(0));
+    }
+
+    @Test
+    public void shouldCancelWithoutClosingDownstream() throws Exception {
+        ListAcceptor<String> acceptor = new ListAcceptor<>();
+        AsyncPipeline<String, List<String>> pipeline = new AsyncPipeline<>(acceptor);
+        pipeline.accept("alpha");
+        pipeline.cancel();
+        try {
+            pipeline.getFuture().get(10, TimeUnit.SECONDS);
+            fail("Should throw exception");
+        }
+        catch (CancellationException expected) {
+            // expected
+        }
+        assertTrue(pipeline.isClosed());
+        assertFalse(acceptor.isClosed());
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * @(#) CharsetPipelineTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+
+public class CharsetPipelineTest {
+
+    private static final Charset shiftJIS = Charset.forName("Shift_JIS");
+    private static final Charset gb18030 = Charset.forName("GB18030");
+
+    private static String createString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            sb.append("abc \u65E5\u672C\u8A9E \u30C6\u30B9\u30C8 ").append(i);
+        return sb.toString();
+    }
+
+    @Test
+    public void shouldDecodeShiftJISBytesOneAtATime() {
+        String str = "\u65E5\u672C\u8A9E text";
+        IntPipeline<String> pipe = new CharsetDecoderPipeline<>(new StringAcceptor(), shiftJIS);
+        for (byte b : str.getBytes(shiftJIS))
+            pipe.accept(b & 0xFF);
+        pipe.safeClose();
+        assertEquals(str, pipe.getResult());
+    }
+
+    @Test
+    public void shouldDecodeBlocksSplitWithinSequences() {
+        String str = createString();
+        byte[] bytes = str.getBytes(shiftJIS);
+        IntPipeline<String> pipe = new CharsetDecoderPipeline<>(new StringAcceptor(), shiftJIS);
+        for (int i = 0; i < bytes.length; i += 333)
+            pipe.accept(bytes, i, Math.min(333, bytes.length - i));
+        pipe.safeClose();
+        assertEquals(str, pipe.getResult());
+    }
+
+    @Test
+    public void shouldDecodeDirectByteBuffer() {
+        String str = createString() + "\uD83D\uDE00";
+        byte[] bytes = str.getBytes(gb18030);
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(bytes.length);
+        byteBuffer.put(bytes).flip();
+        IntPipeline<String> pipe = new CharsetDecoderPipeline<>(new StringAcceptor(), gb18030);
+        pipe.accept(byteBuffer);
+        pipe.safeClose();
+        assertFalse(byteBuffer.hasRemaining());
+        assertEquals(str, pipe.getResult());
+    }
+
+    @Test
+    public void shouldReportMalformedInput() {
+        IntPipeline<String> pipe = new CharsetDecoderPipeline<>(new StringAcceptor(), shiftJIS);
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe.accept(new byte[] { 'A', (byte)0xA0, 'B' }));
+        assertEquals(0xA0, e.getErrorValue());
+        IntPipeline<String> pipe2 = new CharsetDecoderPipeline<>(new StringAcceptor(),
+                new ErrorStrategy.Substitute('?'), shiftJIS);
+        pipe2.accept(new byte[] { 'A', (byte)0xA0, 'B', (byte)0x93 });
+        assertFalse(pipe2.isComplete());
+        pipe2.safeClose();
+        assertEquals("A?B?", pipe2.getResult());
+    }
+
+    @Test
+    public void shouldEncodeToShiftJIS() {
+        String str = createString();
+        IntPipeline<byte[]> pipe = new CharsetEncoderPipeline<>(new ByteArrayAcceptor(), shiftJIS);
+        pipe.accept(str);
+        pipe.safeClose();
+        assertArrayEquals(str.getBytes(shiftJIS), pipe.getResult());
+    }
+
+    @Test
+    public void shouldEncodeSurrogatePairSplitAcrossBlocks() {
+        char[] chars = "x\uD83D\uDE00y".toCharArray();
+        IntPipeline<byte[]> pipe = new CharsetEncoderPipeline<>(new ByteArrayAcceptor(), gb18030);
+        pipe.accept(chars, 0, 2);
+        assertFalse(pipe.isComplete());
+        pipe.accept(chars, 2, 2);
+        pipe.accept(0x1F601);
+        pipe.safeClose();
+        assertArrayEquals("x\uD83D\uDE00y\uD83D\uDE01".getBytes(gb18030), pipe.getResult());
+    }
+
+    @Test
+    public void shouldReportUnmappableCharacter() {
+        IntPipeline<byte[]> pipe = new CharsetEncoderPipeline<>(new ByteArrayAcceptor(),
+                new ErrorStrategy.Substitute('?'), shiftJIS);
+        pipe.accept("A\uD83D\uDE00B\u0E01");
+        pipe.safeClose();
+        assertArrayEquals(new byte[] { 'A', '?', 'B', '?' }, pipe.getResult());
+        IntPipeline<byte[]> pipe2 = new CharsetEncoderPipeline<>(new ByteArrayAcceptor(), shiftJIS);
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe2.accept("A\uD83D\uDE00"));
+        assertEquals(0x1F600, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldUseCharsetPipelinesFromFactories() {
+        assertTrue(DecoderFactory.getDecoder("Shift_JIS", new StringAcceptor()) instanceof CharsetDecoderPipeline);
+        assertTrue(EncoderFactory.getEncoder("GB18030", new ByteArrayAcceptor()) instanceof CharsetEncoderPipeline);
+        assertTrue(DecoderFactory.getDecoder("UTF8", new StringAcceptor()) instanceof UTF8_UTF16);
+        assertThrows(UnsupportedCharsetException.class, () -> DecoderFactory.getDecoder("x-unknown",
+                new StringAcceptor()));
+    }
+
+}
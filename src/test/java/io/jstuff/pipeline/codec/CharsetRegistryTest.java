@@ -0,0 +1,168 @@
+/*
+ * @(#) CharsetRegistryTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.AbstractIntPipeline;
+import io.jstuff.pipeline.IntAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+
+public class CharsetRegistryTest {
+
+    @Test
+    public void shouldFindNativeCodecsByAlias() {
+        assertSame(SingleByteCharset.ISO_8859_1, CharsetRegistry.find("latin1"));
+        assertSame(SingleByteCharset.ISO_8859_1, CharsetRegistry.find("ISO8859_1"));
+        assertSame(SingleByteCharset.WINDOWS_1252, CharsetRegistry.find("cp1252"));
+        assertSame(SingleByteCharset.ISO_8859_11, CharsetRegistry.find("x-iso-8859-11"));
+        assertSame(CharsetRegistry.find("UTF-8"), CharsetRegistry.find("utf8"));
+        assertSame(CharsetRegistry.find("US-ASCII"), CharsetRegistry.find("ascii"));
+        assertTrue(DecoderFactory.getDecoder("Utf8", new StringAcceptor()) instanceof UTF8_UTF16);
+        assertTrue(DecoderFactory.getDecoder("ASCII", new StringAcceptor()) instanceof ASCII_UTF16);
+    }
+
+    @Test
+    public void shouldResolveAndCacheJDKCharsets() {
+        CharsetCodec codec = CharsetRegistry.find("sjis");
+        assertEquals("Shift_JIS", codec.getName());
+        assertSame(codec, CharsetRegistry.find("shift_jis"));
+        assertSame(codec, CharsetRegistry.get(Charset.forName("Shift_JIS")));
+        assertTrue(codec.createDecoder(new StringAcceptor(), ErrorStrategy.DEFAULT) instanceof CharsetDecoderPipeline);
+    }
+
+    @Test
+    public void shouldReportUnknownCharset() {
+        assertNull(CharsetRegistry.find("x-no-such-charset"));
+        assertNull(CharsetRegistry.find("illegal name!"));
+        assertThrows(UnsupportedCharsetException.class, () -> CharsetRegistry.get("x-no-such-charset"));
+    }
+
+    @Test
+    public void shouldFindCodecRegisteredAfterUnsuccessfulLookup() {
+        assertNull(CharsetRegistry.find("x-registered-later"));
+        assertNull(CharsetRegistry.find("X-Registered-Later"));
+        CharsetRegistry.register(new UpperCaseCodec() {
+            @Override
+            public String getName() {
+                return "x-registered-later";
+            }
+        });
+        assertTrue(CharsetRegistry.find("X-REGISTERED-LATER") instanceof UpperCaseCodec);
+    }
+
+    @Test
+    public void shouldRegisterApplicationCodec() {
+        CharsetRegistry.register(new UpperCaseCodec());
+        IntPipeline<String> pipe = DecoderFactory.getDecoder("X-UPPER", new StringAcceptor());
+        pipe.accept("abc");
+        pipe.safeClose();
+        assertEquals("ABC", pipe.getResult());
+        assertTrue(CharsetRegistry.find("x-upper-alias") instanceof UpperCaseCodec);
+    }
+
+    @Test
+    public void shouldLoadCodecUsingServiceLoader() {
+        assertTrue(CharsetRegistry.find("X-Service-Test") instanceof ServiceTestCodec);
+    }
+
+    @Test
+    public void shouldSkipProvidersThatFailToLoad() {
+        assertNull(CharsetRegistry.find("x-failing-test"));
+        assertTrue(CharsetRegistry.find("x-service-test") instanceof ServiceTestCodec);
+        assertSame(SingleByteCharset.ISO_8859_1, CharsetRegistry.find("latin1"));
+    }
+
+    public static class UpperCaseCodec implements CharsetCodec {
+
+        @Override
+        public String getName() {
+            return "x-upper";
+        }
+
+        @Override
+        public Collection<String> getAliases() {
+            return Collections.singleton("x-upper-alias");
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createDecoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return new AbstractIntPipeline<R>(downstream) {
+                @Override
+                public void acceptInt(int value) {
+                    emit(Character.toUpperCase(value));
+                }
+            };
+        }
+
+        @Override
+        public <R> AbstractIntPipeline<R> createEncoder(IntAcceptor<? extends R> downstream,
+                ErrorStrategy errorStrategy) {
+            return createDecoder(downstream, errorStrategy);
+        }
+
+    }
+
+    public static class ServiceTestCodec extends UpperCaseCodec {
+
+        @Override
+        public String getName() {
+            return "x-service-test";
+        }
+
+        @Override
+        public Collection<String> getAliases() {
+            return Collections.emptySet();
+        }
+
+    }
+
+    public static class FailingCodec extends UpperCaseCodec {
+
+        public FailingCodec() {
+            throw new IllegalStateException("Provider failed");
+        }
+
+        @Override
+        public String getName() {
+            return "x-failing-test";
+        }
+
+    }
+
+}
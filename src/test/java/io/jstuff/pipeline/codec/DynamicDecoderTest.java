@@ -2,7 +2,7 @@
  * @(#) DynamicDecoderTest.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2021, 2023 Peter Wall
+ * Copyright (c) 2021, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,9 +25,12 @@
 
 package io.jstuff.pipeline.codec;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 
+import io.jstuff.pipeline.AbstractIntAcceptor;
 import io.jstuff.pipeline.StringAcceptor;
 import io.jstuff.pipeline.buffer.CharSequencePipeline;
 
@@ -129,4 +132,119 @@ public class DynamicDecoderTest {
         assertEquals("io.jstuff.pipeline.codec.UTF32BE_CodePoint", dd.delegate.getClass().getName());
     }
 
+    @Test
+    public void shouldRedetermineEncodingAfterReset() {
+        DynamicDecoder<String> dd = new DynamicDecoder<>(new StringAcceptor());
+        CharSequencePipeline<String> pipeline = new CharSequencePipeline<>(dd);
+        pipeline.accept(utf8EuroSign);
+        assertEquals("Euros \u20AC200.00", pipeline.getResult());
+        assertEquals("DELEGATED", dd.state.name());
+        pipeline.reset();
+        assertEquals("INITIAL", dd.state.name());
+        pipeline.accept(windows1252EuroSign);
+        assertEquals("Euros \u20AC200.00", pipeline.getResult());
+        assertEquals("io.jstuff.pipeline.codec.Windows1252_UTF16", dd.delegate.getClass().getName());
+    }
+
+    @Test
+    public void shouldCountBytesExaminedBeforeDeterminingEncoding() {
+        DynamicDecoder<String> dd = new DynamicDecoder<>(new StringAcceptor());
+        CharSequencePipeline<String> pipeline = new CharSequencePipeline<>(dd);
+        pipeline.accept(utf8EuroSign);
+        assertEquals("Euros \u20AC200.00", pipeline.getResult());
+        assertEquals(9, dd.getBytesExamined());
+        pipeline.reset();
+        assertEquals(0, dd.getBytesExamined());
+        pipeline.accept(utf8BOM, testString1);
+        assertEquals(3, dd.getBytesExamined());
+    }
+
+    @Test
+    public void shouldPassRemainderOfBlockToDelegateAsBlock() {
+        RecordingAcceptor recorder = new RecordingAcceptor();
+        DynamicDecoder<String> dd = new DynamicDecoder<>(recorder);
+        byte[] bytes = "abc\u00E9defgh".getBytes(StandardCharsets.UTF_8);
+        dd.acceptBlock(bytes, 0, bytes.length);
+        dd.safeClose();
+        assertEquals("abc\u00E9defgh", dd.getResult());
+        assertEquals("UTF8_UTF16", dd.delegate.getClass().getSimpleName());
+        assertEquals(3, recorder.singleValues);
+        assertEquals(1, recorder.byteBlocks);
+        assertEquals(1, recorder.blocks);
+        assertEquals(5, recorder.blockValues);
+    }
+
+    @Test
+    public void shouldPassASCIIRunsOnAsBlocks() {
+        RecordingAcceptor recorder = new RecordingAcceptor();
+        DynamicDecoder<String> dd = new DynamicDecoder<>(recorder);
+        byte[] bytes = "{\"name\":\"value\"}".getBytes(StandardCharsets.US_ASCII);
+        dd.acceptBlock(bytes, 0, bytes.length);
+        dd.acceptBlock(bytes, 0, bytes.length);
+        dd.safeClose();
+        assertEquals("{\"name\":\"value\"}{\"name\":\"value\"}", dd.getResult());
+        assertEquals("UNDETERMINED", dd.state.name());
+        assertEquals(bytes.length * 2, dd.getBytesExamined());
+        assertEquals(2, recorder.singleValues);
+        assertEquals(2, recorder.byteBlocks);
+        assertEquals(bytes.length * 2 - 2, recorder.byteBlockValues);
+    }
+
+    @Test
+    public void shouldExamineNonASCIIByteAfterASCIIRun() {
+        RecordingAcceptor recorder = new RecordingAcceptor();
+        DynamicDecoder<String> dd = new DynamicDecoder<>(recorder);
+        byte[] bytes = "abcdef\u00E9gh".getBytes(StandardCharsets.ISO_8859_1);
+        dd.acceptBlock(bytes, 0, bytes.length);
+        dd.safeClose();
+        assertEquals("abcdef\u00E9gh", dd.getResult());
+        assertEquals("Windows1252_UTF16", dd.delegate.getClass().getSimpleName());
+        assertEquals(8, dd.getBytesExamined());
+        assertEquals(1, recorder.byteBlocks);
+        assertEquals(4, recorder.byteBlockValues);
+    }
+
+    public static class RecordingAcceptor extends AbstractIntAcceptor<String> {
+
+        private final StringBuilder sb = new StringBuilder();
+        private int singleValues;
+        private int blocks;
+        private int blockValues;
+        private int byteBlocks;
+        private int byteBlockValues;
+
+        @Override
+        public void acceptInt(int value) {
+            sb.append((char)value);
+            singleValues++;
+        }
+
+        @Override
+        public void acceptIntBlock(byte[] bytes, int offset, int length) {
+            for (int i = 0; i < length; i++)
+                sb.append((char)(bytes[offset + i] & 0xFF));
+            byteBlocks++;
+            byteBlockValues += length;
+        }
+
+        @Override
+        public void acceptIntBlock(char[] chars, int offset, int length) {
+            sb.append(chars, offset, length);
+            blocks++;
+            blockValues += length;
+        }
+
+        @Override
+        public String getResult() {
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "[blocks=" + blocks + ", blockValues=" + blockValues + ", byteBlocks=" + byteBlocks +
+                    ", byteBlockValues=" + byteBlockValues + ", singleValues=" + singleValues + ']';
+        }
+
+    }
+
 }
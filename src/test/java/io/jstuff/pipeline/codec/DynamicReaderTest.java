@@ -29,9 +29,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringWriter;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import io.jstuff.pipeline.ByteArrayAcceptor;
 import io.jstuff.pipeline.buffer.CharSequencePipeline;
@@ -113,6 +116,118 @@ public class DynamicReaderTest {
         assertEquals(complex, readFully(dynamic));
     }
 
+    @Test
+    public void shouldReadBlocksSplitAcrossMultiByteSequences() throws Exception {
+        byte[] data = convertToUTF8(complex);
+        Reader dynamic = new DynamicReader(new ByteArrayInputStream(data), null, 3);
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[5];
+        int n;
+        while ((n = dynamic.read(buffer, 0, buffer.length)) >= 0)
+            sb.append(buffer, 0, n);
+        assertEquals(complex, sb.toString());
+    }
+
+    @Test
+    public void shouldReturnAvailableCharactersWithoutBlocking() throws Exception {
+        byte[] data = convertToUTF8(resume);
+        PartialInputStream in = new PartialInputStream(data, 4);
+        Reader dynamic = new DynamicReader(in);
+        char[] buffer = new char[100];
+        assertTrue(dynamic.ready());
+        assertEquals(3, dynamic.read(buffer, 0, buffer.length));
+        assertEquals("R\u00E9s", new String(buffer, 0, 3));
+        assertEquals(1, in.reads);
+        assertFalse(dynamic.ready());
+        assertEquals(3, dynamic.read(buffer, 0, buffer.length));
+        assertEquals("um\u00E9", new String(buffer, 0, 3));
+        assertEquals(-1, dynamic.read(buffer, 0, buffer.length));
+    }
+
+    @Test
+    public void shouldSkipAndTransferCharacters() throws Exception {
+        byte[] data = convertToUTF8(complex);
+        DynamicReader dynamic = new DynamicReader(new ByteArrayInputStream(data), null, 4);
+        assertEquals(4, dynamic.skip(4));
+        StringWriter sw = new StringWriter();
+        assertEquals(complex.length() - 4, dynamic.transferTo(sw));
+        assertEquals(complex.substring(4), sw.toString());
+    }
+
+    @Test
+    public void shouldPassDecodedBlocksToCharAcceptor() throws Exception {
+        String text = resume + ' ' + complex;
+        CountingCharAcceptor charAcceptor = new CountingCharAcceptor(4096);
+        DynamicReader dynamic = new DynamicReader(new ByteArrayInputStream(convertToUTF8(text)), null, 4096,
+                charAcceptor);
+        assertEquals(text, readFully(dynamic));
+        assertEquals(1, charAcceptor.blocks);
+        assertEquals(text.length() - 2, charAcceptor.blockValues);
+    }
+
+    private static class CountingCharAcceptor extends DynamicReader.CharAcceptor {
+
+        private int blocks;
+        private int blockValues;
+
+        CountingCharAcceptor(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        public void acceptIntBlock(char[] chars, int offset, int length) {
+            super.acceptIntBlock(chars, offset, length);
+            blocks++;
+            blockValues += length;
+        }
+
+    }
+
+    /**
+     * An {@link InputStream} that delivers data in limited blocks, reporting nothing available between blocks, to
+     * simulate a network stream.
+     */
+    private static class PartialInputStream extends InputStream {
+
+        private final byte[] data;
+        private final int blockSize;
+        private int index;
+        private int blockEnd;
+        private int reads;
+
+        PartialInputStream(byte[] data, int blockSize) {
+            this.data = data;
+            this.blockSize = blockSize;
+            index = 0;
+            blockEnd = Math.min(blockSize, data.length);
+            reads = 0;
+        }
+
+        @Override
+        public int read() {
+            throw new UnsupportedOperationException("Single-byte read not expected");
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            reads++;
+            if (index == data.length)
+                return -1;
+            if (index == blockEnd)
+                blockEnd = Math.min(index + blockSize, data.length);
+            int n = Math.min(len, blockEnd - index);
+            System.arraycopy(data, index, b, off, n);
+            index += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return blockEnd - index;
+        }
+
+    }
+
     private static byte[] convertToUTF8(String str) throws Exception {
         System.out.println(str);
         CharSequencePipeline<byte[]> utf8 = new CharSequencePipeline<>(new CodePoint_UTF8<>(new ByteArrayAcceptor()));
@@ -0,0 +1,90 @@
+/*
+ * @(#) EncodingTableTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+
+public class EncodingTableTest {
+
+    @Test
+    public void shouldMapEveryByteValueOfDecodingTable() {
+        EncodingTable encodingTable = new EncodingTable(Windows1252_UTF16.table);
+        for (int i = 0; i < 0x80; i++)
+            assertEquals(i, encodingTable.encode(i));
+        for (int i = 0; i < 0x80; i++)
+            assertEquals(0x80 + i, encodingTable.encode(Windows1252_UTF16.table.charAt(i)));
+    }
+
+    @Test
+    public void shouldReportUnmappableCharacters() {
+        EncodingTable encodingTable = new EncodingTable(ISO8859_15_UTF16.table);
+        assertEquals(EncodingTable.UNMAPPABLE, encodingTable.encode(0xA4)); // replaced by Euro sign in ISO-8859-15
+        assertEquals(EncodingTable.UNMAPPABLE, encodingTable.encode(0x2014));
+        assertEquals(EncodingTable.UNMAPPABLE, encodingTable.encode(0xFFFF));
+        assertEquals(EncodingTable.UNMAPPABLE, encodingTable.encode(0x1F600));
+        assertEquals(0xA4, encodingTable.encode(0x20AC));
+    }
+
+    @Test
+    public void shouldEncodeUsingSharedTable() {
+        String str = "\u20AC100 \u2014 \u201Cna\u00EFve\u201D";
+        assertArrayEquals(str.getBytes(Charset.forName("windows-1252")), UTF16_Windows1252.convert(str));
+        assertArrayEquals("\u20AC\u0160\u0153".getBytes(Charset.forName("ISO-8859-15")),
+                UTF16_ISO8859_15.convert("\u20AC\u0160\u0153"));
+        assertArrayEquals(new byte[] { 'A', (byte)0xE9 }, UTF16_ISO8859_1.convert("A\u00E9"));
+    }
+
+    @Test
+    public void shouldReportErrorForUnmappableCharacter() {
+        EncoderException e = assertThrows(EncoderException.class, () -> UTF16_ISO8859_1.convert("A\u20AC"));
+        assertEquals(0x20AC, e.getErrorValue());
+        assertArrayEquals(new byte[] { 'A', '?' }, UTF16_ISO8859_1.convert("A\u20AC", new ErrorStrategy.Substitute('?')));
+    }
+
+    @Test
+    public void shouldReportErrorForNegativeValue() {
+        IntPipeline<byte[]> pipeline = new UTF16_Windows1252<>(new ByteArrayAcceptor());
+        pipeline.accept('A');
+        EncoderException e = assertThrows(EncoderException.class, () -> pipeline.accept(-2));
+        assertEquals(-2, e.getErrorValue());
+        IntPipeline<byte[]> substituting = new UTF16_Windows1252<>(new ByteArrayAcceptor(),
+                new ErrorStrategy.Substitute('?'));
+        substituting.accept('A');
+        substituting.accept(-2);
+        substituting.accept(0x80000041);
+        substituting.safeClose();
+        assertArrayEquals(new byte[] { 'A', '?', '?' }, substituting.getResult());
+    }
+
+}
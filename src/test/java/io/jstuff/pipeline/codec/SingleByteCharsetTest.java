@@ -0,0 +1,135 @@
+/*
+ * @(#) SingleByteCharsetTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+
+public class SingleByteCharsetTest {
+
+    @Test
+    public void shouldDecodeSameAsJDK() {
+        for (SingleByteCharset charset : SingleByteCharset.getCharsets()) {
+            if (charset == SingleByteCharset.WINDOWS_1252 || !Charset.isSupported(charset.getName()))
+                continue; // existing Windows-1252 table maps the five undefined bytes to C1 controls
+            Charset jdkCharset = Charset.forName(charset.getName());
+            for (int i = 0; i < 256; i++) {
+                char expected = new String(new byte[] { (byte)i }, jdkCharset).charAt(0);
+                assertEquals(charset.getName() + " byte " + i, expected, charset.decode(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldEncodeSameAsJDK() {
+        for (SingleByteCharset charset : SingleByteCharset.getCharsets()) {
+            if (!Charset.isSupported(charset.getName()))
+                continue;
+            Charset jdkCharset = Charset.forName(charset.getName());
+            EncodingTable encodingTable = charset.getEncodingTable();
+            for (int i = 0; i < 256; i++) {
+                char ch = charset.decode(i);
+                if (ch != SingleByteCharset.UNDEFINED && jdkCharset.newEncoder().canEncode(ch))
+                    assertEquals(charset.getName() + " char " + (int)ch, i, encodingTable.encode(ch));
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecodeBlockOfBytes() {
+        byte[] bytes = new byte[3000];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte)(0xC0 + i % 32);
+        IntPipeline<String> pipe = new DecodingPipeline<>(new StringAcceptor(), SingleByteCharset.ISO_8859_5);
+        pipe.accept(bytes);
+        pipe.safeClose();
+        assertEquals(new String(bytes, Charset.forName("ISO-8859-5")), pipe.getResult());
+    }
+
+    @Test
+    public void shouldEncodeBlockOfChars() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++)
+            sb.append((char)(0x0410 + i % 32));
+        String str = sb.toString();
+        IntPipeline<byte[]> pipe = new EncodingPipeline<>(new ByteArrayAcceptor(), SingleByteCharset.KOI8_R);
+        pipe.accept(str);
+        pipe.safeClose();
+        assertArrayEquals(str.getBytes(Charset.forName("KOI8-R")), pipe.getResult());
+    }
+
+    @Test
+    public void shouldReportErrorForUndefinedByte() {
+        assertEquals(SingleByteCharset.UNDEFINED, SingleByteCharset.WINDOWS_1250.decode(0x81));
+        IntPipeline<String> pipe = new DecodingPipeline<>(new StringAcceptor(), SingleByteCharset.WINDOWS_1250);
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe.accept(new byte[] { 'A', (byte)0x81 }));
+        assertEquals(0x81, e.getErrorValue());
+        IntPipeline<String> pipe2 = new DecodingPipeline<>(new StringAcceptor(), new ErrorStrategy.Substitute('?'),
+                SingleByteCharset.WINDOWS_1250);
+        pipe2.accept(new byte[] { 'A', (byte)0x81, (byte)0x8A });
+        pipe2.safeClose();
+        assertEquals("A?\u0160", pipe2.getResult());
+    }
+
+    @Test
+    public void shouldReportErrorForUnmappableCharacter() {
+        IntPipeline<byte[]> pipe = new EncodingPipeline<>(new ByteArrayAcceptor(), ErrorStrategy.IGNORE,
+                SingleByteCharset.ISO_8859_7);
+        pipe.accept("\u03B1\u0416\u03B2");
+        pipe.safeClose();
+        assertArrayEquals(new byte[] { (byte)0xE1, (byte)0xE2 }, pipe.getResult());
+    }
+
+    @Test
+    public void shouldFindCharsetByName() {
+        assertSame(SingleByteCharset.ISO_8859_2, SingleByteCharset.forName("iso-8859-2"));
+        assertSame(SingleByteCharset.WINDOWS_1251, SingleByteCharset.forName("WINDOWS-1251"));
+        assertSame(SingleByteCharset.IBM437, SingleByteCharset.forName("IBM437"));
+        assertNull(SingleByteCharset.forName("UTF-8"));
+    }
+
+    @Test
+    public void shouldUseSingleByteCharsetFromFactories() {
+        assertTrue(DecoderFactory.getDecoder("ISO-8859-2", new StringAcceptor()) instanceof DecodingPipeline);
+        assertTrue(EncoderFactory.getEncoder("KOI8-U", new ByteArrayAcceptor()) instanceof EncodingPipeline);
+        IntPipeline<String> pipe = DecoderFactory.getDecoder(Charset.forName("windows-1251"), new StringAcceptor());
+        pipe.accept(new byte[] { (byte)0xCF, (byte)0xF0, (byte)0xE8 });
+        pipe.safeClose();
+        assertEquals("\u041F\u0440\u0438", pipe.getResult());
+    }
+
+}
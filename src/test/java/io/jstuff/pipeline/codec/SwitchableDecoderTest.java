@@ -2,7 +2,7 @@
  * @(#) SwitchableDecoderTest.java
  *
  * pipelines   Pipeline conversion library for Java
- * Copyright (c) 2020, 2023 Peter Wall
+ * Copyright (c) 2020, 2023, 2026 Peter Wall
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,6 +26,7 @@
 package io.jstuff.pipeline.codec;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -56,6 +57,19 @@ public class SwitchableDecoderTest {
         assertEquals("\u00A9\u00F7\u20AC", pipeString2(windows1252String));
     }
 
+    @Test
+    public void shouldForwardBlockToDelegate() {
+        DynamicDecoderTest.RecordingAcceptor recorder = new DynamicDecoderTest.RecordingAcceptor();
+        SwitchableDecoder<String> switchableDecoder = new SwitchableDecoder<>(recorder);
+        switchableDecoder.switchTo(StandardCharsets.UTF_8);
+        byte[] bytes = "na\u00EFve caf\u00E9".getBytes(StandardCharsets.UTF_8);
+        switchableDecoder.acceptBlock(bytes, 0, bytes.length);
+        switchableDecoder.safeClose();
+        assertEquals("na\u00EFve caf\u00E9", recorder.getResult());
+        assertEquals("[blocks=1, blockValues=10, byteBlocks=0, byteBlockValues=0, singleValues=0]",
+                recorder.toString());
+    }
+
     private String pipeString(String string) throws Exception {
         StringAcceptor stringAcceptor = new StringAcceptor();
         SwitchableDecoder<String> switchableDecoder = new SwitchableDecoder<>(stringAcceptor);
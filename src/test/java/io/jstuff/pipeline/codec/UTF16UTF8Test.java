@@ -0,0 +1,118 @@
+/*
+ * @(#) UTF16UTF8Test.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.ByteArrayAcceptor;
+import io.jstuff.pipeline.IntPipeline;
+
+public class UTF16UTF8Test {
+
+    private static final String sample = "Plain ASCII, caf\u00E9, \u2014 \u201Cquoted\u201D \u4E2D\u6587, " +
+            "\uD83D\uDE00 \uD800\uDC00 \uDBFF\uDFFF \u0080\u07FF\u0800\uFFFD\uFFFF end";
+
+    @Test
+    public void shouldEncodeCharAtATime() {
+        IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor());
+        for (int i = 0, n = sample.length(); i < n; i++)
+            pipe.accept(sample.charAt(i));
+        assertTrue(pipe.isComplete());
+        assertArrayEquals(sample.getBytes(StandardCharsets.UTF_8), pipe.getResult());
+    }
+
+    @Test
+    public void shouldEncodeString() {
+        assertArrayEquals(sample.getBytes(StandardCharsets.UTF_8), UTF16_UTF8.convert(sample));
+    }
+
+    @Test
+    public void shouldEncodeLargeString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++)
+            sb.append(sample);
+        String str = sb.toString();
+        assertArrayEquals(str.getBytes(StandardCharsets.UTF_8), UTF16_UTF8.convert(str));
+        IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor());
+        pipe.accept(new StringBuilder(str));
+        assertArrayEquals(str.getBytes(StandardCharsets.UTF_8), pipe.getResult());
+    }
+
+    @Test
+    public void shouldEncodeSurrogatePairSplitAcrossBlocks() {
+        char[] chars = sample.toCharArray();
+        for (int split = 1; split < chars.length; split++) {
+            IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor());
+            pipe.accept(chars, 0, split);
+            pipe.accept(chars, split, chars.length - split);
+            assertArrayEquals(sample.getBytes(StandardCharsets.UTF_8), pipe.getResult());
+        }
+    }
+
+    @Test
+    public void shouldEncodeCodePoints() {
+        IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor());
+        pipe.accept(0x1F600);
+        assertArrayEquals(new byte[] { (byte)0xF0, (byte)0x9F, (byte)0x98, (byte)0x80 }, pipe.getResult());
+    }
+
+    @Test
+    public void shouldReportIncompleteSurrogatePair() {
+        IntPipeline<byte[]> pipe = new UTF16_UTF8<>(new ByteArrayAcceptor());
+        pipe.accept("A\uD83D");
+        assertFalse(pipe.isComplete());
+        pipe.accept('\uDE00');
+        assertTrue(pipe.isComplete());
+        assertArrayEquals(new byte[] { 'A', (byte)0xF0, (byte)0x9F, (byte)0x98, (byte)0x80 }, pipe.getResult());
+    }
+
+    @Test
+    public void shouldRejectUnpairedSurrogates() {
+        EncoderException e = assertThrows(EncoderException.class, () -> UTF16_UTF8.convert("A\uDE00B"));
+        assertEquals(0xDE00, e.getErrorValue());
+        e = assertThrows(EncoderException.class, () -> UTF16_UTF8.convert("A\uD83DB"));
+        assertEquals(0xD83D, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldSubstituteForUnpairedSurrogates() {
+        byte[] result = UTF16_UTF8.convert("A\uDE00B\uD83DC", new ErrorStrategy.Substitute('?'));
+        assertArrayEquals(new byte[] { 'A', '?', 'B', '?', 'C' }, result);
+    }
+
+    @Test
+    public void shouldBeReturnedByEncoderFactoryForUTF8() {
+        assertTrue(EncoderFactory.getEncoder("UTF-8", new ByteArrayAcceptor()) instanceof UTF16_UTF8);
+    }
+
+}
@@ -120,6 +120,62 @@ public class UTF8CodePointTest {
         assertEquals(Integer.valueOf('B'), result.get(4));
     }
 
+    @Test
+    public void shouldPassThroughFourByteChars() {
+        UTF8_CodePoint<List<Integer>> pipe = new UTF8_CodePoint<>(new ListIntAcceptor());
+        pipe.accept(new byte[] { (byte)0xF0, (byte)0x9F, (byte)0x98, (byte)0x80 });
+        assertTrue(pipe.isComplete());
+        List<Integer> result = pipe.getResult();
+        assertEquals(1, result.size());
+        assertEquals(Integer.valueOf(0x1F600), result.get(0));
+    }
+
+    @Test
+    public void shouldRejectOverlongEncoding() {
+        UTF8_CodePoint<List<Integer>> pipe = new UTF8_CodePoint<>(new ListIntAcceptor());
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe.accept(0xC0));
+        assertEquals(0xC0, e.getErrorValue());
+        UTF8_CodePoint<List<Integer>> pipe2 = new UTF8_CodePoint<>(new ListIntAcceptor());
+        pipe2.accept(0xE0);
+        e = assertThrows(EncoderException.class, () -> pipe2.accept(0x9F));
+        assertEquals(0x9F, e.getErrorValue());
+        UTF8_CodePoint<List<Integer>> pipe3 = new UTF8_CodePoint<>(new ListIntAcceptor());
+        pipe3.accept(0xF0);
+        e = assertThrows(EncoderException.class, () -> pipe3.accept(0x8F));
+        assertEquals(0x8F, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldRejectEncodedSurrogate() {
+        UTF8_CodePoint<List<Integer>> pipe = new UTF8_CodePoint<>(new ListIntAcceptor());
+        pipe.accept(0xED);
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe.accept(0xA0));
+        assertEquals(0xA0, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldRejectCodePointAboveMaximum() {
+        UTF8_CodePoint<List<Integer>> pipe = new UTF8_CodePoint<>(new ListIntAcceptor());
+        pipe.accept(0xF4);
+        EncoderException e = assertThrows(EncoderException.class, () -> pipe.accept(0x90));
+        assertEquals(0x90, e.getErrorValue());
+        UTF8_CodePoint<List<Integer>> pipe2 = new UTF8_CodePoint<>(new ListIntAcceptor());
+        e = assertThrows(EncoderException.class, () -> pipe2.accept(0xF5));
+        assertEquals(0xF5, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldSubstituteForInvalidSequenceInBlock() {
+        byte[] byteArray = new byte[] { 'A', (byte)0xC0, (byte)0xAF, 'B', (byte)0xE2, (byte)0x80, (byte)0x94 };
+        List<Integer> result = UTF8_CodePoint.convert(byteArray, new ErrorStrategy.Substitute('?'));
+        assertEquals(5, result.size());
+        assertEquals('A', (int)result.get(0));
+        assertEquals('?', (int)result.get(1));
+        assertEquals('?', (int)result.get(2));
+        assertEquals('B', (int)result.get(3));
+        assertEquals(0x2014, (int)result.get(4));
+    }
+
     @Test
     public void shouldConvertUsingConvertFunction() {
         byte[] byteArray = new byte[] { 'A', 'B', 'C', (byte)0xC2, (byte)0xA9, (byte)0xC3, (byte)0xB7 };
@@ -0,0 +1,160 @@
+/*
+ * @(#) UTF8UTF16Test.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jstuff.pipeline.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+
+public class UTF8UTF16Test {
+
+    private static final String sample = "Plain ASCII, caf\u00E9, \u2014 \u201Cquoted\u201D \u4E2D\u6587, " +
+            "\uD83D\uDE00 \uD800\uDC00 \uDBFF\uDFFF \u0080\u07FF\u0800\uFFFD\uFFFF end";
+
+    @Test
+    public void shouldDecodeByteAtATime() {
+        IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor());
+        for (byte b : sample.getBytes(StandardCharsets.UTF_8))
+            pipe.accept(b & 0xFF);
+        assertTrue(pipe.isComplete());
+        assertEquals(sample, pipe.getResult());
+    }
+
+    @Test
+    public void shouldDecodeByteArray() {
+        assertEquals(sample, UTF8_UTF16.convert(sample.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldDecodeSequencesSplitAcrossBlocks() {
+        byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+        for (int split = 1; split < bytes.length; split++) {
+            IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor());
+            pipe.accept(bytes, 0, split);
+            pipe.accept(bytes, split, bytes.length - split);
+            assertEquals(sample, pipe.getResult());
+        }
+    }
+
+    @Test
+    public void shouldDecodeLargeByteArray() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++)
+            sb.append(sample);
+        String str = sb.toString();
+        assertEquals(str, UTF8_UTF16.convert(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldDecodeDirectByteBuffer() {
+        byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(bytes.length);
+        byteBuffer.put(bytes);
+        byteBuffer.flip();
+        IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor());
+        pipe.accept(byteBuffer);
+        assertFalse(byteBuffer.hasRemaining());
+        assertEquals(sample, pipe.getResult());
+    }
+
+    @Test
+    public void shouldDecodeASCIIRunsOfAllLengths() {
+        for (int runLength = 0; runLength < 40; runLength++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < runLength; i++)
+                sb.append((char)('a' + i % 26));
+            sb.append('\u00E9');
+            for (int i = 0; i < runLength; i++)
+                sb.append((char)('A' + i % 26));
+            String str = sb.toString();
+            assertEquals(str, UTF8_UTF16.convert(str.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    public void shouldDecodeLongASCIIRun() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            sb.append((char)(' ' + i % 95));
+        String str = sb.toString();
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        assertEquals(str, UTF8_UTF16.convert(bytes));
+        IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor());
+        pipe.accept(bytes, 0, 1001);
+        pipe.accept(bytes, 1001, bytes.length - 1001);
+        assertEquals(str, pipe.getResult());
+    }
+
+    @Test
+    public void shouldMatchJDKDecodingForAllCodePoints() {
+        StringBuilder sb = new StringBuilder();
+        for (int cp = 0; cp <= 0x10FFFF; cp++) {
+            if (cp < Character.MIN_SURROGATE || cp > Character.MAX_SURROGATE)
+                sb.appendCodePoint(cp);
+        }
+        String str = sb.toString();
+        assertEquals(str, UTF8_UTF16.convert(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldRejectOverlongEncodingInBlock() {
+        byte[] bytes = new byte[] { 'A', (byte)0xC1, (byte)0xBF };
+        EncoderException e = assertThrows(EncoderException.class, () -> UTF8_UTF16.convert(bytes));
+        assertEquals(0xC1, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldRejectEncodedSurrogateInBlock() {
+        byte[] bytes = new byte[] { 'A', (byte)0xED, (byte)0xB0, (byte)0x80 };
+        EncoderException e = assertThrows(EncoderException.class, () -> UTF8_UTF16.convert(bytes));
+        assertEquals(0xB0, e.getErrorValue());
+    }
+
+    @Test
+    public void shouldIgnoreInvalidBytesWhenIgnoreSelected() {
+        byte[] bytes = new byte[] { 'A', (byte)0xFF, 'B', (byte)0x80, 'C' };
+        assertEquals("ABC", UTF8_UTF16.convert(bytes, ErrorStrategy.IGNORE));
+    }
+
+    @Test
+    public void shouldReportIncompleteSequence() {
+        IntPipeline<String> pipe = new UTF8_UTF16<>(new StringAcceptor());
+        pipe.accept(new byte[] { 'A', (byte)0xF0, (byte)0x9F });
+        assertFalse(pipe.isComplete());
+        pipe.accept(new byte[] { (byte)0x98, (byte)0x80 });
+        assertTrue(pipe.isComplete());
+        assertEquals("A\uD83D\uDE00", pipe.getResult());
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * @(#) MeteredIntPipelineTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.StringAcceptor;
+import io.jstuff.pipeline.codec.EncoderException;
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class MeteredIntPipelineTest {
+
+    @Test
+    public void shouldCountValuesAndPassThemOn() {
+        PipelineMetrics metrics = new PipelineMetrics("test");
+        IntPipeline<String> pipeline = new MeteredIntPipeline<>(new StringAcceptor(), metrics);
+        pipeline.accept("abc");
+        pipeline.flush();
+        pipeline.safeClose();
+        assertEquals("abc", pipeline.getResult());
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals("test", snapshot.getName());
+        assertEquals(3, snapshot.getValues());
+        assertEquals(0, snapshot.getBlocks());
+        assertEquals(1, snapshot.getFlushes());
+        assertEquals(0, snapshot.getSamples());
+    }
+
+    @Test
+    public void shouldCountBlocks() {
+        PipelineMetrics metrics = new PipelineMetrics("test");
+        IntPipeline<String> pipeline = new UTF8_UTF16<>(new MeteredIntPipeline<>(new StringAcceptor(), metrics));
+        pipeline.acceptBlock("Hello".getBytes(StandardCharsets.UTF_8), 0, 5);
+        pipeline.acceptBlock(new char[] { 'x', '!' }, 1, 1);
+        pipeline.safeClose();
+        assertEquals("Hello!", pipeline.getResult());
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(6, snapshot.getValues());
+        assertTrue(snapshot.getBlocks() >= 1);
+    }
+
+    @Test
+    public void shouldNotCountWhenDisabled() {
+        PipelineMetrics metrics = new PipelineMetrics("test", false, 1);
+        IntPipeline<String> pipeline = new MeteredIntPipeline<>(new StringAcceptor(), metrics);
+        pipeline.accept("abc");
+        pipeline.flush();
+        pipeline.safeClose();
+        assertEquals("abc", pipeline.getResult());
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.getValues());
+        assertEquals(0, snapshot.getFlushes());
+        assertEquals(0, snapshot.getSamples());
+        metrics.setEnabled(true);
+        pipeline.reset();
+        pipeline.accept("xy");
+        pipeline.safeClose();
+        assertEquals(2, metrics.snapshot().getValues());
+    }
+
+    @Test
+    public void shouldSampleTimings() {
+        PipelineMetrics metrics = new PipelineMetrics("test", true, 2);
+        IntPipeline<String> pipeline = new MeteredIntPipeline<>(new StringAcceptor(), metrics);
+        pipeline.accept("abcdefg");
+        pipeline.safeClose();
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(7, snapshot.getValues());
+        assertEquals(3, snapshot.getSamples());
+        assertTrue(snapshot.getSampledNanos() >= 0);
+        assertTrue(snapshot.getAverageNanos() >= 0);
+    }
+
+    @Test
+    public void shouldResetMetrics() {
+        PipelineMetrics metrics = new PipelineMetrics("test");
+        IntPipeline<String> pipeline = new MeteredIntPipeline<>(new StringAcceptor(), metrics);
+        pipeline.accept("abc");
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getValues());
+    }
+
+    @Test
+    public void shouldRejectNegativeSampleInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new PipelineMetrics("test", true, -1));
+    }
+
+    @Test
+    public void shouldRecordErrorsByStrategy() {
+        PipelineMetrics metrics = new PipelineMetrics("errors");
+        UTF8_UTF16<String> substitute = new UTF8_UTF16<>(new StringAcceptor(), new ErrorStrategy.Substitute('?'));
+        substitute.setErrorMetrics(metrics);
+        assertSame(metrics, substitute.getErrorMetrics());
+        substitute.accept(new byte[] { 'a', (byte)0xFF, 'b', (byte)0xFE });
+        substitute.safeClose();
+        assertEquals("a?b?", substitute.getResult());
+        UTF8_UTF16<String> ignore = new UTF8_UTF16<>(new StringAcceptor(), ErrorStrategy.IGNORE);
+        ignore.setErrorMetrics(metrics);
+        ignore.accept(new byte[] { 'a', (byte)0xFF, 'b' });
+        ignore.safeClose();
+        assertEquals("ab", ignore.getResult());
+        UTF8_UTF16<String> thrower = new UTF8_UTF16<>(new StringAcceptor());
+        thrower.setErrorMetrics(metrics);
+        assertThrows(EncoderException.class, () -> thrower.accept((byte)0xFF & 0xFF));
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getErrorsSubstituted());
+        assertEquals(1, snapshot.getErrorsIgnored());
+        assertEquals(1, snapshot.getErrorsThrown());
+        assertEquals(4, snapshot.getErrors());
+    }
+
+}
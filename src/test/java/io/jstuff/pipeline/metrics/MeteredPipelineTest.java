@@ -0,0 +1,70 @@
+/*
+ * @(#) MeteredPipelineTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import io.jstuff.pipeline.ListAcceptor;
+import io.jstuff.pipeline.Pipeline;
+
+public class MeteredPipelineTest {
+
+    @Test
+    public void shouldCountObjectsAndPassThemOn() {
+        PipelineMetrics metrics = new PipelineMetrics("objects");
+        Pipeline<String, String, List<String>> pipeline = new MeteredPipeline<>(new ListAcceptor<>(), metrics);
+        pipeline.accept("alpha");
+        pipeline.accept("beta");
+        pipeline.flush();
+        pipeline.safeClose();
+        List<String> result = pipeline.getResult();
+        assertEquals(2, result.size());
+        assertEquals("alpha", result.get(0));
+        assertEquals("beta", result.get(1));
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getValues());
+        assertEquals(1, snapshot.getFlushes());
+        assertEquals("objects: values=2, blocks=0, flushes=1, errors=0", snapshot.toString());
+    }
+
+    @Test
+    public void shouldSampleTimingsAndAggregateAcrossChains() {
+        PipelineMetrics metrics = new PipelineMetrics("objects", true, 1);
+        Pipeline<String, String, List<String>> pipeline1 = new MeteredPipeline<>(new ListAcceptor<>(), metrics);
+        Pipeline<String, String, List<String>> pipeline2 = new MeteredPipeline<>(new ListAcceptor<>(), metrics);
+        pipeline1.accept("alpha");
+        pipeline2.accept("beta");
+        pipeline2.accept("gamma");
+        PipelineMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.getValues());
+        assertEquals(3, snapshot.getSamples());
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * @(#) PipelineInspectorTest.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.metrics;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import io.jstuff.pipeline.Counter;
+import io.jstuff.pipeline.ForkPipeline;
+import io.jstuff.pipeline.IntPipeline;
+import io.jstuff.pipeline.LinePipeline;
+import io.jstuff.pipeline.ListAcceptor;
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+public class PipelineInspectorTest {
+
+    @Test
+    public void shouldDescribeChainWithMetrics() {
+        PipelineMetrics errors = new PipelineMetrics("errors");
+        PipelineMetrics chars = new PipelineMetrics("chars");
+        PipelineMetrics lines = new PipelineMetrics("lines");
+        UTF8_UTF16<Integer> decoder = new UTF8_UTF16<>(new MeteredIntPipeline<>(new LinePipeline<>(
+                new MeteredPipeline<>(new Counter<>(), lines)), chars), ErrorStrategy.IGNORE);
+        decoder.setErrorMetrics(errors);
+        decoder.accept(new byte[] { 'a', 'b', '\n', (byte)0xFF, 'c', '\n' });
+        decoder.safeClose();
+        assertEquals(2, (int)decoder.getResult());
+        assertEquals("UTF8_UTF16 [errors: values=0, blocks=0, flushes=0, errors=1]\n" +
+                "MeteredIntPipeline [chars: values=5, blocks=2, flushes=0, errors=0]\n" +
+                "LinePipeline\n" +
+                "MeteredPipeline [lines: values=2, blocks=0, flushes=0, errors=0]\n" +
+                "Counter\n", PipelineInspector.describe(decoder));
+        List<PipelineMetrics.Snapshot> snapshots = PipelineInspector.snapshot(decoder);
+        assertEquals(3, snapshots.size());
+        assertEquals("errors", snapshots.get(0).getName());
+        assertEquals(1, snapshots.get(0).getErrorsIgnored());
+        assertEquals("chars", snapshots.get(1).getName());
+        assertEquals(5, snapshots.get(1).getValues());
+        assertEquals("lines", snapshots.get(2).getName());
+        assertEquals(2, snapshots.get(2).getValues());
+    }
+
+    @Test
+    public void shouldWalkBothBranchesOfFork() {
+        PipelineMetrics metrics = new PipelineMetrics("branch");
+        ListAcceptor<String> list = new ListAcceptor<>();
+        ForkPipeline<String, Object> fork = new ForkPipeline<>(list, new MeteredPipeline<>(new Counter<>(), metrics));
+        PipelineInspector.Stage stage = PipelineInspector.inspect(fork);
+        assertEquals("ForkPipeline", stage.getName());
+        assertNull(stage.getMetrics());
+        assertEquals(2, stage.getDownstream().size());
+        assertSame(list, stage.getDownstream().get(0).getAcceptor());
+        assertSame(metrics, stage.getDownstream().get(1).getMetrics());
+        assertEquals("ForkPipeline\n" +
+                "  ListAcceptor\n" +
+                "  MeteredPipeline [branch: values=0, blocks=0, flushes=0, errors=0]\n" +
+                "  Counter\n", PipelineInspector.describe(fork));
+    }
+
+    @Test
+    public void shouldDescribeTerminalAcceptor() {
+        IntPipeline<Integer> pipeline = new UTF8_UTF16<>(new io.jstuff.pipeline.IntCounter());
+        assertEquals("UTF8_UTF16\nIntCounter\n", PipelineInspector.describe(pipeline));
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * @(#) PipelineEventsIT.java
+ *
+ * pipelines   Pipeline conversion library for Java
+ * Copyright (c) 2026 Peter Wall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.jstuff.pipeline.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.jstuff.pipeline.StringAcceptor;
+import io.jstuff.pipeline.codec.DynamicDecoder;
+import io.jstuff.pipeline.codec.ErrorStrategy;
+import io.jstuff.pipeline.codec.UTF8_UTF16;
+
+// run by failsafe against the packaged multi-release jar (the Java 11 classes are not on the unit test class path)
+public class PipelineEventsIT {
+
+    @Test
+    public void shouldRecordPipelineEvents() throws Exception {
+        Path file = Files.createTempFile("pipelines", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("io.jstuff.pipeline.CharsetDetected");
+                recording.enable("io.jstuff.pipeline.ErrorHandled");
+                recording.enable("io.jstuff.pipeline.StageCreated");
+                recording.start();
+                DynamicDecoder<String> detecting = new DynamicDecoder<>(new StringAcceptor());
+                detecting.accept(new byte[] { 'a', 'b', (byte)0xE2, (byte)0x82, (byte)0xAC });
+                detecting.safeClose();
+                assertEquals("ab\u20AC", detecting.getResult());
+                DynamicDecoder<String> nominated = new DynamicDecoder<>(new StringAcceptor());
+                nominated.switchTo("Shift_JIS");
+                UTF8_UTF16<String> substituting = new UTF8_UTF16<>(new StringAcceptor(),
+                        new ErrorStrategy.Substitute());
+                substituting.accept(0xFF);
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> detected = eventsNamed(events, "io.jstuff.pipeline.CharsetDetected");
+            assertEquals(2, detected.size());
+            assertEquals("UTF-8", detected.get(0).getString("charset"));
+            assertEquals(5, detected.get(0).getLong("bytesExamined"));
+            assertEquals("Shift_JIS", detected.get(1).getString("charset"));
+            List<RecordedEvent> errors = eventsNamed(events, "io.jstuff.pipeline.ErrorHandled");
+            assertEquals(1, errors.size());
+            assertEquals("Substitute", errors.get(0).getString("strategy"));
+            assertEquals(0xFF, errors.get(0).getInt("value"));
+            assertTrue(eventsNamed(events, "io.jstuff.pipeline.StageCreated").size() >= 6);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).sorted((a, b) ->
+                a.getStartTime().compareTo(b.getStartTime())).collect(Collectors.toList());
+    }
+
+}